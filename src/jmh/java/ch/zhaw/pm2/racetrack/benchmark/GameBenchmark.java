@@ -0,0 +1,101 @@
+package ch.zhaw.pm2.racetrack.benchmark;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.GameState;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import ch.zhaw.pm2.racetrack.simulation.GameRunner;
+import ch.zhaw.pm2.racetrack.simulation.RaceResult;
+import ch.zhaw.pm2.racetrack.strategy.MoveListStrategy;
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+import model.PositionVector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the move calculation of {@link Game}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GameBenchmark {
+	private static final PositionVector START = new PositionVector(10, 10);
+	private static final PositionVector SHORT_END = new PositionVector(12, 9);
+	private static final PositionVector LONG_END = new PositionVector(310, 150);
+
+	private TrackBoard board;
+	private Game game;
+	private GameState state;
+	private List<Direction> movesCarA;
+	private List<Direction> movesCarB;
+
+	@Setup
+	public void setUp() throws IOException, InvalidFileFormatException {
+		board = new TrackBoard(new File("tracks/challenge.txt"));
+		game = new Game(new Track(board));
+		movesCarA = new MoveListStrategy(new File("moves/challenge-car-a.txt")).getMovesList();
+		movesCarB = new MoveListStrategy(new File("moves/challenge-car-b.txt")).getMovesList();
+		state = game.snapshot();
+	}
+
+	/**
+	 * Path of a move with a velocity a car reaches within a few turns
+	 */
+	@Benchmark
+	public List<PositionVector> calculatePathShort() {
+		return game.calculatePath(START, SHORT_END);
+	}
+
+	/**
+	 * Path of a move across a large track
+	 */
+	@Benchmark
+	public List<PositionVector> calculatePathLong() {
+		return game.calculatePath(START, LONG_END);
+	}
+
+	/**
+	 * All car turns of the challenge race with the bundled move lists, 74 calls
+	 * of {@link Game#doCarTurn(Direction)} on a new track
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public RaceResult doCarTurnRace() {
+		Game race = new Game(new Track(board));
+		Iterator<Direction> carA = movesCarA.iterator();
+		Iterator<Direction> carB = movesCarB.iterator();
+		race.setCarMoveStrategy(0, () -> carA.hasNext() ? carA.next() : Direction.NONE);
+		race.setCarMoveStrategy(1, () -> carB.hasNext() ? carB.next() : Direction.NONE);
+		return new GameRunner(race).run();
+	}
+
+	/**
+	 * One try of a move as done by search strategies: snapshot, turn and rollback
+	 */
+	@Benchmark
+	public GameState snapshotTurnRestore() {
+		game.snapshot(state);
+		game.doCarTurn(Direction.DOWN_RIGHT);
+		game.restore(state);
+		return state;
+	}
+}
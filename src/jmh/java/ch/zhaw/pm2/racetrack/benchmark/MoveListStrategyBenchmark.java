@@ -0,0 +1,58 @@
+package ch.zhaw.pm2.racetrack.benchmark;
+
+import ch.zhaw.pm2.racetrack.strategy.MoveListStrategy;
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of loading the bundled move files, either all at once or
+ * streamed move by move.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MoveListStrategyBenchmark {
+
+	@Param({"challenge-car-a.txt", "challenge-car-b.txt"})
+	public String moveFile;
+
+	@Benchmark
+	public MoveListStrategy load() throws InvalidFileFormatException, FileNotFoundException {
+		return new MoveListStrategy(new File("moves", moveFile));
+	}
+
+	/**
+	 * Reads all moves through a streaming strategy and waits for its validation
+	 */
+	@Benchmark
+	public int stream() throws InvalidFileFormatException, IOException {
+		int hash = 0;
+		try (MoveListStrategy strategy = MoveListStrategy.streaming(new File("moves", moveFile))) {
+			int moves = strategy.awaitValidation();
+			for (int i = 0; i < moves; i++) {
+				Direction move = strategy.nextMove();
+				hash = 31 * hash + move.ordinal();
+			}
+		}
+		return hash;
+	}
+}
@@ -0,0 +1,57 @@
+package ch.zhaw.pm2.racetrack.benchmark;
+
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.pathfinder.PathFinder;
+import exceptions.InvalidFileFormatException;
+import model.PositionVector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the shortest path search of the first car on the bundled
+ * tracks. The distance field engine reads the field from the cache after the
+ * first invocation, as every car after the first one does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PathFinderBenchmark {
+
+	@Param({"challenge.txt", "oval-anticlock-right.txt", "oval-clock-up.txt"})
+	public String trackFile;
+
+	@Param({"DIJKSTRA", "DISTANCE_FIELD"})
+	public PathFinder.Engine engine;
+
+	private Track track;
+	private PositionVector start;
+
+	@Setup
+	public void setUp() throws IOException, InvalidFileFormatException {
+		track = new Track(new File("tracks", trackFile));
+		start = track.getCar(0).getCurrentPosition();
+	}
+
+	@Benchmark
+	public List<PositionVector> shortestPath() {
+		return new PathFinder(start, track, engine).getShortestPath();
+	}
+}
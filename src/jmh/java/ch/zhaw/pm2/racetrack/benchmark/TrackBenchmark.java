@@ -0,0 +1,82 @@
+package ch.zhaw.pm2.racetrack.benchmark;
+
+import ch.zhaw.pm2.racetrack.Track;
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of reading and printing the bundled tracks. The track files are
+ * read as UTF-8, as some of them contain cars outside of ASCII.
+ * {@link #constructBinary()} reads the same tracks from the binary format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TrackBenchmark {
+	/** Accelerations which move the first car back and forth by one cell */
+	private static final Direction[] SHUTTLE = {Direction.RIGHT, Direction.LEFT, Direction.LEFT, Direction.RIGHT};
+
+	@Param({"challenge.txt", "oval-anticlock-right.txt", "oval-clock-up.txt", "quarter-mile.txt"})
+	public String trackFile;
+
+	private File file;
+	private File binaryFile;
+	private Track track;
+	private int turn;
+
+	@Setup
+	public void setUp() throws IOException, InvalidFileFormatException {
+		file = new File("tracks", trackFile);
+		track = new Track(file);
+		binaryFile = File.createTempFile("track", ".bin");
+		binaryFile.deleteOnExit();
+		track.writeBinary(binaryFile);
+	}
+
+	@Benchmark
+	public Track construct() throws IOException, InvalidFileFormatException {
+		return new Track(file);
+	}
+
+	@Benchmark
+	public Track constructBinary() throws IOException, InvalidFileFormatException {
+		return new Track(binaryFile);
+	}
+
+	/**
+	 * Printing a track which has not changed since it was printed last
+	 */
+	@Benchmark
+	public CharSequence renderUnchanged() {
+		return track.getRendering();
+	}
+
+	/**
+	 * Printing a track after a car has moved, as done after every turn
+	 */
+	@Benchmark
+	public CharSequence renderAfterMove() {
+		track.getCar(0).accelerate(SHUTTLE[turn++ % SHUTTLE.length]);
+		track.getCar(0).move();
+		return track.getRendering();
+	}
+}
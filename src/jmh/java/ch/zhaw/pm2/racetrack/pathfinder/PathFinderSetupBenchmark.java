@@ -0,0 +1,136 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import ch.zhaw.pm2.racetrack.Track;
+import exceptions.InvalidFileFormatException;
+import model.PositionVector;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the setup time of the {@link PathFinder} on the bundled tracks and
+ * on synthetic square tracks.
+ * <p>
+ * Usage: <code>PathFinderSetupBenchmark [track-directory] [size]...</code>
+ * </p>
+ * <p>
+ * For every track the number of cells and the best time of a few runs are
+ * printed for the Dijkstra graph setup alone, for the whole Dijkstra setup
+ * including the shortest paths, for the calculation of the
+ * {@link DistanceField} and for the {@link JumpPointSearch}, together with the
+ * time per cell of the whole Dijkstra setup and the number of cells expanded by
+ * the jump point search. If the setup scales linearly, the time per cell stays roughly
+ * constant while the track size grows.
+ * </p>
+ */
+public class PathFinderSetupBenchmark {
+
+	private static final int RUNS = 3;
+	private static final int[] DEFAULT_SIZES = {250, 500, 1000, 2000};
+
+	/**
+	 * Benchmark entry point
+	 *
+	 * @param args optional track directory followed by the side lengths of the synthetic tracks
+	 * @throws IOException if a synthetic track could not be written
+	 */
+	public static void main(String[] args) throws IOException {
+		File trackDirectory = new File(args.length > 0 ? args[0] : "tracks");
+		int[] sizes = DEFAULT_SIZES;
+		if (args.length > 1) {
+			sizes = new int[args.length - 1];
+			for (int i = 1; i < args.length; i++) {
+				sizes[i - 1] = Integer.parseInt(args[i]);
+			}
+		}
+
+		System.out.printf("%-28s %12s %12s %12s %12s %12s %12s %12s%n", "track", "cells", "graph [ms]", "setup [ms]",
+				"field [ms]", "ns/cell", "jps [ms]", "jps expanded");
+		File[] trackFiles = trackDirectory.listFiles((dir, name) -> name.endsWith(".txt"));
+		if (trackFiles != null) {
+			for (File trackFile : trackFiles) {
+				measure(trackFile.getName(), trackFile);
+			}
+		}
+		for (int size : sizes) {
+			Path trackFile = writeSyntheticTrack(size);
+			try {
+				measure("synthetic " + size + "x" + size, trackFile.toFile());
+			} finally {
+				Files.deleteIfExists(trackFile);
+			}
+		}
+	}
+
+	private static void measure(String name, File trackFile) {
+		Track track;
+		try {
+			track = new Track(trackFile);
+		} catch (IOException | InvalidFileFormatException e) {
+			System.out.printf("%-28s skipped: %s%n", name, e.getMessage());
+			return;
+		}
+		PositionVector startPosition = track.getCar(0).getCurrentPosition();
+		long bestGraph = Long.MAX_VALUE;
+		long bestSetup = Long.MAX_VALUE;
+		long bestField = Long.MAX_VALUE;
+		long bestJumpPoint = Long.MAX_VALUE;
+		JumpPointSearch jumpPointSearch = new JumpPointSearch(track.getBoard());
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			new PathFinder(track).buildGraph(startPosition);
+			bestGraph = Math.min(bestGraph, System.nanoTime() - start);
+			start = System.nanoTime();
+			new PathFinder(startPosition, track, PathFinder.Engine.DIJKSTRA).getShortestPath();
+			bestSetup = Math.min(bestSetup, System.nanoTime() - start);
+			start = System.nanoTime();
+			DistanceField.calculate(track.getBoard());
+			bestField = Math.min(bestField, System.nanoTime() - start);
+			start = System.nanoTime();
+			jumpPointSearch.findPath(startPosition.getX(), startPosition.getY());
+			bestJumpPoint = Math.min(bestJumpPoint, System.nanoTime() - start);
+		}
+		long cells = (long) track.getWidth() * track.getHeight();
+		System.out.printf("%-28s %12d %12.1f %12.1f %12.1f %12.1f %12.1f %12d%n", name, cells, bestGraph / 1e6,
+				bestSetup / 1e6, bestField / 1e6, (double) bestSetup / cells, bestJumpPoint / 1e6,
+				jumpPointSearch.getExpandedNodeCount());
+	}
+
+	/**
+	 * Writes a square track surrounded by walls with a wall pillar on every
+	 * fourth cell, a finish line across the upper half and a single car in
+	 * front of it.
+	 */
+	private static Path writeSyntheticTrack(int size) throws IOException {
+		Path trackFile = Files.createTempFile("synthetic-track-", ".txt");
+		int finishX = size / 2;
+		List<String> lines = new ArrayList<>(size);
+		for (int y = 0; y < size; y++) {
+			StringBuilder line = new StringBuilder(size);
+			for (int x = 0; x < size; x++) {
+				if (x == 0 || y == 0 || x == size - 1 || y == size - 1) {
+					line.append('#');
+				} else if (x == finishX) {
+					line.append(y < size / 2 ? '>' : '#');
+				} else if (x == finishX - 2 && y == 2) {
+					line.append('a');
+				} else if (x % 4 == 0 && y % 4 == 0) {
+					line.append('#');
+				} else {
+					line.append(' ');
+				}
+			}
+			lines.add(line.toString());
+		}
+		try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(trackFile, StandardCharsets.US_ASCII))) {
+			lines.forEach(writer::println);
+		}
+		return trackFile;
+	}
+}
@@ -0,0 +1,199 @@
+package ch.zhaw.pm2.racetrack;
+
+import ch.zhaw.pm2.racetrack.given.TrackSpecification;
+import exceptions.InvalidFileFormatException;
+import model.PositionVector;
+import model.SpaceType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Compact binary representation of a {@link TrackBoard}.
+ * <p>
+ * All values are big-endian. The file consists of
+ * </p>
+ * <ul>
+ * <li>int magic number <code>0x89525442</code>, the first byte is no valid
+ * start of a UTF-8 character, so text tracks are never mistaken for binary ones</li>
+ * <li>int format version</li>
+ * <li>int width, int height</li>
+ * <li>int number of finish line cells</li>
+ * <li>int number of cars, followed by char id, int x and int y of every car</li>
+ * <li>the grid row by row as runs of equal cells: byte space type ordinal
+ * followed by the run length as unsigned varint (7 bits per byte, least
+ * significant group first)</li>
+ * </ul>
+ * <p>
+ * Reading decodes the runs from the buffer straight into the grid of the
+ * board, filling every run at once.
+ * </p>
+ */
+final class BinaryTrackFormat {
+	static final int MAGIC = 0x89525442;
+	static final int VERSION = 1;
+
+	private static final SpaceType[] SPACE_TYPES = SpaceType.values();
+
+	private BinaryTrackFormat() {
+	}
+
+	/**
+	 * Checks if the buffer starts with a binary track, the position of the buffer is not changed
+	 *
+	 * @param buffer buffer to check
+	 * @return true if the buffer starts with the magic number
+	 */
+	static boolean isBinaryTrack(ByteBuffer buffer) {
+		return buffer.remaining() >= Integer.BYTES && buffer.getInt(buffer.position()) == MAGIC;
+	}
+
+	/**
+	 * Reads and validates a binary track, starting at the position of the buffer
+	 *
+	 * @param buffer buffer containing the binary track
+	 * @return the board of the track
+	 * @throws InvalidFileFormatException if the buffer contains no valid binary track
+	 */
+	static TrackBoard read(ByteBuffer buffer) throws InvalidFileFormatException {
+		try {
+			if (buffer.getInt() != MAGIC) {
+				throw new InvalidFileFormatException("The track file is no binary track");
+			}
+			if (buffer.getInt() != VERSION) {
+				throw new InvalidFileFormatException("The binary track has an unsupported version");
+			}
+			int width = buffer.getInt();
+			int height = buffer.getInt();
+			if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+				throw new InvalidFileFormatException("The track file contains no track lines or lines of different length");
+			}
+			int finishCells = buffer.getInt();
+			int carCount = buffer.getInt();
+			if (carCount < 1 || carCount > TrackSpecification.MAX_CARS) {
+				throw new InvalidFileFormatException("The track file must contain 1 to " + TrackSpecification.MAX_CARS
+						+ " cars, but contains " + carCount);
+			}
+			char[] carIds = new char[carCount];
+			PositionVector[] carStartPositions = new PositionVector[carCount];
+			for (int i = 0; i < carCount; i++) {
+				carIds[i] = buffer.getChar();
+				carStartPositions[i] = PositionVector.of(buffer.getInt(), buffer.getInt());
+			}
+			byte[] grid = new byte[width * height];
+			if (readGrid(buffer, grid) != finishCells) {
+				throw new InvalidFileFormatException("The binary track contains a wrong number of finish line cells");
+			}
+			for (PositionVector start : carStartPositions) {
+				if (start.getX() < 0 || start.getY() < 0 || start.getX() >= width || start.getY() >= height
+						|| grid[start.getY() * width + start.getX()] != SpaceType.TRACK.ordinal()) {
+					throw new InvalidFileFormatException("The binary track contains a car outside of the track");
+				}
+			}
+			return new TrackBoard(width, height, grid, carIds, carStartPositions, finishCells > 0);
+		} catch (BufferUnderflowException e) {
+			throw new InvalidFileFormatException("The binary track is truncated");
+		}
+	}
+
+	/**
+	 * Decodes the runs into the grid
+	 *
+	 * @return number of finish line cells
+	 */
+	private static int readGrid(ByteBuffer buffer, byte[] grid) throws InvalidFileFormatException {
+		int finishCells = 0;
+		int index = 0;
+		while (index < grid.length) {
+			byte ordinal = buffer.get();
+			int length = readVarInt(buffer);
+			if (ordinal < 0 || ordinal >= SPACE_TYPES.length || length <= 0 || length > grid.length - index) {
+				throw new InvalidFileFormatException("The binary track contains an invalid grid");
+			}
+			Arrays.fill(grid, index, index + length, ordinal);
+			if (TrackBoard.isFinishLine(SPACE_TYPES[ordinal])) {
+				finishCells += length;
+			}
+			index += length;
+		}
+		return finishCells;
+	}
+
+	private static int readVarInt(ByteBuffer buffer) throws InvalidFileFormatException {
+		int value = 0;
+		for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+			byte b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new InvalidFileFormatException("The binary track contains an invalid grid");
+	}
+
+	/**
+	 * Writes the board in the binary format, replacing an existing file
+	 *
+	 * @param board board to write
+	 * @param file  file to write to
+	 * @throws IOException if writing fails
+	 */
+	static void write(TrackBoard board, File file) throws IOException {
+		int width = board.getWidth();
+		int height = board.getHeight();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(width);
+			out.writeInt(height);
+			out.writeInt(countFinishCells(board));
+			out.writeInt(board.getCarCount());
+			for (int i = 0; i < board.getCarCount(); i++) {
+				out.writeChar(board.getCarId(i));
+				out.writeInt(board.getCarStartPosition(i).getX());
+				out.writeInt(board.getCarStartPosition(i).getY());
+			}
+			SpaceType run = board.getSpaceTypeAt(0, 0);
+			int length = 0;
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					SpaceType spaceType = board.getSpaceTypeAt(x, y);
+					if (spaceType != run) {
+						writeRun(out, run, length);
+						run = spaceType;
+						length = 0;
+					}
+					length++;
+				}
+			}
+			writeRun(out, run, length);
+		}
+	}
+
+	private static int countFinishCells(TrackBoard board) {
+		int count = 0;
+		for (int y = 0; y < board.getHeight(); y++) {
+			for (int x = 0; x < board.getWidth(); x++) {
+				if (TrackBoard.isFinishLine(board.getSpaceTypeAt(x, y))) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	private static void writeRun(DataOutputStream out, SpaceType spaceType, int length) throws IOException {
+		out.writeByte(spaceType.ordinal());
+		while ((length & ~0x7F) != 0) {
+			out.writeByte((length & 0x7F) | 0x80);
+			length >>>= 7;
+		}
+		out.writeByte(length);
+	}
+}
@@ -31,6 +31,14 @@ public class Config implements ConfigSpecification {
     /** Crash indicator */
 	public static final char CRASH_INDICATOR = 'X';
 
+    /** Default upper limit of printed race frames per second */
+    public static final int DEFAULT_MAX_FRAMES_PER_SECOND = 30;
+
+    /** Upper limit of printed race frames per second */
+    private int maxFramesPerSecond = DEFAULT_MAX_FRAMES_PER_SECOND;
+
+    /** Print only the final board of races without user controlled cars */
+    private boolean finalBoardOnly = false;
 
     /**
      * @return Directory file containing the racetrack files
@@ -84,6 +92,39 @@ public class Config implements ConfigSpecification {
         this.followerDirectory = checkExistingDirectoryOrThrow(followerDirectory);
     }
 
+    /**
+     * @return upper limit of printed race frames per second
+     */
+    public int getMaxFramesPerSecond() {
+        return maxFramesPerSecond;
+    }
+
+    /**
+     * Specify the upper limit of printed race frames per second. Frames of faster races are dropped.
+     * @param maxFramesPerSecond upper limit of printed frames per second
+     * @throws IllegalArgumentException if maxFramesPerSecond is not positive
+     */
+    public void setMaxFramesPerSecond(int maxFramesPerSecond) {
+        if (maxFramesPerSecond <= 0)
+            throw new IllegalArgumentException(String.format("%d is no valid frame rate", maxFramesPerSecond));
+        this.maxFramesPerSecond = maxFramesPerSecond;
+    }
+
+    /**
+     * @return true if only the final board of races without user controlled cars is printed
+     */
+    public boolean isFinalBoardOnly() {
+        return finalBoardOnly;
+    }
+
+    /**
+     * Specify if only the final board of races without user controlled cars is printed.
+     * @param finalBoardOnly true to skip all other frames
+     */
+    public void setFinalBoardOnly(boolean finalBoardOnly) {
+        this.finalBoardOnly = finalBoardOnly;
+    }
+
     /**
      * Validate given path if it exists and is a directory
      * @param directory directory to validate
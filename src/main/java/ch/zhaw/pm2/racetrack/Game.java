@@ -24,6 +24,9 @@ public class Game implements GameSpecification {
 	public static final int NO_WINNER = -1;
 
 	private Track track;
+	private final TurnVisitor turnVisitor = new TurnVisitor();
+	private TurnListener turnListener;
+	private TransitionCache transitionCache;
 
 	public Game(Track track) {
 		this.track = track;
@@ -47,6 +50,16 @@ public class Game implements GameSpecification {
 		return track.toString();
 	}
 
+	/**
+	 * Return the current track status without copying it, see
+	 * {@link Track#getRendering()}
+	 *
+	 * @return read-only view of the rendered track
+	 */
+	public CharSequence getTrackRendering() {
+		return track.getRendering();
+	}
+
 	/**
 	 * Return the number of cars.
 	 *
@@ -124,6 +137,58 @@ public class Game implements GameSpecification {
 		return track.getCar(carIndex).getMoveStrategy();
 	}
 
+	/**
+	 * Sets the listener which gets notified after every car turn
+	 *
+	 * @param turnListener listener to notify, null to remove it
+	 */
+	public void setTurnListener(TurnListener turnListener) {
+		this.turnListener = turnListener;
+	}
+
+	/**
+	 * Sets the cache for the wall and finish line checks of the moves. Moves
+	 * with another car between their start and end position are always walked.
+	 *
+	 * @param transitionCache cache of the board of the track, null to walk every move
+	 */
+	public void setTransitionCache(TransitionCache transitionCache) {
+		this.transitionCache = transitionCache;
+	}
+
+	/**
+	 * Takes a snapshot of the current state of the race, see {@link GameState}
+	 *
+	 * @return new snapshot of the race
+	 */
+	public GameState snapshot() {
+		return snapshot(new GameState(getCarCount()));
+	}
+
+	/**
+	 * Takes a snapshot of the current state of the race into an existing
+	 * snapshot, without creating any objects
+	 *
+	 * @param state snapshot to overwrite, taken from a race with the same number of cars
+	 * @return the given snapshot
+	 * @throws IllegalArgumentException if the number of cars does not match
+	 */
+	public GameState snapshot(GameState state) {
+		state.capture(track);
+		return state;
+	}
+
+	/**
+	 * Sets the race back to the given snapshot: the state of all cars and the
+	 * current car. The move strategies are not changed.
+	 *
+	 * @param state snapshot taken from a race with the same number of cars
+	 * @throws IllegalArgumentException if the number of cars does not match
+	 */
+	public void restore(GameState state) {
+		state.applyTo(track);
+	}
+
 	/**
 	 * Get the next move for the current car
 	 *
@@ -180,8 +245,11 @@ public class Game implements GameSpecification {
 	 * </p>
 	 * <ol>
 	 * <li>Accelerate the current car</li>
-	 * <li>Calculate the path from current (start) to next (end) position (see
-	 * {@link Game#calculatePath(PositionVector, PositionVector)})</li>
+	 * <li>Walk the path from current (start) to next (end) position (see
+	 * {@link PathWalker}, the same path as
+	 * {@link Game#calculatePath(PositionVector, PositionVector)}), or take the
+	 * outcome from the {@link TransitionCache} if one is set and no other car is
+	 * near the path</li>
 	 * <li>Verify for each step what space type it hits:
 	 * <ul>
 	 * <li>TRACK: check for collision with other car (crashed &amp; don't continue),
@@ -196,6 +264,7 @@ public class Game implements GameSpecification {
 	 * <li>If the car crashed, also detect if there is only one car remaining,
 	 * remaining car is the winner</li>
 	 * <li>Otherwise move the car to the end position</li>
+	 * <li>Notify the {@link TurnListener}, if one is set</li>
 	 * </ol>
 	 * <p>
 	 * The calling method must check the winner state and decide how to go on. If
@@ -208,74 +277,74 @@ public class Game implements GameSpecification {
 	 */
 	@Override
 	public void doCarTurn(Direction acceleration) {
-		Car car = track.getCar(track.getCarIndex());
+		int carIndex = track.getCarIndex();
+		Car car = track.getCar(carIndex);
 		car.accelerate(acceleration);
-		PositionVector endPosition = car.getNextPosition();
-		List<PositionVector> path = calculatePath(car.getCurrentPosition(), endPosition);
-		PositionVector previous = car.getCurrentPosition();
-		for (PositionVector location : path) {
-			if (!car.isCrashed()) {
-				if (hitsCar(car, location) || hitsWall(location)) {
-					car.crash(previous);
-				} else {
-					handleFinishLineCrossing(car, location);
-				}
-				previous = location;
-			}
+		int startX = car.getPositionX();
+		int startY = car.getPositionY();
+		long endPosition = car.getPackedNextPosition();
+		int endX = PositionVector.unpackX(endPosition);
+		int endY = PositionVector.unpackY(endPosition);
+		if (transitionCache == null || !applyCachedTransition(carIndex, car, startX, startY, endX, endY)) {
+			turnVisitor.start(carIndex, car);
+			PathWalker.walk(startX, startY, endX, endY, turnVisitor);
 		}
 		car.move();
+		if (turnListener != null) {
+			turnListener.turnDone(carIndex, acceleration, car);
+		}
 	}
 
-	private boolean hitsCar(Car activeCar, PositionVector location) {
-		for (Car car : track.getCars()) {
-			if (car != activeCar) {
-				if (car.getCurrentPosition().equals(location)) {
-					return true;
-				}
+	/**
+	 * Applies the cached outcome of the move, if no other car is in the
+	 * rectangle spanned by the start and the end position
+	 *
+	 * @return false if the path has to be walked
+	 */
+	private boolean applyCachedTransition(int carIndex, Car car, int startX, int startY, int endX, int endY) {
+		int minX = Math.min(startX, endX);
+		int maxX = Math.max(startX, endX);
+		int minY = Math.min(startY, endY);
+		int maxY = Math.max(startY, endY);
+		for (int i = 0; i < track.getCarCount(); i++) {
+			Car other = track.getCar(i);
+			if (i != carIndex && other.getPositionX() >= minX && other.getPositionX() <= maxX
+					&& other.getPositionY() >= minY && other.getPositionY() <= maxY) {
+				return false;
 			}
 		}
-		return false;
+		int outcome = transitionCache.getOutcome(startX, startY, car.getVelocityX(), car.getVelocityY());
+		if (outcome == TransitionCache.UNSUPPORTED) {
+			return false;
+		}
+		int lapChange = TransitionCache.getLapChange(outcome);
+		for (int i = 0; i < lapChange; i++) {
+			car.incrementLapCounter();
+		}
+		for (int i = 0; i > lapChange; i--) {
+			car.decrementLapCounter();
+		}
+		if (TransitionCache.isCrash(outcome)) {
+			car.crash(PositionVector.of(startX + TransitionCache.getEndOffsetX(outcome),
+					startY + TransitionCache.getEndOffsetY(outcome)));
+		}
+		return true;
 	}
 
-	private boolean hitsWall(PositionVector location) {
-		if (track.getFields().get(location.getY()).get(location.getX()).equals(SpaceType.WALL)) {
-			return true;
-		}
-		return false;
+	private boolean hitsCar(int activeCarIndex, int x, int y) {
+		return track.isOccupiedByOtherCar(activeCarIndex, x, y);
 	}
 
-	private void handleFinishLineCrossing(Car car, PositionVector location) {
-		switch (track.getFields().get(location.getY()).get(location.getX())) {
-			case FINISH_UP:
-				if (car.getCurrentPosition().getY() > location.getY()) {
-					car.incrementLapCounter();
-				} else {
-					car.decrementLapCounter();
-				}
-				break;
-			case FINISH_DOWN:
-				if (car.getCurrentPosition().getY() < location.getY()) {
-					car.incrementLapCounter();
-				} else {
-					car.decrementLapCounter();
-				}
-				break;
-			case FINISH_LEFT:
-				if (car.getCurrentPosition().getX() > location.getX()) {
-					car.incrementLapCounter();
-				} else {
-					car.decrementLapCounter();
-				}
-				break;
-			case FINISH_RIGHT:
-				if (car.getCurrentPosition().getX() < location.getX()) {
-					car.incrementLapCounter();
-				} else {
-					car.decrementLapCounter();
-				}
-				break;
-			default:
-				break;
+	private boolean hitsWall(int x, int y) {
+		return track.getSpaceTypeAt(x, y) == SpaceType.WALL;
+	}
+
+	private void handleFinishLineCrossing(Car car, int x, int y) {
+		int lapChange = track.getBoard().getLapChange(car.getPositionX(), car.getPositionY(), x, y);
+		if (lapChange > 0) {
+			car.incrementLapCounter();
+		} else if (lapChange < 0) {
+			car.decrementLapCounter();
 		}
 	}
 
@@ -302,6 +371,8 @@ public class Game implements GameSpecification {
 	 * 'slower' axis.</li>
 	 * </ul>
 	 * Direction of the movement has to correctly considered.
+	 * The positions are created by {@link PathWalker}, which walks the same path
+	 * without creating a list.
 	 *
 	 * @param startPosition Starting position as a PositionVector
 	 * @param endPosition   Ending position as a PositionVector
@@ -310,54 +381,9 @@ public class Game implements GameSpecification {
 	 */
 	@Override
 	public List<PositionVector> calculatePath(PositionVector startPosition, PositionVector endPosition) {
-		ArrayList<PositionVector> vectors = new ArrayList<>();
-		int diffX = endPosition.getX() - startPosition.getX();
-		int diffY = endPosition.getY() - startPosition.getY();
-		int distX = Math.abs(diffX);
-		int distY = Math.abs(diffY);
-		int dirX = Integer.signum(diffX);
-		int dirY = Integer.signum(diffY);
-		int parallelStepX;
-		int parallelStepY;
-		int diagonalStepX;
-		int diagonalStepY;
-		int distanceSlowAxis;
-		int distanceFastAxis;
-
-		if (distX > distY) {
-			parallelStepX = dirX;
-			parallelStepY = 0;
-			diagonalStepX = dirX;
-			diagonalStepY = dirY;
-			distanceSlowAxis = distY;
-			distanceFastAxis = distX;
-		} else {
-			parallelStepX = 0;
-			parallelStepY = dirY;
-			diagonalStepX = dirX;
-			diagonalStepY = dirY;
-			distanceSlowAxis = distX;
-			distanceFastAxis = distY;
-		}
-
-		int x = startPosition.getX();
-		int y = startPosition.getY();
-		int error = distanceFastAxis / 2;
-
-		vectors.add(startPosition);
-
-		for (int step = 0; step < distanceFastAxis; step++) {
-			error -= distanceSlowAxis;
-			if (error < 0) {
-				error += distanceFastAxis;
-				x += diagonalStepX;
-				y += diagonalStepY;
-			} else {
-				x += parallelStepX;
-				y += parallelStepY;
-			}
-			vectors.add(new PositionVector(x, y));
-		}
+		List<PositionVector> vectors = new ArrayList<>();
+		PathWalker.walk(startPosition.getX(), startPosition.getY(), endPosition.getX(), endPosition.getY(),
+				(x, y) -> vectors.add(PositionVector.of(x, y)));
 		return vectors;
 	}
 
@@ -377,4 +403,34 @@ public class Game implements GameSpecification {
 		}
 		return false;
 	}
+
+	/**
+	 * Checks every position on the path of the current car for crashes and
+	 * finish line crossings. One instance is reused for all turns.
+	 */
+	private class TurnVisitor implements PathWalker.CellVisitor {
+		private int carIndex;
+		private Car car;
+		private int previousX;
+		private int previousY;
+
+		private void start(int carIndex, Car car) {
+			this.carIndex = carIndex;
+			this.car = car;
+			this.previousX = car.getPositionX();
+			this.previousY = car.getPositionY();
+		}
+
+		@Override
+		public boolean visit(int x, int y) {
+			if (hitsCar(carIndex, x, y) || hitsWall(x, y)) {
+				car.crash(PositionVector.of(previousX, previousY));
+				return false;
+			}
+			handleFinishLineCrossing(car, x, y);
+			previousX = x;
+			previousY = y;
+			return true;
+		}
+	}
 }
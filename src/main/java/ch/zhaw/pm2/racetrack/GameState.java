@@ -0,0 +1,91 @@
+package ch.zhaw.pm2.racetrack;
+
+import model.Car;
+
+/**
+ * Snapshot of the mutable state of a race: position, velocity, crash state and
+ * lap counter of every car and the index of the current car.
+ * <p>
+ * The values are stored in primitive arrays which are allocated once, so a
+ * snapshot can be taken again and again with {@link Game#snapshot(GameState)}
+ * and restored with {@link Game#restore(GameState)} without creating any
+ * objects per car. This allows search strategies to try moves and roll them
+ * back instead of reading the track again.
+ * </p>
+ */
+public final class GameState {
+	private final int carCount;
+	private final int[] positionsX;
+	private final int[] positionsY;
+	private final int[] velocitiesX;
+	private final int[] velocitiesY;
+	private final int[] lapCounters;
+	private final boolean[] crashed;
+	private int carIndex;
+
+	/**
+	 * Creates an empty snapshot for a race with the given number of cars
+	 *
+	 * @param carCount number of cars in the race
+	 */
+	public GameState(int carCount) {
+		this.carCount = carCount;
+		positionsX = new int[carCount];
+		positionsY = new int[carCount];
+		velocitiesX = new int[carCount];
+		velocitiesY = new int[carCount];
+		lapCounters = new int[carCount];
+		crashed = new boolean[carCount];
+	}
+
+	/**
+	 * @return number of cars in the snapshot
+	 */
+	public int getCarCount() {
+		return carCount;
+	}
+
+	/**
+	 * @return index of the current car at the time of the snapshot
+	 */
+	public int getCarIndex() {
+		return carIndex;
+	}
+
+	/**
+	 * Copies the state of the track into this snapshot
+	 */
+	void capture(Track track) {
+		checkCarCount(track);
+		for (int i = 0; i < carCount; i++) {
+			Car car = track.getCar(i);
+			positionsX[i] = car.getPositionX();
+			positionsY[i] = car.getPositionY();
+			velocitiesX[i] = car.getVelocityX();
+			velocitiesY[i] = car.getVelocityY();
+			lapCounters[i] = car.getLapCounter();
+			crashed[i] = car.isCrashed();
+		}
+		carIndex = track.getCarIndex();
+	}
+
+	/**
+	 * Sets the state of the track to this snapshot. The cars take the primitive
+	 * values, vectors are only created when a car is asked for them.
+	 */
+	void applyTo(Track track) {
+		checkCarCount(track);
+		for (int i = 0; i < carCount; i++) {
+			track.getCar(i).restore(positionsX[i], positionsY[i], velocitiesX[i], velocitiesY[i], crashed[i],
+					lapCounters[i]);
+		}
+		track.setCarIndex(carIndex);
+	}
+
+	private void checkCarCount(Track track) {
+		if (track.getCarCount() != carCount) {
+			throw new IllegalArgumentException("snapshot of " + carCount + " cars does not match a track with "
+					+ track.getCarCount() + " cars");
+		}
+	}
+}
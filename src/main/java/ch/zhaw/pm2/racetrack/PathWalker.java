@@ -0,0 +1,78 @@
+package ch.zhaw.pm2.racetrack;
+
+/**
+ * Walks the grid positions between two positions using Bresenham's line
+ * algorithm, exactly as {@link Game#calculatePath(model.PositionVector, model.PositionVector)}
+ * lists them, but without creating any objects.
+ * <p>
+ * Every position, including the start and the end position, is passed to a
+ * {@link CellVisitor} as primitive coordinates. The visitor can stop the walk
+ * early, e.g. on the first crash. Visitors which are called for every turn
+ * should be reused, so no object is created per turn.
+ * </p>
+ */
+public final class PathWalker {
+
+	/**
+	 * Receives the positions of a walk
+	 */
+	@FunctionalInterface
+	public interface CellVisitor {
+		/**
+		 * @param x column (x-value) of the position
+		 * @param y row (y-value) of the position
+		 * @return true to continue the walk, false to stop it
+		 */
+		boolean visit(int x, int y);
+	}
+
+	private PathWalker() {
+	}
+
+	/**
+	 * Passes all grid positions from the start to the end position to the visitor,
+	 * until the visitor stops the walk.
+	 *
+	 * @param startX  column of the start position
+	 * @param startY  row of the start position
+	 * @param endX    column of the end position
+	 * @param endY    row of the end position
+	 * @param visitor visitor to receive the positions
+	 * @return true if all positions were visited, false if the visitor stopped the walk
+	 */
+	public static boolean walk(int startX, int startY, int endX, int endY, CellVisitor visitor) {
+		int diffX = endX - startX;
+		int diffY = endY - startY;
+		int distX = Math.abs(diffX);
+		int distY = Math.abs(diffY);
+		int dirX = Integer.signum(diffX);
+		int dirY = Integer.signum(diffY);
+		boolean fastAxisX = distX > distY;
+		int parallelStepX = fastAxisX ? dirX : 0;
+		int parallelStepY = fastAxisX ? 0 : dirY;
+		int distanceSlowAxis = fastAxisX ? distY : distX;
+		int distanceFastAxis = fastAxisX ? distX : distY;
+
+		int x = startX;
+		int y = startY;
+		int error = distanceFastAxis / 2;
+		if (!visitor.visit(x, y)) {
+			return false;
+		}
+		for (int step = 0; step < distanceFastAxis; step++) {
+			error -= distanceSlowAxis;
+			if (error < 0) {
+				error += distanceFastAxis;
+				x += dirX;
+				y += dirY;
+			} else {
+				x += parallelStepX;
+				y += parallelStepY;
+			}
+			if (!visitor.visit(x, y)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
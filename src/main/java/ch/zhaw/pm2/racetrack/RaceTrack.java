@@ -12,6 +12,7 @@ import org.beryx.textio.TextIoFactory;
 import org.beryx.textio.TextTerminal;
 
 import ch.zhaw.pm2.racetrack.Config.OutputMessage;
+import ch.zhaw.pm2.racetrack.userinterface.FrameRenderer;
 import ch.zhaw.pm2.racetrack.userinterface.InputManager;
 import ch.zhaw.pm2.racetrack.userinterface.OutputWriter;
 import exceptions.InvalidFileFormatException;
@@ -23,6 +24,12 @@ import model.PositionVector;
  * OutputManager and InputManager classes and creates a new Game with a specific
  * track file. The UI of the Racetrack game works with the Beryx library TextIO
  * which provides essential functions for input and output.
+ * <p>
+ * Races without user controlled cars are printed by a {@link FrameRenderer},
+ * so the race does not wait for the terminal. The options
+ * <code>--fps &lt;n&gt;</code> and <code>--final-only</code> set the frame rate
+ * limit or print only the final board.
+ * </p>
  */
 public class RaceTrack {
 	private static final TextIO textIO = TextIoFactory.getTextIO();
@@ -34,10 +41,28 @@ public class RaceTrack {
 
 	/**
 	 * Game entry point
-	 * @param args
+	 * @param args optional <code>--fps &lt;n&gt;</code> and <code>--final-only</code>
 	 */
 	public static void main(String[] args) {
-		new RaceTrack().setup();
+		RaceTrack raceTrack = new RaceTrack();
+		raceTrack.parseOptions(args);
+		raceTrack.setup();
+	}
+
+	private void parseOptions(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--fps") && i + 1 < args.length) {
+				try {
+					config.setMaxFramesPerSecond(Integer.parseInt(args[++i]));
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("--fps needs a number: " + args[i], e);
+				}
+			} else if (args[i].equals("--final-only")) {
+				config.setFinalBoardOnly(true);
+			} else {
+				throw new IllegalArgumentException("Unknown option: " + args[i]);
+			}
+		}
 	}
 
 	private void setup() {
@@ -99,8 +124,29 @@ public class RaceTrack {
 	}
 
 	private void race() {
+		if (hasUserControlledCar()) {
+			raceInteractive();
+		} else {
+			raceRendered();
+		}
+		if (game.getWinner() != Game.NO_WINNER) {
+			outputWriter.print(textTerminal, OutputMessage.WINNING.toString(),
+					new String[]{String.valueOf(game.getCarId(game.getWinner()))});
+		}
+	}
+
+	private boolean hasUserControlledCar() {
+		for (int i = 0; i < game.getCarCount(); i++) {
+			if (game.getTrack().getCar(i).getMoveStrategy() instanceof UserMoveStrategy) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void raceInteractive() {
 		boolean gameInPlay = true;
-		outputWriter.print(textTerminal, game.getTrackString());
+		outputWriter.print(textTerminal, game.getTrackRendering());
 		while (game.getWinner() == Game.NO_WINNER && gameInPlay) {
 			if (!game.checkForMovingCars()) {
 				outputWriter.print(textTerminal, OutputMessage.NOMOVINGCAR.toString());
@@ -108,12 +154,35 @@ public class RaceTrack {
 			} else {
 				game.doCarTurn(game.getMoveForCurrentCar());
 				game.switchToNextActiveCar();
-				outputWriter.print(textTerminal, game.getTrackString());
+				outputWriter.print(textTerminal, game.getTrackRendering());
 			}
 		}
-		if (game.getWinner() != Game.NO_WINNER) {
-			outputWriter.print(textTerminal, OutputMessage.WINNING.toString(),
-					new String[]{String.valueOf(game.getCarId(game.getWinner()))});
+	}
+
+	private void raceRendered() {
+		boolean gameInPlay = true;
+		FrameRenderer renderer = new FrameRenderer(textTerminal, outputWriter, config.getMaxFramesPerSecond(),
+				config.isFinalBoardOnly());
+		try {
+			renderer.publish(game.getTrackRendering());
+			while (game.getWinner() == Game.NO_WINNER && gameInPlay) {
+				if (!game.checkForMovingCars()) {
+					gameInPlay = false;
+				} else {
+					game.doCarTurn(game.getMoveForCurrentCar());
+					game.switchToNextActiveCar();
+					if (renderer.isFrameDue()) {
+						renderer.publish(game.getTrackRendering());
+					}
+				}
+			}
+			renderer.close(game.getTrackRendering());
+		} finally {
+			// stops the render thread if the race failed, does nothing after the final frame
+			renderer.close();
+		}
+		if (!gameInPlay) {
+			outputWriter.print(textTerminal, OutputMessage.NOMOVINGCAR.toString());
 		}
 	}
 }
@@ -7,11 +7,11 @@ import model.PositionVector;
 import model.SpaceType;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 
 /**
  * This class represents the racetrack board.
@@ -38,8 +38,15 @@ import java.util.Scanner;
  * which have to be crossed in the indicated direction to winn the race.</li>
  * </ul>
  * <p>
+ * The grid is kept in an immutable {@link TrackBoard}, which stores it as a
+ * flat byte array and can be shared between several tracks.
+ * {@link #getFields()} provides a list based view of it for compatibility.
+ * </p>
+ * <p>
  * Beside the board the track contains the list of cars, with their current
- * state (position, velocity, crashed,...)
+ * state (position, velocity, crashed,...). The cars report their moves to the
+ * track, which keeps a per-cell occupancy index so looking up the cars at a
+ * position takes constant time.
  * </p>
  *
  * <p>
@@ -49,6 +56,10 @@ import java.util.Scanner;
  * or at the end of the file.
  * </p>
  * <p>
+ * Alternatively the track file can contain a binary track written by
+ * {@link #writeBinary(File)}, it is recognized by its header.
+ * </p>
+ * <p>
  * Characters in the line represent SpaceTypes. The mapping of the Characters is
  * as follows:
  * </p>
@@ -78,14 +89,31 @@ import java.util.Scanner;
  *
  * <p>
  * The Tracks {@link #toString()} method returns a String representing the
- * current state of the race (including car positions and status)
+ * current state of the race (including car positions and status). The text is
+ * kept in a buffer between calls, only the cells changed by car moves are
+ * rewritten.
  * </p>
  */
 public class Track implements TrackSpecification {
 
-	private List<List<SpaceType>> fields = new ArrayList<>();
+	/** Above this number of changed cells the render buffer is rebuilt instead of patched */
+	private static final int MAX_DIRTY_CELLS = 1024;
+
+	private final TrackBoard board;
+	private final int width;
+	private final int height;
+	private List<List<SpaceType>> fields;
 	private List<Car> cars = new ArrayList<>();
 	private int carIndex = 0;
+	/** Per cell bit mask of the cars at that position, bit i stands for car i */
+	private short[] occupancy;
+	/** Text of the track, one line of width + 1 chars per row, null until first rendered */
+	private char[] renderBuffer;
+	/** Cells changed since the render buffer was last updated */
+	private int[] dirtyCells = new int[MAX_DIRTY_CELLS];
+	private int dirtyCount = 0;
+	/** Read-only view of the render buffer, replaced when the buffer is */
+	private CharSequence rendering;
 
 	/**
 	 * Initialize a Track from the given track file.<br/>
@@ -99,10 +127,44 @@ public class Track implements TrackSpecification {
 	 *                                    cars)
 	 */
 	public Track(File trackFile) throws IOException, InvalidFileFormatException {
-		populateField(trackFile);
-		if(!(validateTrack(trackFile))){
-			throw new InvalidFileFormatException("The track file contains invalid data");
+		this(new TrackBoard(trackFile));
+	}
+
+	/**
+	 * Initialize a Track on the given board. The cars are placed on their start
+	 * positions. The board is not copied, it can be shared with other tracks.
+	 *
+	 * @param board the board to race on
+	 */
+	public Track(TrackBoard board) {
+		this.board = board;
+		this.width = board.getWidth();
+		this.height = board.getHeight();
+		for (int i = 0; i < board.getCarCount(); i++) {
+			cars.add(new Car(board.getCarId(i), board.getCarStartPosition(i)));
 		}
+		initOccupancy();
+	}
+
+	/**
+	 * Returns the immutable board of this track
+	 *
+	 * @return TrackBoard board
+	 */
+	public TrackBoard getBoard() {
+		return board;
+	}
+
+	/**
+	 * Writes the board of this track with the start positions of the cars to a
+	 * binary track file, which can be read again with {@link #Track(File)}.
+	 * The current state of the race is not written.
+	 *
+	 * @param file file to write to, an existing file is replaced
+	 * @throws IOException if writing fails
+	 */
+	public void writeBinary(File file) throws IOException {
+		board.writeBinary(file);
 	}
 
 	/**
@@ -115,94 +177,56 @@ public class Track implements TrackSpecification {
 	}
 
 	/**
-	 * Returns the field
+	 * Returns the field as a read-only view on the track grid. The view is
+	 * created on the first call, the grid itself is not copied.
 	 * 
 	 * @return List<List<SpaceType>> fields
 	 */
 	public List<List<SpaceType>> getFields() {
+		if (fields == null) {
+			fields = new FieldsView();
+		}
 		return fields;
 	}
 
-
-	private void populateField(File trackFile) throws FileNotFoundException {
-		Scanner scanner = new Scanner(trackFile);
-		int lineNumber = 0;
-		while (scanner.hasNext()) {
-			int columnNumber = 0;
-			List<SpaceType> line = new ArrayList<>();
-			for (char c : scanner.nextLine().toCharArray()) {
-				line.add(mapCharToType(c, lineNumber, columnNumber));
-				columnNumber++;
-			}
-			fields.add(line);
-			lineNumber++;
+	private void initOccupancy() {
+		occupancy = new short[width * height];
+		for (int i = 0; i < cars.size(); i++) {
+			final int slot = i;
+			Car car = cars.get(i);
+			setOccupied(slot, car.getPositionX(), car.getPositionY(), true);
+			car.setPositionListener((movedCar, oldX, oldY) -> {
+				setOccupied(slot, oldX, oldY, false);
+				setOccupied(slot, movedCar.getPositionX(), movedCar.getPositionY(), true);
+			});
 		}
-		scanner.close();
 	}
 
-
-	private SpaceType mapCharToType(char c, int lineNumber, int columnNumber) {
-		if (SpaceType.spaceTypeForChar(c).isPresent()) {
-			return SpaceType.spaceTypeForChar(c).get();
+	private void setOccupied(int slot, int x, int y, boolean occupied) {
+		if (!isInside(x, y)) {
+			return;
 		}
-		// c represents a car
-		cars.add(new Car(c, new PositionVector(columnNumber, lineNumber)));
-		return SpaceType.TRACK;
-	}
-
-
-	private boolean validateTrack(File trackFile) throws FileNotFoundException {
-		if(validAmountCars(trackFile) && hasFinishLine(trackFile) && isRectangular(trackFile)){
-			return true;
+		int cell = y * width + x;
+		if (occupied) {
+			occupancy[cell] |= (short) (1 << slot);
 		} else {
-			return false;
-		}
-	}
-
-
-
-	private boolean isRectangular(File trackFile) throws FileNotFoundException {
-		int columnNumber = 0;
-		boolean isRectangular = true;
-		for (List<SpaceType> spaceTypeList : getFields()){
-			if(columnNumber == 0){
-				columnNumber = spaceTypeList.size();
-			} else if(columnNumber != spaceTypeList.size()){
-				isRectangular = false;
-			}
-
-		}
-		if(columnNumber == 0){
-			isRectangular = false;
+			occupancy[cell] &= (short) ~(1 << slot);
 		}
-		return isRectangular;
+		markDirty(cell);
 	}
 
-	private boolean hasFinishLine(File trackFile) throws FileNotFoundException {
-		boolean hasFinishLine = false;
-		for (List<SpaceType> spaceTypeList : getFields()){
-			for (SpaceType spaceType: spaceTypeList){
-				if(SpaceType.FINISH_DOWN == spaceType || SpaceType.FINISH_UP == spaceType  ||
-						SpaceType.FINISH_RIGHT == spaceType  || SpaceType.FINISH_LEFT == spaceType ){
-					hasFinishLine = true;
-				}
-			}
-
+	private void markDirty(int cell) {
+		if (renderBuffer == null) {
+			return;
 		}
-		return hasFinishLine;
-	}
-
-
-	private boolean validAmountCars(File trackFile) throws FileNotFoundException {
-		int minCarAmount = 1;
-		if(getCarCount() >= minCarAmount && getCarCount() <= MAX_CARS){
-			return true;
-		} else {
-			return false;
+		if (dirtyCount == dirtyCells.length) {
+			renderBuffer = null;
+			dirtyCount = 0;
+			return;
 		}
+		dirtyCells[dirtyCount++] = cell;
 	}
 
-
 	/**
 	 * Returns the current car index
 	 * 
@@ -212,6 +236,19 @@ public class Track implements TrackSpecification {
 		return carIndex;
 	}
 
+	/**
+	 * Sets the current car index
+	 *
+	 * @param carIndex The zero-based car index
+	 * @throws IndexOutOfBoundsException if there is no car with the given index
+	 */
+	public void setCarIndex(int carIndex) {
+		if (carIndex < 0 || carIndex >= getCarCount()) {
+			throw new IndexOutOfBoundsException("car index " + carIndex + " out of range");
+		}
+		this.carIndex = carIndex;
+	}
+
 	/**
 	 * Increments the current car index
 	 */
@@ -229,7 +266,7 @@ public class Track implements TrackSpecification {
 	 * @return Height of the track grid
 	 */
 	public int getHeight() {
-		return fields.size();
+		return height;
 	}
 
 	/**
@@ -238,7 +275,7 @@ public class Track implements TrackSpecification {
 	 * @return Width of the track grid
 	 */
 	public int getWidth() {
-		return fields.get(0).size();
+		return width;
 	}
 
 	/**
@@ -271,7 +308,46 @@ public class Track implements TrackSpecification {
 	 */
 	@Override
 	public SpaceType getSpaceTypeAtPosition(PositionVector position) {
-		return fields.get(position.getY()).get(position.getX());
+		return getSpaceTypeAt(position.getX(), position.getY());
+	}
+
+	/**
+	 * Return the type of space at the given coordinates. If the location is
+	 * outside the track bounds, it is considered a WALL.
+	 *
+	 * @param x column (x-value) of the racetrack position
+	 * @param y row (y-value) of the racetrack position
+	 * @return The type of track position at the given location
+	 */
+	public SpaceType getSpaceTypeAt(int x, int y) {
+		return board.getSpaceTypeAt(x, y);
+	}
+
+	/**
+	 * Checks if the given coordinates lie within the track grid.
+	 *
+	 * @param x column (x-value) of the racetrack position
+	 * @param y row (y-value) of the racetrack position
+	 * @return true if the position is on the grid, false otherwise
+	 */
+	public boolean isInside(int x, int y) {
+		return board.isInside(x, y);
+	}
+
+	/**
+	 * Checks if a car other than the given one is located at the given
+	 * coordinates. Crashed cars count as well, as they stay on the track.
+	 *
+	 * @param carIndex index of the car to ignore
+	 * @param x        column (x-value) of the racetrack position
+	 * @param y        row (y-value) of the racetrack position
+	 * @return true if another car is at the position, false otherwise
+	 */
+	public boolean isOccupiedByOtherCar(int carIndex, int x, int y) {
+		if (!isInside(x, y)) {
+			return false;
+		}
+		return (occupancy[y * width + x] & ~(1 << carIndex)) != 0;
 	}
 
 	/**
@@ -293,17 +369,18 @@ public class Track implements TrackSpecification {
 	 */
 	@Override
 	public char getCharRepresentationAtPosition(int row, int col) {
-		for (Car car : cars) {
-			if (car.getCurrentPosition().getX() == col && car.getCurrentPosition().getY() == row) {
+		if (isInside(col, row)) {
+			int occupants = occupancy[row * width + col];
+			if (occupants != 0) {
+				Car car = cars.get(Integer.numberOfTrailingZeros(occupants));
 				if(car.isCrashed()){
 					return Config.CRASH_INDICATOR;
 				} else {
 					return car.getId();
 				}
-
 			}
 		}
-		return getSpaceTypeAtPosition(new PositionVector(col, row)).getSpaceChar();
+		return getSpaceTypeAt(col, row).getSpaceChar();
 	}
 
 	/**
@@ -314,13 +391,66 @@ public class Track implements TrackSpecification {
 	 */
 	@Override
 	public String toString() {
-		String output = "";
-		for (int i = 0; i < getHeight(); i++) {
-			for (int j = 0; j < getWidth(); j++) {
-				output += getCharRepresentationAtPosition(i, j);
+		return getRendering().toString();
+	}
+
+	/**
+	 * Returns the text of the track, including the car locations and status,
+	 * without copying it. The view shows the state at the time of the call and
+	 * changes with the next move, so it has to be copied if it is kept.
+	 *
+	 * @return read-only view of the rendered track
+	 */
+	public CharSequence getRendering() {
+		if (renderBuffer == null) {
+			renderBuffer = new char[height * (width + 1)];
+			for (int row = 0; row < height; row++) {
+				for (int col = 0; col < width; col++) {
+					renderBuffer[row * (width + 1) + col] = getCharRepresentationAtPosition(row, col);
+				}
+				renderBuffer[row * (width + 1) + width] = '\n';
+			}
+			dirtyCount = 0;
+			rendering = CharBuffer.wrap(renderBuffer).asReadOnlyBuffer();
+		}
+		for (int i = 0; i < dirtyCount; i++) {
+			int row = dirtyCells[i] / width;
+			int col = dirtyCells[i] % width;
+			renderBuffer[row * (width + 1) + col] = getCharRepresentationAtPosition(row, col);
+		}
+		dirtyCount = 0;
+		return rendering;
+	}
+
+	/**
+	 * Read-only list view of the grid, one list per row.
+	 */
+	private class FieldsView extends AbstractList<List<SpaceType>> {
+
+		@Override
+		public List<SpaceType> get(int row) {
+			if (row < 0 || row >= height) {
+				throw new IndexOutOfBoundsException("Row " + row + " is outside the track");
 			}
-			output += "\n";
+			return new AbstractList<>() {
+				@Override
+				public SpaceType get(int col) {
+					if (col < 0 || col >= width) {
+						throw new IndexOutOfBoundsException("Column " + col + " is outside the track");
+					}
+					return board.getSpaceTypeAt(col, row);
+				}
+
+				@Override
+				public int size() {
+					return width;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return height;
 		}
-		return output;
 	}
 }
@@ -0,0 +1,255 @@
+package ch.zhaw.pm2.racetrack;
+
+import ch.zhaw.pm2.racetrack.given.TrackSpecification;
+import exceptions.InvalidFileFormatException;
+import model.PositionVector;
+import model.SpaceType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Immutable part of a racetrack: the grid of {@link SpaceType}s together with
+ * the ids and start positions of the cars.
+ * <p>
+ * A board does not contain any race state, so one board can be shared by any
+ * number of {@link Track} instances, also across threads. The grid is stored
+ * as a flat byte array holding the {@link SpaceType} ordinals, indexed by
+ * <code>y * width + x</code>.
+ * </p>
+ * <p>
+ * See {@link Track} for the structure of the track files.
+ * </p>
+ */
+public final class TrackBoard {
+
+	private static final SpaceType[] SPACE_TYPES = SpaceType.values();
+
+	private final int width;
+	private final int height;
+	private final byte[] grid;
+	private final char[] carIds;
+	private final PositionVector[] carStartPositions;
+	private volatile String contentHash;
+
+	/**
+	 * Reads a board from the given text or binary track file, see
+	 * {@link TrackFileLoader} and {@link BinaryTrackFormat}.
+	 *
+	 * @param trackFile Reference to a file containing the track data
+	 * @throws IOException                if the track file can not be opened or
+	 *                                    reading fails
+	 * @throws InvalidFileFormatException if the track file contains invalid data
+	 *                                    (no track lines, inconsistent length, no
+	 *                                    cars, too many cars, no finish line)
+	 */
+	public TrackBoard(File trackFile) throws IOException, InvalidFileFormatException {
+		this(TrackFileLoader.load(trackFile));
+	}
+
+	/**
+	 * Creates a board from already parsed data. The arrays are not copied and
+	 * must not be modified afterwards.
+	 *
+	 * @param width             number of columns
+	 * @param height            number of rows
+	 * @param grid              space type ordinals, indexed by y * width + x,
+	 *                          at least width * height entries
+	 * @param carIds            ids of the cars
+	 * @param carStartPositions start positions of the cars
+	 * @throws InvalidFileFormatException if the data does not describe a valid track
+	 */
+	TrackBoard(int width, int height, byte[] grid, char[] carIds, PositionVector[] carStartPositions)
+			throws InvalidFileFormatException {
+		this(width, height, grid, carIds, carStartPositions, hasFinishLine(grid, width * height));
+	}
+
+	/**
+	 * Creates a board from data parsed by a loader which already checked for a
+	 * finish line, so the grid is not scanned again.
+	 *
+	 * @param hasFinishLine true if the grid contains a finish line
+	 * @throws InvalidFileFormatException if the data does not describe a valid track
+	 */
+	TrackBoard(int width, int height, byte[] grid, char[] carIds, PositionVector[] carStartPositions,
+			boolean hasFinishLine) throws InvalidFileFormatException {
+		this.width = width;
+		this.height = height;
+		this.grid = grid;
+		this.carIds = carIds;
+		this.carStartPositions = carStartPositions;
+		validate(hasFinishLine);
+	}
+
+	/**
+	 * Takes over the data of a board created by a loader
+	 */
+	private TrackBoard(TrackBoard loaded) {
+		this.width = loaded.width;
+		this.height = loaded.height;
+		this.grid = loaded.grid;
+		this.carIds = loaded.carIds;
+		this.carStartPositions = loaded.carStartPositions;
+	}
+
+	private void validate(boolean hasFinishLine) throws InvalidFileFormatException {
+		if (width <= 0 || height <= 0) {
+			throw new InvalidFileFormatException("The track file contains no track lines or lines of different length");
+		}
+		if (carIds.length < 1 || carIds.length > TrackSpecification.MAX_CARS) {
+			throw new InvalidFileFormatException("The track file must contain 1 to " + TrackSpecification.MAX_CARS
+					+ " cars, but contains " + carIds.length);
+		}
+		if (!hasFinishLine) {
+			throw new InvalidFileFormatException("The track file contains no finish line");
+		}
+	}
+
+	private static boolean hasFinishLine(byte[] grid, int cellCount) {
+		for (int i = 0; i < Math.min(cellCount, grid.length); i++) {
+			if (isFinishLine(SPACE_TYPES[grid[i]])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes the board to a file in the compact binary track format, which can
+	 * be read again with {@link #TrackBoard(File)} much faster than a text file.
+	 *
+	 * @param file file to write to, an existing file is replaced
+	 * @throws IOException if writing fails
+	 */
+	public void writeBinary(File file) throws IOException {
+		BinaryTrackFormat.write(this, file);
+	}
+
+	/**
+	 * Checks if the given space type is part of a finish line
+	 *
+	 * @param spaceType space type to check
+	 * @return true for all FINISH_* space types
+	 */
+	public static boolean isFinishLine(SpaceType spaceType) {
+		return spaceType == SpaceType.FINISH_DOWN || spaceType == SpaceType.FINISH_UP
+				|| spaceType == SpaceType.FINISH_RIGHT || spaceType == SpaceType.FINISH_LEFT;
+	}
+
+	/**
+	 * @return Width (number of columns) of the grid
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return Height (number of rows) of the grid
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Checks if the given coordinates lie within the grid.
+	 *
+	 * @param x column (x-value) of the position
+	 * @param y row (y-value) of the position
+	 * @return true if the position is on the grid, false otherwise
+	 */
+	public boolean isInside(int x, int y) {
+		return x >= 0 && y >= 0 && x < width && y < height;
+	}
+
+	/**
+	 * Return the type of space at the given coordinates. If the location is
+	 * outside the grid, it is considered a WALL.
+	 *
+	 * @param x column (x-value) of the position
+	 * @param y row (y-value) of the position
+	 * @return The type of space at the given location
+	 */
+	public SpaceType getSpaceTypeAt(int x, int y) {
+		if (!isInside(x, y)) {
+			return SpaceType.WALL;
+		}
+		return SPACE_TYPES[grid[y * width + x]];
+	}
+
+	/**
+	 * Returns the change of the lap counter of a car which passes the given
+	 * position during a move from the start position
+	 *
+	 * @param startX column of the start position of the move
+	 * @param startY row of the start position of the move
+	 * @param x      column (x-value) of the passed position
+	 * @param y      row (y-value) of the passed position
+	 * @return 1 if the position is on the finish line and the car comes from the
+	 *         side the lap is counted on, -1 if it comes from the other side, 0 otherwise
+	 */
+	public int getLapChange(int startX, int startY, int x, int y) {
+		switch (getSpaceTypeAt(x, y)) {
+			case FINISH_UP:
+				return startY > y ? 1 : -1;
+			case FINISH_DOWN:
+				return startY < y ? 1 : -1;
+			case FINISH_LEFT:
+				return startX > x ? 1 : -1;
+			case FINISH_RIGHT:
+				return startX < x ? 1 : -1;
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * Returns a hash of the size and the space types of the grid. Boards which
+	 * differ only in the cars have the same hash, so it can be used as key for
+	 * data derived from the grid.
+	 *
+	 * @return hexadecimal SHA-256 hash of the grid
+	 */
+	public String getContentHash() {
+		String hash = contentHash;
+		if (hash == null) {
+			try {
+				MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				digest.update(ByteBuffer.allocate(2 * Integer.BYTES).putInt(width).putInt(height).array());
+				digest.update(grid, 0, width * height);
+				hash = HexFormat.of().formatHex(digest.digest());
+			} catch (NoSuchAlgorithmException e) {
+				// every Java platform has to support SHA-256
+				throw new IllegalStateException(e);
+			}
+			contentHash = hash;
+		}
+		return hash;
+	}
+
+	/**
+	 * @return Number of cars on the board
+	 */
+	public int getCarCount() {
+		return carIds.length;
+	}
+
+	/**
+	 * @param carIndex The zero-based car index
+	 * @return id of the car
+	 */
+	public char getCarId(int carIndex) {
+		return carIds[carIndex];
+	}
+
+	/**
+	 * @param carIndex The zero-based car index
+	 * @return start position of the car
+	 */
+	public PositionVector getCarStartPosition(int carIndex) {
+		return carStartPositions[carIndex];
+	}
+}
@@ -0,0 +1,223 @@
+package ch.zhaw.pm2.racetrack;
+
+import ch.zhaw.pm2.racetrack.given.TrackSpecification;
+import exceptions.InvalidFileFormatException;
+import model.PositionVector;
+import model.SpaceType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a text track file into a {@link TrackBoard}.
+ * <p>
+ * The file is mapped into memory and parsed in a single pass directly into the
+ * byte grid of the board, validating the track on the way. The file is decoded
+ * as UTF-8, lines may end with <code>\n</code> or <code>\r\n</code>. Empty
+ * lines at the start are skipped, the track ends at the first empty line
+ * following a track line or at the end of the file.
+ * </p>
+ * <p>
+ * Files starting with the magic number of the {@link BinaryTrackFormat} are
+ * read as binary tracks instead.
+ * </p>
+ */
+final class TrackFileLoader {
+	private static final int NO_LINE = -1;
+	private static final byte CAR = -1;
+	/** Space type ordinal of every ASCII character, {@link #CAR} for characters representing a car */
+	private static final byte[] ORDINALS_BY_CHAR = new byte[128];
+	private static final SpaceType[] SPACE_TYPES = SpaceType.values();
+
+	static {
+		Arrays.fill(ORDINALS_BY_CHAR, CAR);
+		for (SpaceType spaceType : SpaceType.values()) {
+			ORDINALS_BY_CHAR[spaceType.getSpaceChar()] = (byte) spaceType.ordinal();
+		}
+	}
+
+	private final ByteBuffer buffer;
+	private int position = 0;
+	private int width = NO_LINE;
+	private int height = 0;
+	private byte[] grid = new byte[16];
+	private boolean finishLine = false;
+	private final StringBuilder carIds = new StringBuilder();
+	private final List<PositionVector> carStartPositions = new ArrayList<>();
+
+	private TrackFileLoader(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Reads and validates the given track file.
+	 *
+	 * @param trackFile text file containing the track
+	 * @return the board of the track
+	 * @throws IOException                if the track file can not be opened or reading fails
+	 * @throws InvalidFileFormatException if the track file contains invalid data
+	 */
+	static TrackBoard load(File trackFile) throws IOException, InvalidFileFormatException {
+		try (RandomAccessFile file = new RandomAccessFile(trackFile, "r"); FileChannel channel = file.getChannel()) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new InvalidFileFormatException("The track file is too large");
+			}
+			return load(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Reads and validates a track from the given buffer, starting at its position.
+	 *
+	 * @param buffer UTF-8 encoded track lines or a binary track
+	 * @return the board of the track
+	 * @throws InvalidFileFormatException if the buffer contains invalid data
+	 */
+	static TrackBoard load(ByteBuffer buffer) throws InvalidFileFormatException {
+		if (BinaryTrackFormat.isBinaryTrack(buffer)) {
+			return BinaryTrackFormat.read(buffer);
+		}
+		TrackFileLoader loader = new TrackFileLoader(buffer);
+		loader.parse();
+		return loader.toBoard();
+	}
+
+	private void parse() throws InvalidFileFormatException {
+		position = buffer.position();
+		skipByteOrderMark();
+		while (position < buffer.limit()) {
+			int lineStart = position;
+			int column = parseLine();
+			if (column == 0) {
+				if (height > 0) {
+					break;
+				}
+				continue;
+			}
+			if (width == NO_LINE) {
+				width = column;
+				grid = Arrays.copyOf(grid, width * estimateRows(lineStart));
+			} else if (column != width) {
+				throw new InvalidFileFormatException("The track file contains no track lines or lines of different length");
+			}
+			height++;
+		}
+		if (height == 0) {
+			throw new InvalidFileFormatException("The track file contains no track lines or lines of different length");
+		}
+		if (carIds.length() == 0) {
+			throw new InvalidFileFormatException("The track file must contain 1 to " + TrackSpecification.MAX_CARS
+					+ " cars, but contains 0");
+		}
+		if (!finishLine) {
+			throw new InvalidFileFormatException("The track file contains no finish line");
+		}
+	}
+
+	/**
+	 * Upper bound of the number of rows, every row takes at least width bytes and a line break
+	 */
+	private int estimateRows(int lineStart) {
+		return (int) Math.min(Integer.MAX_VALUE / width, (buffer.limit() - lineStart) / (width + 1L) + 1);
+	}
+
+	private void skipByteOrderMark() {
+		if (buffer.limit() - position >= 3 && (buffer.get(position) & 0xFF) == 0xEF
+				&& (buffer.get(position + 1) & 0xFF) == 0xBB && (buffer.get(position + 2) & 0xFF) == 0xBF) {
+			position += 3;
+		}
+	}
+
+	/**
+	 * Parses one line into the row <code>height</code> of the grid
+	 *
+	 * @return the number of characters in the line
+	 */
+	private int parseLine() throws InvalidFileFormatException {
+		ByteBuffer buffer = this.buffer;
+		int limit = buffer.limit();
+		int column = 0;
+		while (position < limit) {
+			int b = buffer.get(position++) & 0xFF;
+			if (b == '\n') {
+				break;
+			}
+			if (b == '\r') {
+				if (position < limit && buffer.get(position) == '\n') {
+					position++;
+				}
+				break;
+			}
+			if (width != NO_LINE && column >= width) {
+				throw new InvalidFileFormatException("The track file contains no track lines or lines of different length");
+			}
+			byte ordinal = b < 0x80 ? ORDINALS_BY_CHAR[b] : CAR;
+			if (ordinal == CAR) {
+				ordinal = addCar(b < 0x80 ? (char) b : decodeMultiByte(b), column);
+			} else if (!finishLine && TrackBoard.isFinishLine(SPACE_TYPES[ordinal])) {
+				finishLine = true;
+			}
+			setCell(column, ordinal);
+			column++;
+		}
+		return column;
+	}
+
+	private void setCell(int column, byte ordinal) {
+		// the width is not known before the end of the first line
+		int index = height == 0 ? column : height * width + column;
+		if (index >= grid.length) {
+			grid = Arrays.copyOf(grid, Math.max(index + 1, grid.length * 2));
+		}
+		grid[index] = ordinal;
+	}
+
+	private char decodeMultiByte(int first) throws InvalidFileFormatException {
+		int length;
+		int codePoint;
+		if ((first & 0xE0) == 0xC0) {
+			length = 1;
+			codePoint = first & 0x1F;
+		} else if ((first & 0xF0) == 0xE0) {
+			length = 2;
+			codePoint = first & 0x0F;
+		} else {
+			throw new InvalidFileFormatException("The track file contains an invalid or unsupported character");
+		}
+		for (int i = 0; i < length; i++) {
+			if (position >= buffer.limit() || (buffer.get(position) & 0xC0) != 0x80) {
+				throw new InvalidFileFormatException("The track file contains an invalid or unsupported character");
+			}
+			codePoint = (codePoint << 6) | (buffer.get(position++) & 0x3F);
+		}
+		return (char) codePoint;
+	}
+
+	private byte addCar(char id, int column) throws InvalidFileFormatException {
+		if (carIds.length() == TrackSpecification.MAX_CARS) {
+			throw new InvalidFileFormatException("The track file must contain 1 to " + TrackSpecification.MAX_CARS
+					+ " cars, but contains more");
+		}
+		carIds.append(id);
+		carStartPositions.add(PositionVector.of(column, height));
+		return (byte) SpaceType.TRACK.ordinal();
+	}
+
+	/**
+	 * Creates the board, the grid is trimmed if {@link #estimateRows(int)} reserved more rows than the track has
+	 */
+	private TrackBoard toBoard() throws InvalidFileFormatException {
+		int cellCount = width * height;
+		if (grid.length > cellCount) {
+			grid = Arrays.copyOf(grid, cellCount);
+		}
+		return new TrackBoard(width, height, grid, carIds.toString().toCharArray(),
+				carStartPositions.toArray(new PositionVector[0]), finishLine);
+	}
+}
@@ -0,0 +1,241 @@
+package ch.zhaw.pm2.racetrack;
+
+import model.SpaceType;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the outcome of the wall and finish line checks of a move on a
+ * board, i.e. of walking the Bresenham path of the move with the
+ * {@link PathWalker}. The outcome only depends on the start position and the
+ * velocity of the move: the car either crashes into a wall and stops on the
+ * cell before it, or it lands on the end position. On the way it may cross
+ * the finish line, which changes its lap counter. Other cars are not part of
+ * the outcome, so a move may only be taken from the cache if no other car is
+ * on its path.
+ * <p>
+ * The outcomes are calculated when they are first requested and stored in an
+ * open addressing table of a fixed size, which can be shared by several
+ * threads. The start position and the velocity are packed into a key, which
+ * is stored together with the outcome in one <code>long</code>, so an entry
+ * is always read and written as a whole. If all slots an entry may be stored
+ * in are used, an older entry is evicted. Positions outside of
+ * 0..{@value #MAX_COORDINATE} and velocities outside of
+ * {@value #MIN_VELOCITY}..{@value #MAX_VELOCITY} are not supported.
+ * </p>
+ * <p>
+ * The caches shared by {@link #of(TrackBoard)} are kept for the
+ * {@value #MAX_SHARED_CACHES} most recently used boards, so they take at most
+ * {@value #MAX_SHARED_CACHES} times {@link #DEFAULT_MEMORY_BYTES} together.
+ * </p>
+ */
+public final class TransitionCache {
+	/** Default size of the table of a shared cache in bytes */
+	public static final int DEFAULT_MEMORY_BYTES = 4 << 20;
+	/** Number of boards whose caches are shared at the same time */
+	public static final int MAX_SHARED_CACHES = 8;
+	/** Returned by {@link #getOutcome(int, int, int, int)} if a move can not be cached */
+	public static final int UNSUPPORTED = -1;
+	/** Highest supported column and row of a start position */
+	public static final int MAX_COORDINATE = (1 << 12) - 1;
+	/** Lowest supported value of a velocity in one axis */
+	public static final int MIN_VELOCITY = -(1 << 6);
+	/** Highest supported value of a velocity in one axis */
+	public static final int MAX_VELOCITY = (1 << 6) - 1;
+
+	/** Shared caches by content hash, in the order of their last use */
+	private static final Map<String, TransitionCache> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+	/** Number of slots an entry may be stored in, starting at the slot of its hash */
+	private static final int MAX_PROBES = 8;
+	private static final int OUTCOME_BITS = 23;
+	private static final long OUTCOME_MASK = (1L << OUTCOME_BITS) - 1;
+	private static final long EMPTY = 0;
+	private static final long PRESENT = 1L << 62;
+
+	private final TrackBoard board;
+	private final AtomicLongArray entries;
+	private final int mask;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates an empty cache
+	 *
+	 * @param board       board to check the moves on
+	 * @param memoryBytes maximum size of the table in bytes, rounded down to a power of two
+	 * @throws IllegalArgumentException if the table can not hold at least 8 entries
+	 */
+	public TransitionCache(TrackBoard board, int memoryBytes) {
+		int capacity = Integer.highestOneBit(Math.max(0, memoryBytes / Long.BYTES));
+		if (capacity < MAX_PROBES) {
+			throw new IllegalArgumentException("The memory budget must hold at least " + MAX_PROBES + " entries");
+		}
+		this.board = board;
+		this.entries = new AtomicLongArray(capacity);
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Returns the cache of the given board with the {@link #DEFAULT_MEMORY_BYTES},
+	 * creating it only if no cache of a board with the same content is shared.
+	 * If more than {@value #MAX_SHARED_CACHES} caches are shared, the least
+	 * recently used one is no longer shared, but stays usable by its holders.
+	 *
+	 * @param board board to get the cache for
+	 * @return the shared cache of the board
+	 */
+	public static TransitionCache of(TrackBoard board) {
+		synchronized (CACHE) {
+			TransitionCache cache = CACHE.computeIfAbsent(board.getContentHash(),
+					hash -> new TransitionCache(board, DEFAULT_MEMORY_BYTES));
+			if (CACHE.size() > MAX_SHARED_CACHES) {
+				Iterator<TransitionCache> leastRecentlyUsed = CACHE.values().iterator();
+				leastRecentlyUsed.next();
+				leastRecentlyUsed.remove();
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * Removes all shared caches
+	 */
+	public static void clearCache() {
+		synchronized (CACHE) {
+			CACHE.clear();
+		}
+	}
+
+	/**
+	 * Returns the outcome of a move, which is calculated if it is not cached yet
+	 *
+	 * @param startX    column of the start position
+	 * @param startY    row of the start position
+	 * @param velocityX x-value of the velocity of the move, after the acceleration
+	 * @param velocityY y-value of the velocity of the move, after the acceleration
+	 * @return the outcome, which can be read with {@link #isCrash(int)},
+	 *         {@link #getLapChange(int)}, {@link #getEndOffsetX(int)} and
+	 *         {@link #getEndOffsetY(int)}, or {@link #UNSUPPORTED}
+	 */
+	public int getOutcome(int startX, int startY, int velocityX, int velocityY) {
+		if (startX < 0 || startY < 0 || startX > MAX_COORDINATE || startY > MAX_COORDINATE
+				|| velocityX < MIN_VELOCITY || velocityY < MIN_VELOCITY
+				|| velocityX > MAX_VELOCITY || velocityY > MAX_VELOCITY) {
+			return UNSUPPORTED;
+		}
+		long key = startX | (long) startY << 12 | (long) (velocityX & 0x7F) << 24 | (long) (velocityY & 0x7F) << 31;
+		long tag = PRESENT | key << OUTCOME_BITS;
+		int home = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+		for (int probe = 0; probe < MAX_PROBES; probe++) {
+			long entry = entries.get((home + probe) & mask);
+			if (entry == EMPTY) {
+				break;
+			}
+			if ((entry & ~OUTCOME_MASK) == tag) {
+				hits.increment();
+				return (int) (entry & OUTCOME_MASK);
+			}
+		}
+		misses.increment();
+		int outcome = calculate(startX, startY, velocityX, velocityY);
+		store(home, tag | outcome);
+		return outcome;
+	}
+
+	private void store(int home, long entry) {
+		for (int probe = 0; probe < MAX_PROBES; probe++) {
+			int slot = (home + probe) & mask;
+			if (entries.get(slot) == EMPTY && entries.compareAndSet(slot, EMPTY, entry)) {
+				return;
+			}
+		}
+		// all slots are used, the entries of the slots take turns in being evicted
+		entries.set((home + ((int) (entry >>> OUTCOME_BITS) & (MAX_PROBES - 1))) & mask, entry);
+		evictions.increment();
+	}
+
+	private int calculate(int startX, int startY, int velocityX, int velocityY) {
+		// last position before a wall, lap change and crash flag
+		int[] state = {startX, startY, 0, 0};
+		PathWalker.walk(startX, startY, startX + velocityX, startY + velocityY, (x, y) -> {
+			if (board.getSpaceTypeAt(x, y) == SpaceType.WALL) {
+				state[3] = 1;
+				return false;
+			}
+			state[2] += board.getLapChange(startX, startY, x, y);
+			state[0] = x;
+			state[1] = y;
+			return true;
+		});
+		return state[3] | (state[2] & 0xFF) << 1 | ((state[0] - startX) & 0x7F) << 9 | ((state[1] - startY) & 0x7F) << 16;
+	}
+
+	/**
+	 * @param outcome outcome of a move
+	 * @return true if the car crashes into a wall
+	 */
+	public static boolean isCrash(int outcome) {
+		return (outcome & 1) != 0;
+	}
+
+	/**
+	 * @param outcome outcome of a move
+	 * @return sum of the lap changes of all finish line cells passed before the
+	 *         car crashes or lands, positive if the line was crossed in the
+	 *         correct direction
+	 */
+	public static int getLapChange(int outcome) {
+		return outcome << 23 >> 24;
+	}
+
+	/**
+	 * @param outcome outcome of a move
+	 * @return x-value of the end position relative to the start position, the
+	 *         end position is the cell before the wall if the car crashes
+	 */
+	public static int getEndOffsetX(int outcome) {
+		return outcome << 16 >> 25;
+	}
+
+	/**
+	 * @param outcome outcome of a move
+	 * @return y-value of the end position relative to the start position, the
+	 *         end position is the cell before the wall if the car crashes
+	 */
+	public static int getEndOffsetY(int outcome) {
+		return outcome << 9 >> 25;
+	}
+
+	/**
+	 * @return number of outcomes taken from the cache
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return number of outcomes which had to be calculated
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return number of entries which were replaced by another entry
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return maximum number of entries
+	 */
+	public int getCapacity() {
+		return entries.length();
+	}
+}
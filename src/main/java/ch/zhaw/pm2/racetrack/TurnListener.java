@@ -0,0 +1,22 @@
+package ch.zhaw.pm2.racetrack;
+
+import model.Car;
+import model.Direction;
+
+/**
+ * Listener which gets notified after every car turn of a {@link Game}.<br/>
+ * Used to record races, see {@link ch.zhaw.pm2.racetrack.simulation.RaceRecorder}.
+ */
+@FunctionalInterface
+public interface TurnListener {
+
+	/**
+	 * Called at the end of {@link Game#doCarTurn(Direction)}, after the car
+	 * moved or crashed.
+	 *
+	 * @param carIndex     index of the car which took the turn
+	 * @param acceleration acceleration of the turn
+	 * @param car          the car after the turn
+	 */
+	void turnDone(int carIndex, Direction acceleration, Car car);
+}
@@ -0,0 +1,284 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import ch.zhaw.pm2.racetrack.PathWalker;
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import ch.zhaw.pm2.racetrack.TransitionCache;
+import model.Direction;
+import model.PositionVector;
+
+/**
+ * Finds the fastest sequence of accelerations of one car to the finish line
+ * which does not collide with the trajectories the other cars claimed in a
+ * {@link ReservationTable}.
+ * <p>
+ * Like the {@link VelocityPathFinder} this is an A* over the states of the
+ * car, a position together with a velocity, but the states are expanded in
+ * time: the number of moves is part of a state and every move is checked
+ * against the claims of its round. After the last claimed round the time does
+ * not matter anymore, so later states with the same position and velocity
+ * are merged. On an empty table the search is as large as the one of the
+ * {@link VelocityPathFinder}. The wall and finish line checks are taken from
+ * the shared {@link TransitionCache}, so moves faster than
+ * {@link TransitionCache#MAX_VELOCITY} are not considered. Cars which do not
+ * claim their trajectory, e.g. crashed cars, are passed as obstacles, which
+ * are blocked in every round.
+ * </p>
+ */
+public class CooperativePathFinder {
+	/** Upper bound for the number of states kept in memory */
+	private static final int MAX_STATES = 2_000_000;
+	private static final int ID_BITS = 21;
+	private static final int G_BITS = 16;
+	private static final int MAX_G = (1 << G_BITS) - 1;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final TrackBoard board;
+	private final ReservationTable reservations;
+	private final TransitionCache transitions;
+	private final DistanceField distanceToFinish;
+	private final BitSet obstacles = new BitSet();
+	private final List<PositionVector> obstaclePositions = new ArrayList<>();
+	private final int round;
+	private final int lastRound;
+	private final int lowerCars;
+	private final int higherCars;
+	private final SweepVisitor sweepVisitor = new SweepVisitor();
+	private final List<Direction> moves;
+	private final List<PositionVector> trajectory = new ArrayList<>();
+
+	/** Id + 1 of the state of every packed key, 0 for unknown states */
+	private final LongIntMap stateIds = new LongIntMap();
+	private long[] stateKeys = new long[1024];
+	private int[] costs = new int[1024];
+	private int[] parents = new int[1024];
+	private byte[] parentMoves = new byte[1024];
+	private int stateCount = 0;
+
+	/**
+	 * Searches the fastest move sequence of the car from its current state
+	 *
+	 * @param board        board to search on
+	 * @param reservations claims of the other cars
+	 * @param carIndex     the zero-based index of the car
+	 * @param round        number of moves the car has made so far
+	 * @param position     current position of the car
+	 * @param velocity     current velocity of the car
+	 * @param obstacles    positions which are blocked in every round
+	 */
+	public CooperativePathFinder(TrackBoard board, ReservationTable reservations, int carIndex, int round,
+			PositionVector position, PositionVector velocity, Collection<PositionVector> obstacles) {
+		if (board.getWidth() > 0xFFFF || board.getHeight() > 0xFFFF) {
+			throw new IllegalArgumentException("The track is too large for the cooperative path finder");
+		}
+		this.board = board;
+		this.reservations = reservations;
+		this.transitions = TransitionCache.of(board);
+		this.distanceToFinish = DistanceField.of(board);
+		for (PositionVector obstacle : obstacles) {
+			if (board.isInside(obstacle.getX(), obstacle.getY()) && !obstacle.equals(position)) {
+				this.obstacles.set(obstacle.getY() * board.getWidth() + obstacle.getX());
+				this.obstaclePositions.add(obstacle);
+			}
+		}
+		this.round = round;
+		this.lastRound = reservations.getLastRound();
+		this.lowerCars = (1 << carIndex) - 1;
+		this.higherCars = -1 << (carIndex + 1);
+		this.moves = search(position, velocity);
+	}
+
+	/**
+	 * Returns the fastest sequence of accelerations to win the race without
+	 * hitting another car
+	 *
+	 * @return List<Direction> containing the accelerations for every turn, empty
+	 *         if the finish line can not be reached
+	 */
+	public List<Direction> getMoves() {
+		return moves;
+	}
+
+	/**
+	 * @return position of the car after every round of the move sequence,
+	 *         starting with the current position, empty if there are no moves
+	 */
+	public List<PositionVector> getTrajectory() {
+		return Collections.unmodifiableList(trajectory);
+	}
+
+	/**
+	 * @return number of states the search created
+	 */
+	public int getStateCount() {
+		return stateCount;
+	}
+
+	private List<Direction> search(PositionVector position, PositionVector velocity) {
+		LongHeap open = new LongHeap();
+		int start = addState(position.getX(), position.getY(), velocity.getX(), velocity.getY(), 0, -1,
+				Direction.NONE);
+		int startHeuristic = VelocityPathFinder.heuristic(distanceToFinish, position.getX(), position.getY(),
+				velocity.getX(), velocity.getY());
+		if (start < 0 || startHeuristic < 0) {
+			return Collections.emptyList();
+		}
+		open.push(entry(startHeuristic, 0, start));
+		while (!open.isEmpty()) {
+			long entry = open.pop();
+			int id = (int) (entry & ((1L << ID_BITS) - 1));
+			int cost = MAX_G - (int) ((entry >>> ID_BITS) & MAX_G);
+			if (cost > costs[id]) {
+				continue;
+			}
+			long key = stateKeys[id];
+			int x = (int) (key >>> 48);
+			int y = (int) ((key >>> 32) & 0xFFFF);
+			int vx = (byte) (key >>> 24);
+			int vy = (byte) (key >>> 16);
+			for (Direction direction : DIRECTIONS) {
+				int nvx = vx + direction.vector.getX();
+				int nvy = vy + direction.vector.getY();
+				int outcome = transitions.getOutcome(x, y, nvx, nvy);
+				if (outcome == TransitionCache.UNSUPPORTED || TransitionCache.isCrash(outcome)) {
+					continue;
+				}
+				int lapChange = TransitionCache.getLapChange(outcome);
+				int moveRound = round + cost + 1;
+				if (lapChange < 0 || lapChange > 1 || !isFree(x, y, x + nvx, y + nvy, moveRound, lapChange == 1)) {
+					continue;
+				}
+				if (lapChange == 1) {
+					return reconstruct(id, direction, x + nvx, y + nvy);
+				}
+				if (cost + 1 < MAX_G) {
+					int heuristic = VelocityPathFinder.heuristic(distanceToFinish, x + nvx, y + nvy, nvx, nvy);
+					if (heuristic >= 0) {
+						int next = addState(x + nvx, y + nvy, nvx, nvy, cost + 1, id, direction);
+						if (next >= 0) {
+							open.push(entry(cost + 1 + heuristic, cost + 1, next));
+						}
+					}
+				}
+			}
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Checks that the move does not sweep a cell another car stands on, and
+	 * that no other car sweeps the end position while the car stands there
+	 */
+	private boolean isFree(int startX, int startY, int endX, int endY, int moveRound, boolean wins) {
+		if (moveRound - 1 <= lastRound || hasObstacleBetween(startX, startY, endX, endY)) {
+			sweepVisitor.start(startX, startY, moveRound);
+			if (!PathWalker.walk(startX, startY, endX, endY, sweepVisitor)) {
+				return false;
+			}
+		}
+		if (wins || moveRound > lastRound) {
+			return true;
+		}
+		return (reservations.getSweepingCars(endX, endY, moveRound) & higherCars) == 0
+				&& (reservations.getSweepingCars(endX, endY, moveRound + 1) & lowerCars) == 0;
+	}
+
+	private boolean hasObstacleBetween(int startX, int startY, int endX, int endY) {
+		for (PositionVector obstacle : obstaclePositions) {
+			if (obstacle.getX() >= Math.min(startX, endX) && obstacle.getX() <= Math.max(startX, endX)
+					&& obstacle.getY() >= Math.min(startY, endY) && obstacle.getY() <= Math.max(startY, endY)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int addState(int x, int y, int vx, int vy, int cost, int parent, Direction move) {
+		if (vx < Byte.MIN_VALUE || vx > Byte.MAX_VALUE || vy < Byte.MIN_VALUE || vy > Byte.MAX_VALUE) {
+			return -1;
+		}
+		// after the last claimed round the time does not matter anymore
+		int time = Math.min(cost, Math.max(0, lastRound + 1 - round));
+		long key = ((long) x << 48) | ((long) y << 32) | ((long) (vx & 0xFF) << 24) | ((long) (vy & 0xFF) << 16) | time;
+		int existing = stateIds.get(key) - 1;
+		if (existing >= 0) {
+			if (cost >= costs[existing]) {
+				return -1;
+			}
+			costs[existing] = cost;
+			parents[existing] = parent;
+			parentMoves[existing] = (byte) move.ordinal();
+			return existing;
+		}
+		if (stateCount == MAX_STATES) {
+			return -1;
+		}
+		if (stateCount == stateKeys.length) {
+			int capacity = Math.min(MAX_STATES, stateKeys.length * 2);
+			stateKeys = Arrays.copyOf(stateKeys, capacity);
+			costs = Arrays.copyOf(costs, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+			parentMoves = Arrays.copyOf(parentMoves, capacity);
+		}
+		int id = stateCount++;
+		stateIds.put(key, id + 1);
+		stateKeys[id] = key;
+		costs[id] = cost;
+		parents[id] = parent;
+		parentMoves[id] = (byte) move.ordinal();
+		return id;
+	}
+
+	private List<Direction> reconstruct(int lastState, Direction lastMove, int endX, int endY) {
+		List<Direction> result = new ArrayList<>();
+		result.add(lastMove);
+		trajectory.add(PositionVector.of(endX, endY));
+		for (int id = lastState; id >= 0; id = parents[id]) {
+			trajectory.add(PositionVector.of((int) (stateKeys[id] >>> 48), (int) ((stateKeys[id] >>> 32) & 0xFFFF)));
+			if (parents[id] >= 0) {
+				result.add(DIRECTIONS[parentMoves[id]]);
+			}
+		}
+		Collections.reverse(result);
+		Collections.reverse(trajectory);
+		return Collections.unmodifiableList(result);
+	}
+
+	private static long entry(int estimate, int cost, int id) {
+		return ((long) estimate << (ID_BITS + G_BITS)) | ((long) (MAX_G - cost) << ID_BITS) | id;
+	}
+
+	/**
+	 * Checks the cells of a move, without its start cell, against the obstacles
+	 * and the cells the other cars stand on at the time of the move
+	 */
+	private class SweepVisitor implements PathWalker.CellVisitor {
+		private int startX;
+		private int startY;
+		private int moveRound;
+
+		private void start(int startX, int startY, int moveRound) {
+			this.startX = startX;
+			this.startY = startY;
+			this.moveRound = moveRound;
+		}
+
+		@Override
+		public boolean visit(int x, int y) {
+			if (x == startX && y == startY) {
+				return true;
+			}
+			if (board.isInside(x, y) && obstacles.get(y * board.getWidth() + x)) {
+				return false;
+			}
+			return (reservations.getStandingCars(x, y, moveRound) & lowerCars) == 0
+					&& (reservations.getStandingCars(x, y, moveRound - 1) & higherCars) == 0;
+		}
+	}
+}
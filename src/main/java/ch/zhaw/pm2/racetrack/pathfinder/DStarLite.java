@@ -0,0 +1,372 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import model.Direction;
+import model.PositionVector;
+import model.SpaceType;
+
+/**
+ * Incremental search of the shortest path of single cell steps from a moving
+ * start cell to the finish line, on a board whose cells can be blocked and
+ * freed again, e.g. by crashed cars.
+ * <p>
+ * D* Lite searches backwards from the finish line to the start and keeps the
+ * distance to the finish line of every cell it touched. If cells are blocked
+ * or freed, only the distances which depend on them are repaired by the next
+ * {@link #getShortestPath()}, instead of searching the whole board again. The
+ * keys of the priority queue contain the Chebyshev distance to the start, so
+ * the search stops as soon as the shortest path of the start is known. When
+ * the start moves, the keys are corrected by the key modifier instead of
+ * rebuilding the queue.
+ * </p>
+ * <p>
+ * As in {@link PathFinder}, finish line cells are the goal and can only be
+ * entered from the side the lap is counted on, see
+ * {@link DistanceField#canEnter(TrackBoard, int, int, int, int)}.
+ * </p>
+ */
+public class DStarLite {
+	/** Distance of cells from which the finish line can not be reached */
+	private static final int INFINITE = Integer.MAX_VALUE / 2;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final TrackBoard board;
+	private final int width;
+	private final int[] distances;
+	private final int[] lookaheads;
+	private final BitSet blocked = new BitSet();
+	private final KeyedHeap queue;
+	private int startX;
+	private int startY;
+	private int lastStartX;
+	private int lastStartY;
+	private int keyModifier = 0;
+	private int expandedNodeCount = 0;
+
+	/**
+	 * Prepares the search, the first path is searched by {@link #getShortestPath()}
+	 *
+	 * @param board         board to search on
+	 * @param startPosition start cell
+	 */
+	public DStarLite(TrackBoard board, PositionVector startPosition) {
+		this.board = board;
+		this.width = board.getWidth();
+		int cellCount = width * board.getHeight();
+		distances = new int[cellCount];
+		lookaheads = new int[cellCount];
+		Arrays.fill(distances, INFINITE);
+		Arrays.fill(lookaheads, INFINITE);
+		queue = new KeyedHeap(cellCount);
+		startX = lastStartX = startPosition.getX();
+		startY = lastStartY = startPosition.getY();
+		for (int y = 0; y < board.getHeight(); y++) {
+			for (int x = 0; x < width; x++) {
+				if (TrackBoard.isFinishLine(board.getSpaceTypeAt(x, y))) {
+					lookaheads[y * width + x] = 0;
+					queue.insertOrUpdate(y * width + x, key(x, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Moves the start cell, e.g. to the current position of the car
+	 *
+	 * @param position new start cell
+	 */
+	public void setStart(PositionVector position) {
+		startX = position.getX();
+		startY = position.getY();
+	}
+
+	/**
+	 * Blocks or frees a cell. The path is repaired by the next
+	 * {@link #getShortestPath()}.
+	 *
+	 * @param position cell to change
+	 * @param isBlocked true if the cell can not be entered anymore, false if it is free again
+	 */
+	public void setBlocked(PositionVector position, boolean isBlocked) {
+		int x = position.getX();
+		int y = position.getY();
+		if (!board.isInside(x, y) || blocked.get(y * width + x) == isBlocked) {
+			return;
+		}
+		updateKeyModifier();
+		blocked.set(y * width + x, isBlocked);
+		updateCell(x, y);
+		for (Direction direction : DIRECTIONS) {
+			if (direction != Direction.NONE) {
+				updateCell(x - direction.vector.getX(), y - direction.vector.getY());
+			}
+		}
+	}
+
+	/**
+	 * @param position cell to check
+	 * @return true if the cell is blocked
+	 */
+	public boolean isBlocked(PositionVector position) {
+		return board.isInside(position.getX(), position.getY())
+				&& blocked.get(position.getY() * width + position.getX());
+	}
+
+	/**
+	 * Repairs the distances which changed since the last call and follows them
+	 * from the start cell to the finish line. The direction of the previous step
+	 * is preferred, so the path contains as few turns as possible.
+	 *
+	 * @return List<PositionVector> containing every waypoint of the shortest path including the start and the finish line position,
+	 * an empty list if no finish line can be reached
+	 */
+	public List<PositionVector> getShortestPath() {
+		List<PositionVector> path = new ArrayList<>();
+		if (!board.isInside(startX, startY)) {
+			return path;
+		}
+		computeShortestPath();
+		int x = startX;
+		int y = startY;
+		Direction previous = Direction.NONE;
+		path.add(PositionVector.of(x, y));
+		while (lookaheads[y * width + x] != 0) {
+			Direction next = null;
+			int nextDistance = INFINITE;
+			if (previous != Direction.NONE) {
+				nextDistance = stepDistance(x, y, previous);
+				next = nextDistance < INFINITE ? previous : null;
+			}
+			for (Direction direction : DIRECTIONS) {
+				int distance = stepDistance(x, y, direction);
+				if (direction != Direction.NONE && distance < nextDistance) {
+					next = direction;
+					nextDistance = distance;
+				}
+			}
+			if (next == null || path.size() > distances.length) {
+				return new ArrayList<>();
+			}
+			x += next.vector.getX();
+			y += next.vector.getY();
+			path.add(PositionVector.of(x, y));
+			previous = next;
+		}
+		return path;
+	}
+
+	/**
+	 * @return number of cells taken from the queue by the last {@link #getShortestPath()}
+	 */
+	public int getExpandedNodeCount() {
+		return expandedNodeCount;
+	}
+
+	/**
+	 * The keys in the queue were calculated with the distances to an earlier
+	 * start. Adding the distance the start moved since then to all new keys keeps
+	 * the old keys lower bounds of the new ones.
+	 */
+	private void updateKeyModifier() {
+		keyModifier += chebyshevDistance(lastStartX, lastStartY, startX, startY);
+		lastStartX = startX;
+		lastStartY = startY;
+	}
+
+	private void computeShortestPath() {
+		expandedNodeCount = 0;
+		updateKeyModifier();
+		int start = startY * width + startX;
+		while (!queue.isEmpty() && (queue.peekKey() < key(startX, startY) || lookaheads[start] > distances[start])) {
+			long oldKey = queue.peekKey();
+			int cell = queue.poll();
+			int x = cell % width;
+			int y = cell / width;
+			expandedNodeCount++;
+			long newKey = key(x, y);
+			if (oldKey < newKey) {
+				queue.insertOrUpdate(cell, newKey);
+			} else if (distances[cell] > lookaheads[cell]) {
+				distances[cell] = lookaheads[cell];
+				updatePredecessors(x, y);
+			} else {
+				distances[cell] = INFINITE;
+				updateCell(x, y);
+				updatePredecessors(x, y);
+			}
+		}
+	}
+
+	private void updatePredecessors(int x, int y) {
+		for (Direction direction : DIRECTIONS) {
+			if (direction != Direction.NONE) {
+				updateCell(x - direction.vector.getX(), y - direction.vector.getY());
+			}
+		}
+	}
+
+	/**
+	 * Recalculates the lookahead of the cell from its neighbours and puts it on
+	 * the queue if it differs from the distance
+	 */
+	private void updateCell(int x, int y) {
+		if (!board.isInside(x, y)) {
+			return;
+		}
+		int cell = y * width + x;
+		if (!TrackBoard.isFinishLine(board.getSpaceTypeAt(x, y))) {
+			int lookahead = INFINITE;
+			for (Direction direction : DIRECTIONS) {
+				lookahead = Math.min(lookahead, stepDistance(x, y, direction));
+			}
+			lookaheads[cell] = lookahead;
+		}
+		if (distances[cell] != lookaheads[cell]) {
+			queue.insertOrUpdate(cell, key(x, y));
+		} else {
+			queue.remove(cell);
+		}
+	}
+
+	/**
+	 * @return distance to the finish line over the neighbour in the given
+	 *         direction, {@link #INFINITE} if the neighbour can not be entered
+	 */
+	private int stepDistance(int x, int y, Direction direction) {
+		int toX = x + direction.vector.getX();
+		int toY = y + direction.vector.getY();
+		if (direction == Direction.NONE || !isFree(x, y) || !isFree(toX, toY)
+				|| !DistanceField.canEnter(board, x, y, toX, toY)) {
+			return INFINITE;
+		}
+		int distance = distances[toY * width + toX];
+		return distance == INFINITE ? INFINITE : distance + 1;
+	}
+
+	private boolean isFree(int x, int y) {
+		return board.getSpaceTypeAt(x, y) != SpaceType.WALL && !blocked.get(y * width + x);
+	}
+
+	/**
+	 * Key of the cell in the queue: the estimated length of the path from the
+	 * start over the cell in the high half, the distance to the finish line in
+	 * the low half
+	 */
+	private long key(int x, int y) {
+		int cell = y * width + x;
+		int distance = Math.min(distances[cell], lookaheads[cell]);
+		return ((long) (distance + chebyshevDistance(startX, startY, x, y) + keyModifier) << 32) | distance;
+	}
+
+	private static int chebyshevDistance(int fromX, int fromY, int toX, int toY) {
+		return Math.max(Math.abs(toX - fromX), Math.abs(toY - fromY));
+	}
+
+	/**
+	 * Binary min heap of cell indexes with long keys. The position of every
+	 * cell in the heap is tracked, so the key of a cell can be changed and a
+	 * cell can be removed.
+	 */
+	private static class KeyedHeap {
+		private static final int NOT_IN_HEAP = -1;
+
+		private final long[] keys;
+		private final int[] heap;
+		private final int[] positions;
+		private int size;
+
+		KeyedHeap(int capacity) {
+			this.keys = new long[capacity];
+			this.heap = new int[capacity];
+			this.positions = new int[capacity];
+			Arrays.fill(positions, NOT_IN_HEAP);
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		long peekKey() {
+			return keys[heap[0]];
+		}
+
+		void insertOrUpdate(int cell, long key) {
+			if (positions[cell] == NOT_IN_HEAP) {
+				keys[cell] = key;
+				heap[size] = cell;
+				positions[cell] = size;
+				siftUp(size++);
+			} else if (key < keys[cell]) {
+				keys[cell] = key;
+				siftUp(positions[cell]);
+			} else {
+				keys[cell] = key;
+				siftDown(positions[cell]);
+			}
+		}
+
+		int poll() {
+			int cell = heap[0];
+			remove(cell);
+			return cell;
+		}
+
+		void remove(int cell) {
+			int index = positions[cell];
+			if (index == NOT_IN_HEAP) {
+				return;
+			}
+			positions[cell] = NOT_IN_HEAP;
+			size--;
+			if (index < size) {
+				int moved = heap[size];
+				heap[index] = moved;
+				positions[moved] = index;
+				siftUp(index);
+				siftDown(positions[moved]);
+			}
+		}
+
+		private void siftUp(int index) {
+			int cell = heap[index];
+			while (index > 0) {
+				int parentIndex = (index - 1) >>> 1;
+				int parent = heap[parentIndex];
+				if (keys[parent] <= keys[cell]) {
+					break;
+				}
+				heap[index] = parent;
+				positions[parent] = index;
+				index = parentIndex;
+			}
+			heap[index] = cell;
+			positions[cell] = index;
+		}
+
+		private void siftDown(int index) {
+			int cell = heap[index];
+			while (true) {
+				int child = 2 * index + 1;
+				if (child >= size) {
+					break;
+				}
+				if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+					child++;
+				}
+				if (keys[cell] <= keys[heap[child]]) {
+					break;
+				}
+				heap[index] = heap[child];
+				positions[heap[index]] = index;
+				index = child;
+			}
+			heap[index] = cell;
+			positions[cell] = index;
+		}
+	}
+}
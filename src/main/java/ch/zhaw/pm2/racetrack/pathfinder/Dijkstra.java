@@ -1,41 +1,212 @@
 package ch.zhaw.pm2.racetrack.pathfinder;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.Set;
-import java.util.stream.Stream;
-
-public class Dijkstra<T> {
-
-	public void calculateShortestPaths(Node<T> source) {
-		source.setDistance(0);
-		Set<Node<T>> settledNodes = new HashSet<>();
-		Queue<Node<T>> unsettledNodes = new PriorityQueue<>(Collections.singleton(source));
-		while (!unsettledNodes.isEmpty()) {
-			Node<T> currentNode = unsettledNodes.poll();
+import java.util.Arrays;
+
+/**
+ * Calculates the shortest paths from a single source on a graph with int node
+ * indexes and non-negative edge weights.
+ * <p>
+ * The adjacency is given in compressed sparse row form: the edges of node
+ * <code>n</code> are stored at the indexes <code>adjacencyStart[n]</code> to
+ * <code>adjacencyStart[n + 1] - 1</code> of the target and weight arrays.
+ * Only the distance and the parent of every node are stored, paths are
+ * reconstructed on demand.
+ * </p>
+ */
+public class Dijkstra {
+	/** Distance of a node which can not be reached from the source */
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+	/** Parent of the source and of nodes which can not be reached */
+	public static final int NO_PARENT = -1;
+
+	private final int nodeCount;
+	private final int[] adjacencyStart;
+	private final int[] targets;
+	private final int[] weights;
+	private final int[] distances;
+	private final int[] parents;
+	private final IndexedHeap unsettledNodes;
+
+	/**
+	 * @param adjacencyStart index of the first edge of every node, followed by the total number of edges
+	 * @param targets target node of every edge
+	 * @param weights non-negative weight of every edge
+	 * @throws IllegalArgumentException if the arrays do not describe a valid graph
+	 */
+	public Dijkstra(int[] adjacencyStart, int[] targets, int[] weights) {
+		if (adjacencyStart.length == 0 || targets.length != weights.length
+				|| adjacencyStart[adjacencyStart.length - 1] != targets.length) {
+			throw new IllegalArgumentException("invalid adjacency arrays");
+		}
+		for (int weight : weights) {
+			if (weight < 0) {
+				throw new IllegalArgumentException("negative edge weight");
+			}
+		}
+		this.nodeCount = adjacencyStart.length - 1;
+		this.adjacencyStart = adjacencyStart;
+		this.targets = targets;
+		this.weights = weights;
+		this.distances = new int[nodeCount];
+		this.parents = new int[nodeCount];
+		this.unsettledNodes = new IndexedHeap(distances);
+	}
 
-			for (Entry<Node, Integer> entry : currentNode.getAdjacentNodes().entrySet()) {
-				if (!settledNodes.contains(entry.getKey())) {
-					evaluateShortestPath(entry.getKey(), entry.getValue(), currentNode);
-					unsettledNodes.add(entry.getKey());
+	/**
+	 * Calculates the distance and the parent of every node, starting from the provided source
+	 * @param source index of the source node
+	 */
+	public void calculateShortestPaths(int source) {
+		Arrays.fill(distances, UNREACHABLE);
+		Arrays.fill(parents, NO_PARENT);
+		unsettledNodes.clear();
+		distances[source] = 0;
+		unsettledNodes.insert(source);
+		while (!unsettledNodes.isEmpty()) {
+			int currentNode = unsettledNodes.poll();
+			for (int edge = adjacencyStart[currentNode]; edge < adjacencyStart[currentNode + 1]; edge++) {
+				int adjacentNode = targets[edge];
+				int newDistance = distances[currentNode] + weights[edge];
+				if (newDistance < distances[adjacentNode]) {
+					distances[adjacentNode] = newDistance;
+					parents[adjacentNode] = currentNode;
+					unsettledNodes.insertOrDecrease(adjacentNode);
 				}
 			}
-			settledNodes.add(currentNode);
 		}
 	}
 
-	private void evaluateShortestPath(Node<T> adjacentNode, Integer distance, Node<T> sourceNode) {
-		Integer newDistance = sourceNode.getDistance() + distance;
-		if (newDistance < adjacentNode.getDistance()) {
-			adjacentNode.setDistance(newDistance);
-			List<Node<T>> newShortest = sourceNode.getShortestPath();
-			newShortest.add(sourceNode);
-			adjacentNode.setShortestPath(newShortest);
+	/**
+	 * @return number of nodes in the graph
+	 */
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * @return distance from the source to the node, {@link #UNREACHABLE} if there is no path
+	 */
+	public int getDistance(int node) {
+		return distances[node];
+	}
+
+	/**
+	 * @return previous node on the shortest path to the node, {@link #NO_PARENT} for the source and unreachable nodes
+	 */
+	public int getParent(int node) {
+		return parents[node];
+	}
+
+	/**
+	 * Reconstructs the shortest path from the source to the target by following the parents
+	 * @return node indexes from the source to the target, both included, an empty array if the target can not be reached
+	 */
+	public int[] getPath(int target) {
+		if (distances[target] == UNREACHABLE) {
+			return new int[0];
+		}
+		int length = 1;
+		for (int node = target; parents[node] != NO_PARENT; node = parents[node]) {
+			length++;
+		}
+		int[] path = new int[length];
+		for (int node = target, i = length - 1; i >= 0; node = parents[node], i--) {
+			path[i] = node;
+		}
+		return path;
+	}
+
+	/**
+	 * Binary min heap of node indexes ordered by their distance. The position of
+	 * every node in the heap is tracked, so the key of a node can be decreased.
+	 */
+	private static class IndexedHeap {
+		private static final int NOT_IN_HEAP = -1;
+
+		private final int[] keys;
+		private final int[] heap;
+		private final int[] positions;
+		private int size;
+
+		IndexedHeap(int[] keys) {
+			this.keys = keys;
+			this.heap = new int[keys.length];
+			this.positions = new int[keys.length];
+			Arrays.fill(positions, NOT_IN_HEAP);
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		void clear() {
+			for (int i = 0; i < size; i++) {
+				positions[heap[i]] = NOT_IN_HEAP;
+			}
+			size = 0;
+		}
+
+		void insert(int node) {
+			heap[size] = node;
+			positions[node] = size;
+			siftUp(size++);
+		}
+
+		void insertOrDecrease(int node) {
+			if (positions[node] == NOT_IN_HEAP) {
+				insert(node);
+			} else {
+				siftUp(positions[node]);
+			}
+		}
+
+		int poll() {
+			int node = heap[0];
+			positions[node] = NOT_IN_HEAP;
+			size--;
+			if (size > 0) {
+				heap[0] = heap[size];
+				positions[heap[0]] = 0;
+				siftDown(0);
+			}
+			return node;
+		}
+
+		private void siftUp(int index) {
+			int node = heap[index];
+			while (index > 0) {
+				int parentIndex = (index - 1) >>> 1;
+				int parent = heap[parentIndex];
+				if (keys[parent] <= keys[node]) {
+					break;
+				}
+				heap[index] = parent;
+				positions[parent] = index;
+				index = parentIndex;
+			}
+			heap[index] = node;
+			positions[node] = index;
+		}
+
+		private void siftDown(int index) {
+			int node = heap[index];
+			while (true) {
+				int child = 2 * index + 1;
+				if (child >= size) {
+					break;
+				}
+				if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+					child++;
+				}
+				if (keys[node] <= keys[heap[child]]) {
+					break;
+				}
+				heap[index] = heap[child];
+				positions[heap[index]] = index;
+				index = child;
+			}
+			heap[index] = node;
+			positions[node] = index;
 		}
 	}
 }
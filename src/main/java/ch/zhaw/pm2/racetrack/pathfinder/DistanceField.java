@@ -0,0 +1,246 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import model.Direction;
+import model.SpaceType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Number of single cell steps from every cell of a board to the finish line.
+ * <p>
+ * The field is calculated with one breadth first search starting at all finish
+ * line cells and running against the direction of travel. A finish line cell
+ * can only be entered from the side the lap is counted on, see
+ * {@link #canEnter(TrackBoard, int, int, int, int)}, so cells directly behind
+ * the finish line get the distance around the whole track.
+ * </p>
+ * <p>
+ * Fields are immutable and cached by the content hash of the board, so all
+ * cars and searches on the same track share one field. The memory cache keeps
+ * the fields of the {@value #MAX_CACHED_FIELDS} most recently used boards. If
+ * a cache directory is set, the fields are also stored there and read again by
+ * later runs or after they were dropped from memory. The
+ * directory can be set with {@link #setCacheDirectory(File)} or with the
+ * system property <code>racetrack.distanceFieldCache</code>.
+ * </p>
+ */
+public final class DistanceField {
+	/** Distance of walls and of cells from which the finish line can not be reached */
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+	/** System property containing the directory to store the fields in */
+	public static final String CACHE_DIRECTORY_PROPERTY = "racetrack.distanceFieldCache";
+	/** Number of boards whose fields are kept in memory at the same time */
+	public static final int MAX_CACHED_FIELDS = 8;
+
+	private static final int FILE_MAGIC = 0x52544446;
+	private static final String FILE_SUFFIX = ".dist";
+	private static final Direction[] DIRECTIONS = Direction.values();
+	/** Fields by content hash, in the order of their last use */
+	private static final Map<String, DistanceField> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+	private static volatile File cacheDirectory = initialCacheDirectory();
+
+	private final int width;
+	private final int height;
+	private final int[] distances;
+
+	private DistanceField(int width, int height, int[] distances) {
+		this.width = width;
+		this.height = height;
+		this.distances = distances;
+	}
+
+	/**
+	 * Returns the field of the given board, calculating it only if no field of a
+	 * board with the same content is cached. If more than
+	 * {@value #MAX_CACHED_FIELDS} fields are cached, the least recently used one
+	 * is dropped from memory.
+	 *
+	 * @param board board to get the field for
+	 * @return the shared field of the board
+	 */
+	public static DistanceField of(TrackBoard board) {
+		synchronized (CACHE) {
+			DistanceField field = CACHE.computeIfAbsent(board.getContentHash(), hash -> load(board, hash));
+			if (CACHE.size() > MAX_CACHED_FIELDS) {
+				Iterator<DistanceField> leastRecentlyUsed = CACHE.values().iterator();
+				leastRecentlyUsed.next();
+				leastRecentlyUsed.remove();
+			}
+			return field;
+		}
+	}
+
+	/**
+	 * Sets the directory to store the fields in, null to keep them in memory only
+	 *
+	 * @param directory existing directory or null
+	 */
+	public static void setCacheDirectory(File directory) {
+		cacheDirectory = directory;
+	}
+
+	/**
+	 * Removes all fields from the memory cache
+	 */
+	public static void clearCache() {
+		synchronized (CACHE) {
+			CACHE.clear();
+		}
+	}
+
+	/**
+	 * Checks if a car may move a single step from the first to the second cell
+	 * without crossing a finish line in the wrong direction. Finish line cells
+	 * can only be entered from the side the lap is counted on, all other cells
+	 * which are no walls can be entered from every side.
+	 *
+	 * @return true if the target cell can be entered from the source cell
+	 */
+	public static boolean canEnter(TrackBoard board, int fromX, int fromY, int toX, int toY) {
+		switch (board.getSpaceTypeAt(toX, toY)) {
+			case WALL:
+				return false;
+			case FINISH_UP:
+				return fromY > toY;
+			case FINISH_DOWN:
+				return fromY < toY;
+			case FINISH_LEFT:
+				return fromX > toX;
+			case FINISH_RIGHT:
+				return fromX < toX;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * @param x column (x-value) of the position
+	 * @param y row (y-value) of the position
+	 * @return number of steps to the finish line, 0 on the finish line,
+	 *         {@link #UNREACHABLE} for walls, unreachable cells and positions outside the grid
+	 */
+	public int getDistance(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			return UNREACHABLE;
+		}
+		return distances[y * width + x];
+	}
+
+	/**
+	 * @return Width (number of columns) of the field
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return Height (number of rows) of the field
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	private static File initialCacheDirectory() {
+		String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+		return directory == null ? null : new File(directory);
+	}
+
+	private static DistanceField load(TrackBoard board, String hash) {
+		File directory = cacheDirectory;
+		if (directory == null || !directory.isDirectory()) {
+			return calculate(board);
+		}
+		File file = new File(directory, hash + FILE_SUFFIX);
+		DistanceField field = file.isFile() ? read(file, board) : null;
+		if (field == null) {
+			field = calculate(board);
+			write(field, file);
+		}
+		return field;
+	}
+
+	static DistanceField calculate(TrackBoard board) {
+		int width = board.getWidth();
+		int height = board.getHeight();
+		int[] distances = new int[width * height];
+		Arrays.fill(distances, UNREACHABLE);
+		int[] queue = new int[width * height];
+		int head = 0;
+		int tail = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				if (TrackBoard.isFinishLine(board.getSpaceTypeAt(x, y))) {
+					distances[y * width + x] = 0;
+					queue[tail++] = y * width + x;
+				}
+			}
+		}
+		while (head < tail) {
+			int cell = queue[head++];
+			int x = cell % width;
+			int y = cell / width;
+			for (Direction direction : DIRECTIONS) {
+				// the car moves from the neighbour to this cell
+				int fromX = x - direction.vector.getX();
+				int fromY = y - direction.vector.getY();
+				if (board.isInside(fromX, fromY) && distances[fromY * width + fromX] == UNREACHABLE
+						&& board.getSpaceTypeAt(fromX, fromY) != SpaceType.WALL
+						&& canEnter(board, fromX, fromY, x, y)) {
+					distances[fromY * width + fromX] = distances[cell] + 1;
+					queue[tail++] = fromY * width + fromX;
+				}
+			}
+		}
+		return new DistanceField(width, height, distances);
+	}
+
+	private static DistanceField read(File file, TrackBoard board) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != FILE_MAGIC || in.readInt() != board.getWidth() || in.readInt() != board.getHeight()) {
+				return null;
+			}
+			int[] distances = new int[board.getWidth() * board.getHeight()];
+			for (int i = 0; i < distances.length; i++) {
+				distances[i] = in.readInt();
+			}
+			return new DistanceField(board.getWidth(), board.getHeight(), distances);
+		} catch (IOException e) {
+			// a damaged cache file is calculated again
+			return null;
+		}
+	}
+
+	private static void write(DistanceField field, File file) {
+		File temporary = null;
+		try {
+			temporary = File.createTempFile("distance-field", FILE_SUFFIX, file.getParentFile());
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary.toPath())))) {
+				out.writeInt(FILE_MAGIC);
+				out.writeInt(field.width);
+				out.writeInt(field.height);
+				for (int distance : field.distances) {
+					out.writeInt(distance);
+				}
+			}
+			Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// the disk cache is optional, the field stays in memory
+			if (temporary != null) {
+				temporary.delete();
+			}
+		}
+	}
+}
@@ -0,0 +1,317 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import java.util.Arrays;
+
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import model.SpaceType;
+
+/**
+ * Searches the shortest path of single cell steps from a start cell to the
+ * finish line directly on the grid of a board, without building a graph.
+ * <p>
+ * The grid is a uniform cost graph in which every cell is connected to its 8
+ * neighbours, so most of its shortest paths are symmetric. Jump point search
+ * scans straight and diagonal lines without storing the cells on them and only
+ * adds the cells where the path may have to turn to the open list: cells at
+ * which a wall forces a turn, and cells next to the finish line. Thus far
+ * fewer cells are expanded than by {@link Dijkstra}, especially on wide open
+ * tracks.
+ * </p>
+ * <p>
+ * Finish line cells are the goal and are only entered from the side the lap
+ * is counted on, see
+ * {@link DistanceField#canEnter(TrackBoard, int, int, int, int)}. In all other
+ * directions they block like walls. The search is an A* with the Chebyshev
+ * distance to the bounding box of the finish line as heuristic.
+ * </p>
+ */
+public class JumpPointSearch {
+	/** Returned by the jumps if no jump point was found */
+	private static final int NONE = -1;
+	private static final int NO_PARENT = -1;
+	private static final int[][] ALL_DIRECTIONS = {
+			{-1, -1}, {0, -1}, {1, -1}, {-1, 0}, {1, 0}, {-1, 1}, {0, 1}, {1, 1}};
+
+	private final TrackBoard board;
+	private final int width;
+	private final int[] finishBounds;
+
+	/** Id + 1 of the node of every cell, 0 for cells without a node */
+	private final int[] nodeIds;
+	private int[] cells = new int[1024];
+	private int[] costs = new int[1024];
+	private int[] parents = new int[1024];
+	private int nodeCount = 0;
+	private int expandedNodeCount = 0;
+	private final int[] successorX = new int[ALL_DIRECTIONS.length];
+	private final int[] successorY = new int[ALL_DIRECTIONS.length];
+
+	/**
+	 * @param board board to search on
+	 */
+	public JumpPointSearch(TrackBoard board) {
+		this.board = board;
+		this.width = board.getWidth();
+		this.finishBounds = findFinishBounds(board);
+		this.nodeIds = new int[width * board.getHeight()];
+	}
+
+	/**
+	 * Searches the shortest path from the start cell to a finish line cell
+	 *
+	 * @param startX column (x-value) of the start cell
+	 * @param startY row (y-value) of the start cell
+	 * @return index (y * width + x) of every cell of the path including the start
+	 *         and the finish line cell, an empty array if no finish line can be reached
+	 */
+	public int[] findPath(int startX, int startY) {
+		// only the cells of the nodes of the last search have to be reset
+		for (int id = 0; id < nodeCount; id++) {
+			nodeIds[cells[id]] = 0;
+		}
+		nodeCount = 0;
+		expandedNodeCount = 0;
+		if (!board.isInside(startX, startY) || finishBounds == null) {
+			return new int[0];
+		}
+		if (TrackBoard.isFinishLine(board.getSpaceTypeAt(startX, startY))) {
+			return new int[]{startY * width + startX};
+		}
+		LongHeap open = new LongHeap();
+		int start = addNode(startY * width + startX, 0, NO_PARENT);
+		open.push(entry(heuristic(startX, startY), start));
+		while (!open.isEmpty()) {
+			long entry = open.pop();
+			int id = (int) entry;
+			int x = cells[id] % width;
+			int y = cells[id] / width;
+			if ((int) (entry >>> 32) > costs[id] + heuristic(x, y)) {
+				continue;
+			}
+			expandedNodeCount++;
+			int finish = enterableFinish(x, y);
+			if (finish != NONE) {
+				return reconstructPath(id, finish);
+			}
+			int successorCount = prunedDirections(id, x, y);
+			for (int i = 0; i < successorCount; i++) {
+				int jumpPoint = jump(x, y, successorX[i], successorY[i]);
+				if (jumpPoint != NONE) {
+					int jumpX = jumpPoint % width;
+					int jumpY = jumpPoint / width;
+					int cost = costs[id] + Math.max(Math.abs(jumpX - x), Math.abs(jumpY - y));
+					int next = addNode(jumpPoint, cost, id);
+					if (next != NONE) {
+						open.push(entry(cost + heuristic(jumpX, jumpY), next));
+					}
+				}
+			}
+		}
+		return new int[0];
+	}
+
+	/**
+	 * @return number of cells taken from the open list by the last search
+	 */
+	public int getExpandedNodeCount() {
+		return expandedNodeCount;
+	}
+
+	/**
+	 * Writes the directions to continue the search in to the successor arrays.
+	 * Directions in which the path of the parent continues at least as short
+	 * without this cell are pruned.
+	 *
+	 * @return number of directions
+	 */
+	private int prunedDirections(int id, int x, int y) {
+		int count = 0;
+		if (parents[id] == NO_PARENT) {
+			for (int[] direction : ALL_DIRECTIONS) {
+				count = addDirection(count, direction[0], direction[1]);
+			}
+			return count;
+		}
+		int dx = Integer.signum(x - cells[parents[id]] % width);
+		int dy = Integer.signum(y - cells[parents[id]] / width);
+		if (dx != 0 && dy != 0) {
+			count = addDirection(count, dx, 0);
+			count = addDirection(count, 0, dy);
+			count = addDirection(count, dx, dy);
+			if (!isFree(x - dx, y)) {
+				count = addDirection(count, -dx, dy);
+			}
+			if (!isFree(x, y - dy)) {
+				count = addDirection(count, dx, -dy);
+			}
+		} else if (dx != 0) {
+			count = addDirection(count, dx, 0);
+			if (!isFree(x, y + 1)) {
+				count = addDirection(count, dx, 1);
+			}
+			if (!isFree(x, y - 1)) {
+				count = addDirection(count, dx, -1);
+			}
+		} else {
+			count = addDirection(count, 0, dy);
+			if (!isFree(x + 1, y)) {
+				count = addDirection(count, 1, dy);
+			}
+			if (!isFree(x - 1, y)) {
+				count = addDirection(count, -1, dy);
+			}
+		}
+		return count;
+	}
+
+	private int addDirection(int count, int dx, int dy) {
+		successorX[count] = dx;
+		successorY[count] = dy;
+		return count + 1;
+	}
+
+	/**
+	 * Follows the direction from the cell until a cell is found on which the
+	 * path may turn
+	 *
+	 * @return the cell index of the jump point or {@link #NONE}
+	 */
+	private int jump(int x, int y, int dx, int dy) {
+		while (true) {
+			x += dx;
+			y += dy;
+			if (!isFree(x, y)) {
+				return NONE;
+			}
+			if (enterableFinish(x, y) != NONE) {
+				return y * width + x;
+			}
+			if (dx != 0 && dy != 0) {
+				if (!isFree(x - dx, y) && isFree(x - dx, y + dy) || !isFree(x, y - dy) && isFree(x + dx, y - dy)
+						|| jump(x, y, dx, 0) != NONE || jump(x, y, 0, dy) != NONE) {
+					return y * width + x;
+				}
+			} else if (dx != 0) {
+				if (!isFree(x, y + 1) && isFree(x + dx, y + 1) || !isFree(x, y - 1) && isFree(x + dx, y - 1)) {
+					return y * width + x;
+				}
+			} else if (!isFree(x + 1, y) && isFree(x + 1, y + dy) || !isFree(x - 1, y) && isFree(x - 1, y + dy)) {
+				return y * width + x;
+			}
+		}
+	}
+
+	/**
+	 * Cells the path can pass through. Finish line cells are not free, they
+	 * end the path.
+	 */
+	private boolean isFree(int x, int y) {
+		return board.getSpaceTypeAt(x, y) == SpaceType.TRACK;
+	}
+
+	/**
+	 * @return index of a neighbouring finish line cell which can be entered
+	 *         from the cell, {@link #NONE} if there is none
+	 */
+	private int enterableFinish(int x, int y) {
+		for (int[] direction : ALL_DIRECTIONS) {
+			int finishX = x + direction[0];
+			int finishY = y + direction[1];
+			if (TrackBoard.isFinishLine(board.getSpaceTypeAt(finishX, finishY))
+					&& DistanceField.canEnter(board, x, y, finishX, finishY)) {
+				return finishY * width + finishX;
+			}
+		}
+		return NONE;
+	}
+
+	/**
+	 * Chebyshev distance to the bounding box of the finish line. The finish
+	 * line cell is entered from a neighbouring cell, so one step less is needed
+	 * to find it.
+	 */
+	private int heuristic(int x, int y) {
+		int distanceX = Math.max(0, Math.max(finishBounds[0] - x, x - finishBounds[2]));
+		int distanceY = Math.max(0, Math.max(finishBounds[1] - y, y - finishBounds[3]));
+		return Math.max(0, Math.max(distanceX, distanceY) - 1);
+	}
+
+	/**
+	 * @return minimal x, minimal y, maximal x and maximal y of all finish line
+	 *         cells, null if the board has no finish line
+	 */
+	private static int[] findFinishBounds(TrackBoard board) {
+		int[] bounds = null;
+		for (int y = 0; y < board.getHeight(); y++) {
+			for (int x = 0; x < board.getWidth(); x++) {
+				if (TrackBoard.isFinishLine(board.getSpaceTypeAt(x, y))) {
+					if (bounds == null) {
+						bounds = new int[]{x, y, x, y};
+					}
+					bounds[0] = Math.min(bounds[0], x);
+					bounds[2] = Math.max(bounds[2], x);
+					bounds[3] = y;
+				}
+			}
+		}
+		return bounds;
+	}
+
+	/**
+	 * Adds a node or lowers the cost of a known node
+	 *
+	 * @return id of the node, {@link #NONE} if the node is known with a lower or equal cost
+	 */
+	private int addNode(int cell, int cost, int parent) {
+		int existing = nodeIds[cell] - 1;
+		if (existing >= 0) {
+			if (cost >= costs[existing]) {
+				return NONE;
+			}
+			costs[existing] = cost;
+			parents[existing] = parent;
+			return existing;
+		}
+		if (nodeCount == cells.length) {
+			cells = Arrays.copyOf(cells, nodeCount * 2);
+			costs = Arrays.copyOf(costs, nodeCount * 2);
+			parents = Arrays.copyOf(parents, nodeCount * 2);
+		}
+		int id = nodeCount++;
+		nodeIds[cell] = id + 1;
+		cells[id] = cell;
+		costs[id] = cost;
+		parents[id] = parent;
+		return id;
+	}
+
+	/**
+	 * Expands the straight and diagonal lines between the jump points to single
+	 * cell steps
+	 */
+	private int[] reconstructPath(int lastId, int finish) {
+		int[] path = new int[costs[lastId] + 2];
+		path[path.length - 1] = finish;
+		int index = path.length - 2;
+		for (int id = lastId; id != NO_PARENT; id = parents[id]) {
+			int x = cells[id] % width;
+			int y = cells[id] / width;
+			int parentCell = parents[id] == NO_PARENT ? cells[id] : cells[parents[id]];
+			int dx = Integer.signum(parentCell % width - x);
+			int dy = Integer.signum(parentCell / width - y);
+			path[index--] = cells[id];
+			while (y * width + x != parentCell) {
+				x += dx;
+				y += dy;
+				if (y * width + x != parentCell) {
+					path[index--] = y * width + x;
+				}
+			}
+		}
+		return path;
+	}
+
+	private static long entry(int estimate, int id) {
+		return ((long) estimate << 32) | id;
+	}
+}
@@ -0,0 +1,52 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import java.util.Arrays;
+
+/**
+ * Binary min heap of primitive longs, used as open list of the A* searches.
+ * The searches pack the estimate into the high bits, so the smallest estimate
+ * is popped first.
+ */
+class LongHeap {
+	private long[] values = new long[1024];
+	private int size = 0;
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void push(long value) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, size * 2);
+		}
+		int index = size++;
+		while (index > 0) {
+			int parent = (index - 1) / 2;
+			if (values[parent] <= value) {
+				break;
+			}
+			values[index] = values[parent];
+			index = parent;
+		}
+		values[index] = value;
+	}
+
+	long pop() {
+		long result = values[0];
+		long last = values[--size];
+		int index = 0;
+		while (2 * index + 1 < size) {
+			int child = 2 * index + 1;
+			if (child + 1 < size && values[child + 1] < values[child]) {
+				child++;
+			}
+			if (values[child] >= last) {
+				break;
+			}
+			values[index] = values[child];
+			index = child;
+		}
+		values[index] = last;
+		return result;
+	}
+}
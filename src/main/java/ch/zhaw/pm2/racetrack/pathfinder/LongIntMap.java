@@ -0,0 +1,97 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from non-negative primitive longs to ints with
+ * linear probing, used for the claims of the {@link ReservationTable} and the
+ * state ids of the searches. Missing keys have the value 0, storing 0 removes
+ * a key.
+ */
+class LongIntMap {
+	private static final long EMPTY = -1;
+
+	private long[] keys = new long[1024];
+	private int[] values = new int[1024];
+	private int mask = keys.length - 1;
+	private int size = 0;
+
+	LongIntMap() {
+		Arrays.fill(keys, EMPTY);
+	}
+
+	int get(long key) {
+		for (int slot = slot(key); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				return values[slot];
+			}
+		}
+		return 0;
+	}
+
+	void put(long key, int value) {
+		int slot = slot(key);
+		while (keys[slot] != EMPTY && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		if (keys[slot] == key) {
+			if (value == 0) {
+				remove(slot);
+			} else {
+				values[slot] = value;
+			}
+		} else if (value != 0) {
+			keys[slot] = key;
+			values[slot] = value;
+			if (++size * 2 > keys.length) {
+				grow();
+			}
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Empties the slot and moves the following entries of the probe sequence
+	 * back, so no entry gets unreachable
+	 */
+	private void remove(int slot) {
+		size--;
+		int empty = slot;
+		for (int next = (slot + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+			int home = slot(keys[next]);
+			// the entry may move back if its home slot is not between the empty slot and its slot
+			if (((next - home) & mask) >= ((next - empty) & mask)) {
+				keys[empty] = keys[next];
+				values[empty] = values[next];
+				empty = next;
+			}
+		}
+		keys[empty] = EMPTY;
+	}
+
+	private void grow() {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[oldKeys.length * 2];
+		values = new int[oldKeys.length * 2];
+		mask = keys.length - 1;
+		Arrays.fill(keys, EMPTY);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				int slot = slot(oldKeys[i]);
+				while (keys[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private int slot(long key) {
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+	}
+}
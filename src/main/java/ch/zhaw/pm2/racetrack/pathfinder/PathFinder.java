@@ -1,122 +1,240 @@
 package ch.zhaw.pm2.racetrack.pathfinder;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 import ch.zhaw.pm2.racetrack.Track;
 import model.Direction;
 import model.PositionVector;
 import model.SpaceType;
 
+/**
+ * Searches the shortest path of grid cells from a start position to the finish
+ * line. The path can be found by one of the {@link Engine}s, by default it is
+ * read from the shared {@link DistanceField} of the track.
+ */
 public class PathFinder {
-	List<Node<PositionVector>> nodes = new ArrayList<>();
+	private static final int NO_START = -1;
+
+	/**
+	 * Algorithms to find the shortest path
+	 */
+	public enum Engine {
+		/** Dijkstra on a graph built for the start position */
+		DIJKSTRA,
+		/** Descent along the shared distance-to-finish field of the track */
+		DISTANCE_FIELD,
+		/** Jump point search directly on the grid, see {@link JumpPointSearch} */
+		JUMP_POINT_SEARCH
+	}
+
 	private Track track;
+	private Engine engine = Engine.DISTANCE_FIELD;
+	private PositionVector startPosition;
+	/** Node flags indexed by y * width + x, the node index of a cell is its cell index */
+	private boolean[] nodes;
+	private Dijkstra dijkstra;
+	/** Search of the {@link Engine#JUMP_POINT_SEARCH}, reused by every call of {@link #getShortestPath()} */
+	private JumpPointSearch jumpPointSearch;
+	private int start = NO_START;
 
 	public PathFinder(PositionVector startPosition, Track racetrack) {
-		Node<PositionVector> start = new Node(startPosition);
-		nodes.add(start);
+		this(startPosition, racetrack, Engine.DISTANCE_FIELD);
+	}
+
+	public PathFinder(PositionVector startPosition, Track racetrack, Engine engine) {
+		this(racetrack);
+		this.engine = engine;
+		this.startPosition = startPosition;
+		if (engine == Engine.DIJKSTRA) {
+			buildGraph(startPosition);
+			settleNodes();
+		} else if (engine == Engine.JUMP_POINT_SEARCH) {
+			jumpPointSearch = new JumpPointSearch(racetrack.getBoard());
+		}
+	}
+
+	/**
+	 * Creates a path finder without any nodes, used to measure the graph setup on its own
+	 */
+	PathFinder(Track racetrack) {
 		this.track = racetrack;
-		setNodes();
-		settleNodes(start);
 	}
 
-	private void settleNodes(Node<PositionVector> start) {
-		new Dijkstra<PositionVector>().calculateShortestPaths(start);
+	private void settleNodes() {
+		if (start != NO_START) {
+			dijkstra.calculateShortestPaths(start);
+		}
 	}
 
-	private void setNodes() {
-		PositionVector candidate;
-		for (int y = 0; y < track.getFields().size(); y++) {
-			for (int x = 0; x < track.getFields().get(y).size(); x++) {
-				candidate = new PositionVector(x, y);
-				if (isNode(candidate)) {
-					nodes.add(new Node<PositionVector>(candidate));
-				}
+	/**
+	 * Creates a node for every track and finish line cell and connects it to the
+	 * nodes on the neighbouring cells. The start cell is connected to its
+	 * neighbours even if it is no node.
+	 */
+	void buildGraph(PositionVector startPosition) {
+		int width = track.getWidth();
+		int cellCount = width * track.getHeight();
+		nodes = new boolean[cellCount];
+		for (int y = 0; y < track.getHeight(); y++) {
+			for (int x = 0; x < width; x++) {
+				nodes[index(x, y)] = isNode(x, y);
 			}
 		}
-		blockWrongPath();
-		setNeighbouringNodes();
-	}
+		if (track.isInside(startPosition.getX(), startPosition.getY())) {
+			start = index(startPosition.getX(), startPosition.getY());
+		}
 
-	private boolean isNode(PositionVector canidate) {
-		if (track.getSpaceTypeAtPosition(canidate) == SpaceType.TRACK
-				|| isFinishLine(track.getSpaceTypeAtPosition(canidate))) {
-			return true;
+		int[] adjacencyStart = new int[cellCount + 1];
+		for (int cell = 0; cell < cellCount; cell++) {
+			adjacencyStart[cell + 1] = adjacencyStart[cell] + countNeighbouringNodes(cell);
+		}
+		int[] targets = new int[adjacencyStart[cellCount]];
+		int[] weights = new int[targets.length];
+		for (int cell = 0; cell < cellCount; cell++) {
+			setNeighbouringNodes(cell, targets, weights, adjacencyStart[cell]);
 		}
-		return false;
+		dijkstra = new Dijkstra(adjacencyStart, targets, weights);
+	}
+
+	private int index(int x, int y) {
+		return y * track.getWidth() + x;
+	}
+
+	private boolean isNode(int x, int y) {
+		SpaceType spaceType = track.getSpaceTypeAt(x, y);
+		return spaceType == SpaceType.TRACK || isFinishLine(spaceType);
 	}
 
 	private boolean isFinishLine(SpaceType spaceType) {
 		return (spaceType == SpaceType.FINISH_DOWN || spaceType == SpaceType.FINISH_LEFT
 				|| spaceType == SpaceType.FINISH_RIGHT || spaceType == SpaceType.FINISH_UP);
 	}
-	
-	private void blockWrongPath() {
-		List<PositionVector> wall = new ArrayList<>();
-		for (int y = 0; y < track.getFields().size(); y++ ) {
-			for (int x = 0; x < track.getFields().get(y).size(); x++) {
-				if (track.getCharRepresentationAtPosition(y, x) == SpaceType.FINISH_RIGHT.getSpaceChar()){
-					wall.add(new PositionVector(x+1, y));
-				} else if (track.getCharRepresentationAtPosition(y, x) == SpaceType.FINISH_LEFT.getSpaceChar()) {
-					wall.add(new PositionVector(x-1, y));
-				} else if (track.getCharRepresentationAtPosition(y, x) == SpaceType.FINISH_UP.getSpaceChar()) {
-					wall.add(new PositionVector(x, y-1));
-				} else if (track.getCharRepresentationAtPosition(y, x) == SpaceType.FINISH_DOWN.getSpaceChar()) {
-					wall.add(new PositionVector(x, y+1));
-				}
-			}
+
+	/**
+	 * A finish line may only be entered from the correct side, so the lap is
+	 * counted when the car reaches it
+	 */
+	private boolean isConnected(int cell, int neighbour) {
+		if (!nodes[neighbour] || !nodes[cell] && cell != start) {
+			return false;
 		}
+		int width = track.getWidth();
+		return DistanceField.canEnter(track.getBoard(), cell % width, cell / width, neighbour % width, neighbour / width);
+	}
 
-		wall.forEach(wallPositionVector -> {
-			Iterator<Node<PositionVector>> nodeIterator = nodes.iterator();
-			while (nodeIterator.hasNext()) {
-				Node<PositionVector> node = nodeIterator.next();
-				if (node.getPosition().getX() == wallPositionVector.getX() && node.getPosition().getY() == wallPositionVector.getY()) {
-					nodeIterator.remove();
-				}
+	private int countNeighbouringNodes(int cell) {
+		return setNeighbouringNodes(cell, null, null, 0);
+	}
+
+	/**
+	 * Writes the edges of the cell to the adjacency arrays starting at the
+	 * provided offset, only counts them if the arrays are null
+	 * @return number of edges of the cell
+	 */
+	private int setNeighbouringNodes(int cell, int[] targets, int[] weights, int offset) {
+		int x = cell % track.getWidth();
+		int y = cell / track.getWidth();
+		int count = 0;
+		for (Direction direction : Direction.values()) {
+			if (direction == Direction.NONE) {
+				continue;
 			}
-		});
-	}
-	
-	private void setNeighbouringNodes() {
-		for (Node<PositionVector> node : nodes) {
-			for (Direction direction : Direction.values()) {
-				for (Node<PositionVector> candidate : nodes) {
-					if (candidate.getPosition().equals(node.getPosition().add(direction.vector))) {
-						node.addAdjacentNode(candidate, 1);
-					}
+			int neighbourX = x + direction.vector.getX();
+			int neighbourY = y + direction.vector.getY();
+			if (track.isInside(neighbourX, neighbourY) && isConnected(cell, index(neighbourX, neighbourY))) {
+				if (targets != null) {
+					targets[offset + count] = index(neighbourX, neighbourY);
+					weights[offset + count] = 1;
 				}
+				count++;
 			}
 		}
+		return count;
 	}
-	
+
 	/**
 	 * This method looks for the shortest path to reach a finish line in the correct direction, starting from the provided start position
-	 * @return List<PositionVector> containing every waypoint of the shortest path
+	 * @return List<PositionVector> containing every waypoint of the shortest path including the start and the finish line position,
+	 * an empty list if no finish line can be reached
 	 */
 	public List<PositionVector> getShortestPath() {
-		List<List<Node<PositionVector>>> finishPaths = new ArrayList<>();
-		for (Node<PositionVector> node : nodes) {
-			if (isFinishLine(track.getSpaceTypeAtPosition(node.getPosition()))) {
-				finishPaths.add(node.getShortestPath());
+		if (engine == Engine.DISTANCE_FIELD) {
+			return descendDistanceField();
+		}
+		if (engine == Engine.JUMP_POINT_SEARCH) {
+			return translateToPositionVectorList(jumpPointSearch.findPath(startPosition.getX(), startPosition.getY()));
+		}
+		if (start == NO_START) {
+			return new ArrayList<>();
+		}
+		int closestFinish = NO_START;
+		for (int cell = 0; cell < nodes.length; cell++) {
+			if (nodes[cell] && dijkstra.getDistance(cell) != Dijkstra.UNREACHABLE
+					&& isFinishLine(track.getSpaceTypeAt(cell % track.getWidth(), cell / track.getWidth()))
+					&& (closestFinish == NO_START || dijkstra.getDistance(cell) < dijkstra.getDistance(closestFinish))) {
+				closestFinish = cell;
+			}
+		}
+		if (closestFinish == NO_START) {
+			return new ArrayList<>();
+		}
+		return translateToPositionVectorList(dijkstra.getPath(closestFinish));
+	}
+
+	/**
+	 * Follows the distance field from the start position, always stepping to a
+	 * neighbour closer to the finish line. The direction of the previous step is
+	 * preferred, so the path contains as few turns as possible.
+	 */
+	private List<PositionVector> descendDistanceField() {
+		DistanceField distanceField = DistanceField.of(track.getBoard());
+		List<PositionVector> path = new ArrayList<>();
+		int x = startPosition.getX();
+		int y = startPosition.getY();
+		int distance = distanceField.getDistance(x, y);
+		Direction previous = Direction.NONE;
+		path.add(startPosition);
+		while (distance != 0) {
+			Direction next = null;
+			for (Direction direction : preferring(previous)) {
+				int neighbourX = x + direction.vector.getX();
+				int neighbourY = y + direction.vector.getY();
+				int neighbourDistance = distanceField.getDistance(neighbourX, neighbourY);
+				if (neighbourDistance < distance
+						&& DistanceField.canEnter(track.getBoard(), x, y, neighbourX, neighbourY)) {
+					next = direction;
+					distance = neighbourDistance;
+				}
 			}
+			if (next == null) {
+				return new ArrayList<>();
+			}
+			x += next.vector.getX();
+			y += next.vector.getY();
+			path.add(PositionVector.of(x, y));
+			previous = next;
 		}
-		return translateToPositionVectorList(getShortest(finishPaths));
+		return path;
 	}
 
-	private List<Node<PositionVector>> getShortest(List<List<Node<PositionVector>>> finishPaths) {
-		List<Node<PositionVector>> shortest = finishPaths.get(0);
-		for (List<Node<PositionVector>> candidate : finishPaths) {
-			if (candidate.size() < shortest.size()) {
-				shortest = candidate;
+	private List<Direction> preferring(Direction first) {
+		List<Direction> directions = new ArrayList<>(Direction.values().length);
+		if (first != Direction.NONE) {
+			directions.add(first);
+		}
+		for (Direction direction : Direction.values()) {
+			if (direction != first && direction != Direction.NONE) {
+				directions.add(direction);
 			}
 		}
-		return shortest;
+		return directions;
 	}
-	
-	private List<PositionVector> translateToPositionVectorList(List<Node<PositionVector>> list) {
-		List<PositionVector> positions = new ArrayList<>();
-		for (Node<PositionVector> node : list) {
-			positions.add(node.getPosition());
+
+	private List<PositionVector> translateToPositionVectorList(int[] path) {
+		List<PositionVector> positions = new ArrayList<>(path.length);
+		for (int cell : path) {
+			positions.add(PositionVector.of(cell % track.getWidth(), cell / track.getWidth()));
 		}
 		return positions;
 	}
@@ -0,0 +1,260 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import ch.zhaw.pm2.racetrack.PathWalker;
+import model.PositionVector;
+
+/**
+ * Space-time claims of the planned trajectories of the cars of a race.
+ * <p>
+ * Rounds are counted by the moves of the cars: round 0 is the start, in round
+ * r every car makes its r-th move, in the order of the car indexes. A car
+ * claims the cell it stands on after its move in round r, and in round r it
+ * sweeps the cells of the Bresenham path of its move, without the cell it
+ * started on. A move crashes if it sweeps a cell another car stands on at that
+ * time, i.e. a cell claimed in the same round by a car with a lower index or in
+ * the round before by a car with a higher index.
+ * </p>
+ * <p>
+ * Claims are stored in primitive hash maps from the packed (cell, round) key
+ * to the set of cars claiming it. The trajectory of every car is kept, so the claims of a car
+ * can be released from any round on when it deviates from its plan, while the
+ * claims of the other cars stay untouched. Claims of rounds all cars have
+ * passed are dropped with {@link #prune(int)}, so the table does not grow
+ * with the length of the race.
+ * </p>
+ */
+public class ReservationTable {
+	private final int width;
+	private final LongIntMap standing = new LongIntMap();
+	private final LongIntMap sweeping = new LongIntMap();
+	private final List<List<PositionVector>> trajectories = new ArrayList<>();
+	private final int[] firstRounds;
+	private final ClaimVisitor claimVisitor = new ClaimVisitor();
+	private int version = 0;
+
+	/**
+	 * Creates an empty table
+	 *
+	 * @param width    width of the board of the race
+	 * @param carCount number of cars of the race
+	 */
+	public ReservationTable(int width, int carCount) {
+		this.width = width;
+		this.firstRounds = new int[carCount];
+		for (int i = 0; i < carCount; i++) {
+			trajectories.add(new ArrayList<>());
+		}
+	}
+
+	/**
+	 * Claims the cells of a planned trajectory. Claims of the car from the first
+	 * round of the trajectory on are released before.
+	 *
+	 * @param carIndex   the zero-based index of the car
+	 * @param round      round of the first position
+	 * @param trajectory position of the car after every round, starting with the current position
+	 */
+	public void reserve(int carIndex, int round, List<PositionVector> trajectory) {
+		release(carIndex, round);
+		List<PositionVector> positions = trajectories.get(carIndex);
+		if (positions.isEmpty()) {
+			firstRounds[carIndex] = round;
+		}
+		while (firstRounds[carIndex] + positions.size() < round) {
+			// a gap in the trajectory has no claims
+			positions.add(null);
+		}
+		for (PositionVector position : trajectory) {
+			int current = firstRounds[carIndex] + positions.size();
+			PositionVector previous = positions.isEmpty() ? null : positions.get(positions.size() - 1);
+			positions.add(position);
+			claim(carIndex, current, previous, position, true);
+			version++;
+		}
+	}
+
+	/**
+	 * Releases the claims of a car from the given round on
+	 *
+	 * @param carIndex the zero-based index of the car
+	 * @param round    first round to release
+	 */
+	public void release(int carIndex, int round) {
+		List<PositionVector> positions = trajectories.get(carIndex);
+		while (!positions.isEmpty() && firstRounds[carIndex] + positions.size() - 1 >= round) {
+			int last = firstRounds[carIndex] + positions.size() - 1;
+			PositionVector position = positions.remove(positions.size() - 1);
+			PositionVector previous = positions.isEmpty() ? null : positions.get(positions.size() - 1);
+			if (position != null) {
+				claim(carIndex, last, previous, position, false);
+			}
+			version++;
+		}
+	}
+
+	/**
+	 * Releases the claims of all cars before the given round, e.g. once every
+	 * car has reached it. The sweep claims of the round itself are released
+	 * as well, a search starting in the round does not read them. The
+	 * version is not changed, as no search from the round on sees a
+	 * difference.
+	 *
+	 * @param round first round to keep
+	 */
+	public void prune(int round) {
+		for (int car = 0; car < firstRounds.length; car++) {
+			List<PositionVector> positions = trajectories.get(car);
+			int count = 0;
+			for (; count < positions.size() && firstRounds[car] + count < round; count++) {
+				PositionVector position = positions.get(count);
+				if (position != null) {
+					update(standing, key(position.getX(), position.getY(), firstRounds[car] + count), 1 << car, false);
+					// the first position has no sweep claim, so the sweep into the next one goes with it
+					PositionVector next = count + 1 < positions.size() ? positions.get(count + 1) : null;
+					if (next != null) {
+						claimVisitor.start(car, firstRounds[car] + count + 1, position, false);
+						PathWalker.walk(position.getX(), position.getY(), next.getX(), next.getY(), claimVisitor);
+					}
+				}
+			}
+			positions.subList(0, count).clear();
+			firstRounds[car] += count;
+		}
+	}
+
+	/**
+	 * @return number of (cell, round) pairs with standing or sweeping claims
+	 */
+	int getClaimCount() {
+		return standing.size() + sweeping.size();
+	}
+
+	/**
+	 * @return number of changes of the claims so far, used to tell if a search
+	 *         on the table has to be repeated
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * @param carIndex the zero-based index of the car
+	 * @param round    round to get the position for
+	 * @return claimed position of the car after the round, null if the car has no claim in the round
+	 */
+	public PositionVector getReservedPosition(int carIndex, int round) {
+		int index = round - firstRounds[carIndex];
+		List<PositionVector> positions = trajectories.get(carIndex);
+		return index < 0 || index >= positions.size() ? null : positions.get(index);
+	}
+
+	/**
+	 * @return the last round with a claim, -1 if there are no claims
+	 */
+	public int getLastRound() {
+		int lastRound = -1;
+		for (int i = 0; i < firstRounds.length; i++) {
+			if (!trajectories.get(i).isEmpty()) {
+				lastRound = Math.max(lastRound, firstRounds[i] + trajectories.get(i).size() - 1);
+			}
+		}
+		return lastRound;
+	}
+
+	/**
+	 * @param x     column (x-value) of the cell
+	 * @param y     row (y-value) of the cell
+	 * @param round round of the claims
+	 * @return bit mask of the cars which stand on the cell after the round, bit i for car i
+	 */
+	public int getStandingCars(int x, int y, int round) {
+		return standing.get(key(x, y, round));
+	}
+
+	/**
+	 * @param x     column (x-value) of the cell
+	 * @param y     row (y-value) of the cell
+	 * @param round round of the claims
+	 * @return bit mask of the cars which sweep the cell in the round, bit i for car i
+	 */
+	public int getSweepingCars(int x, int y, int round) {
+		return sweeping.get(key(x, y, round));
+	}
+
+	/**
+	 * Checks if the claims of a car from the given round on contain one of the
+	 * given cells, e.g. the cells of cars which do not plan
+	 *
+	 * @param carIndex the zero-based index of the car
+	 * @param round    first round to check
+	 * @param cells    cell indexes (y * width + x) to look for
+	 * @return true if the car stands on or sweeps one of the cells
+	 */
+	public boolean isAnyClaimed(int carIndex, int round, BitSet cells) {
+		List<PositionVector> positions = trajectories.get(carIndex);
+		int start = Math.max(0, round - firstRounds[carIndex]);
+		for (int i = start; i < positions.size(); i++) {
+			PositionVector position = positions.get(i);
+			if (position == null) {
+				continue;
+			}
+			if (cells.get(position.getY() * width + position.getX())) {
+				return true;
+			}
+			PositionVector previous = i == start ? null : positions.get(i - 1);
+			if (previous != null && !PathWalker.walk(previous.getX(), previous.getY(), position.getX(),
+					position.getY(), (x, y) -> !cells.get(y * width + x))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void claim(int carIndex, int round, PositionVector previous, PositionVector position, boolean add) {
+		update(standing, key(position.getX(), position.getY(), round), 1 << carIndex, add);
+		if (previous != null) {
+			claimVisitor.start(carIndex, round, previous, add);
+			PathWalker.walk(previous.getX(), previous.getY(), position.getX(), position.getY(), claimVisitor);
+		}
+	}
+
+	private static void update(LongIntMap claims, long key, int carBit, boolean add) {
+		int cars = claims.get(key);
+		claims.put(key, add ? cars | carBit : cars & ~carBit);
+	}
+
+	private long key(int x, int y, int round) {
+		return (long) round << 32 | (y * width + x);
+	}
+
+	/**
+	 * Adds or removes the sweep claims of one move, the start cell is skipped
+	 */
+	private class ClaimVisitor implements PathWalker.CellVisitor {
+		private int carBit;
+		private int round;
+		private int startX;
+		private int startY;
+		private boolean add;
+
+		private void start(int carIndex, int round, PositionVector start, boolean add) {
+			this.carBit = 1 << carIndex;
+			this.round = round;
+			this.startX = start.getX();
+			this.startY = start.getY();
+			this.add = add;
+		}
+
+		@Override
+		public boolean visit(int x, int y) {
+			if (x != startX || y != startY) {
+				update(sweeping, key(x, y, round), carBit, add);
+			}
+			return true;
+		}
+	}
+}
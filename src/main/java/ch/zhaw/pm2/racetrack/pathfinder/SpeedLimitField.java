@@ -0,0 +1,172 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import model.Direction;
+import model.SpaceType;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Highest safe speed of a car on every cell of a board in each of the 4 axis
+ * directions, the velocity of a car is limited in both axes independently.
+ * <p>
+ * A car which moves with speed <code>v</code> in one direction and brakes in
+ * every following turn covers <code>v + (v - 1) + ... + 1 = v * (v + 1) / 2</code>
+ * cells before it stands still. The speed limit of a cell in a direction is
+ * the highest speed for the next move from the cell at which this braking
+ * distance still ends before the first wall in that direction. Finish line
+ * cells are no walls.
+ * </p>
+ * <p>
+ * The limits are calculated in one pass per axis direction and stored in one byte
+ * per cell and direction, limits above {@link #MAX_SPEED} are cut. Boards
+ * whose limits do not fit into one array get no field, cars on them ignore
+ * the speed limits. Fields are immutable and cached by the content hash of
+ * the board like the {@link DistanceField}, only the fields of the
+ * {@value #MAX_CACHED_FIELDS} most recently used boards are kept.
+ * </p>
+ */
+public final class SpeedLimitField {
+	/** Highest speed limit which is stored */
+	public static final int MAX_SPEED = 255;
+	/** Number of boards whose fields are cached at the same time */
+	public static final int MAX_CACHED_FIELDS = 8;
+
+	private static final Direction[] AXIS_DIRECTIONS = {Direction.RIGHT, Direction.LEFT, Direction.DOWN, Direction.UP};
+	private static final int DIRECTION_COUNT = AXIS_DIRECTIONS.length;
+	private static final int NO_AXIS = -1;
+	/** Longest array the virtual machines reliably allocate */
+	private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+	/** Fields by content hash, in the order of their last use */
+	private static final Map<String, SpeedLimitField> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final int width;
+	private final int height;
+	/** Speed limits indexed by cell index * 4 + axis direction index */
+	private final byte[] limits;
+
+	private SpeedLimitField(int width, int height, byte[] limits) {
+		this.width = width;
+		this.height = height;
+		this.limits = limits;
+	}
+
+	/**
+	 * Returns the field of the given board, calculating it only if no field of a
+	 * board with the same content is cached. The least recently used field is
+	 * dropped when more than {@value #MAX_CACHED_FIELDS} are cached.
+	 *
+	 * @param board board to get the field for
+	 * @return the shared field of the board, null if the board is too large for a field
+	 */
+	public static SpeedLimitField of(TrackBoard board) {
+		if (!isSupported(board)) {
+			return null;
+		}
+		synchronized (CACHE) {
+			SpeedLimitField field = CACHE.computeIfAbsent(board.getContentHash(), hash -> calculate(board));
+			if (CACHE.size() > MAX_CACHED_FIELDS) {
+				Iterator<SpeedLimitField> leastRecentlyUsed = CACHE.values().iterator();
+				leastRecentlyUsed.next();
+				leastRecentlyUsed.remove();
+			}
+			return field;
+		}
+	}
+
+	/**
+	 * Removes all fields from the cache
+	 */
+	public static void clearCache() {
+		synchronized (CACHE) {
+			CACHE.clear();
+		}
+	}
+
+	/**
+	 * @param board board to check
+	 * @return true if the limits of all cells and directions of the board fit into one array
+	 */
+	public static boolean isSupported(TrackBoard board) {
+		return (long) board.getWidth() * board.getHeight() * DIRECTION_COUNT <= MAX_ARRAY_LENGTH;
+	}
+
+	/**
+	 * @param x         column (x-value) of the position
+	 * @param y         row (y-value) of the position
+	 * @param direction direction of the move
+	 * @return highest speed of the next move in the direction after which the car
+	 *         can still stop before a wall, 0 outside the grid and for the diagonal
+	 *         directions and {@link Direction#NONE}
+	 */
+	public int getMaxSpeed(int x, int y, Direction direction) {
+		int index = directionIndex(direction);
+		if (x < 0 || y < 0 || x >= width || y >= height || index == NO_AXIS) {
+			return 0;
+		}
+		return limits[(y * width + x) * DIRECTION_COUNT + index] & 0xFF;
+	}
+
+	/**
+	 * Highest speed whose braking distance is at most the given number of cells
+	 *
+	 * @param distance number of free cells in front of the car
+	 * @return largest v with v * (v + 1) / 2 &lt;= distance
+	 */
+	public static int maxSpeed(long distance) {
+		int speed = (int) ((Math.sqrt(8.0 * distance + 1) - 1) / 2);
+		while ((long) (speed + 1) * (speed + 2) / 2 <= distance) {
+			speed++;
+		}
+		while ((long) speed * (speed + 1) / 2 > distance) {
+			speed--;
+		}
+		return speed;
+	}
+
+	static SpeedLimitField calculate(TrackBoard board) {
+		if (!isSupported(board)) {
+			throw new IllegalArgumentException("The board is too large for a speed limit field");
+		}
+		int width = board.getWidth();
+		int height = board.getHeight();
+		byte[] limits = new byte[width * height * DIRECTION_COUNT];
+		int[] freeCells = new int[width * height];
+		for (Direction direction : AXIS_DIRECTIONS) {
+			int dx = direction.vector.getX();
+			int dy = direction.vector.getY();
+			int index = directionIndex(direction);
+			// the neighbour in the direction is calculated before the cell itself
+			for (int row = 0; row < height; row++) {
+				int y = dy > 0 ? height - 1 - row : row;
+				for (int column = 0; column < width; column++) {
+					int x = dx > 0 ? width - 1 - column : column;
+					int neighbourX = x + dx;
+					int neighbourY = y + dy;
+					int free = board.getSpaceTypeAt(neighbourX, neighbourY) == SpaceType.WALL ? 0
+							: freeCells[neighbourY * width + neighbourX] + 1;
+					freeCells[y * width + x] = free;
+					limits[(y * width + x) * DIRECTION_COUNT + index] = (byte) Math.min(MAX_SPEED, maxSpeed(free));
+				}
+			}
+		}
+		return new SpeedLimitField(width, height, limits);
+	}
+
+	private static int directionIndex(Direction direction) {
+		switch (direction) {
+			case RIGHT:
+				return 0;
+			case LEFT:
+				return 1;
+			case DOWN:
+				return 2;
+			case UP:
+				return 3;
+			default:
+				return NO_AXIS;
+		}
+	}
+}
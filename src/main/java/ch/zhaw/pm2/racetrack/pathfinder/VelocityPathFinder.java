@@ -0,0 +1,319 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import ch.zhaw.pm2.racetrack.PathWalker;
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import ch.zhaw.pm2.racetrack.TransitionCache;
+import model.Direction;
+import model.PositionVector;
+import model.SpaceType;
+
+/**
+ * Finds the fastest sequence of accelerations from a start position to the
+ * finish line.
+ * <p>
+ * Unlike {@link PathFinder}, which searches a path of grid cells, this finder
+ * searches the state space of the car: a state is a position together with a
+ * velocity, and the 9 {@link Direction}s are the edges between states. Every
+ * transition is checked along the same Bresenham path as
+ * {@link ch.zhaw.pm2.racetrack.Game#calculatePath(PositionVector, PositionVector)}:
+ * moves through a wall are dropped, a move wins if it crosses the finish line
+ * in the correct direction. Moves which touch the finish line in the wrong
+ * direction are not considered. Other cars are not simulated, but their
+ * positions at the time of the search can be passed as obstacles. The checks
+ * of moves without an obstacle nearby are taken from the shared
+ * {@link TransitionCache} of the board.
+ * </p>
+ * <p>
+ * The search is an A* over the number of turns. The heuristic uses the
+ * distance to the finish line from the shared {@link DistanceField} and the
+ * number of turns needed to cover it when accelerating every turn. A move may
+ * slide sideways onto the finish line, which the field does not allow, so one
+ * step is subtracted from the distance. Thus the heuristic never
+ * overestimates and the resulting move sequence is optimal.
+ * </p>
+ */
+public class VelocityPathFinder {
+	/** Upper bound for the number of states kept in memory */
+	private static final int MAX_STATES = 20_000_000;
+	private static final int ID_BITS = 25;
+	private static final int G_BITS = 18;
+	private static final int MAX_G = (1 << G_BITS) - 1;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final TrackBoard board;
+	private final BitSet obstacles = new BitSet();
+	private final List<PositionVector> obstaclePositions = new ArrayList<>();
+	private final TransitionCache transitions;
+	private final DistanceField distanceToFinish;
+	private final List<Direction> moves;
+	private final MoveVisitor moveVisitor = new MoveVisitor();
+
+	/** Id + 1 of the state of every packed key, 0 for unknown states */
+	private final LongIntMap stateIds = new LongIntMap();
+	private long[] stateKeys = new long[1024];
+	private int[] costs = new int[1024];
+	private int[] parents = new int[1024];
+	private byte[] parentMoves = new byte[1024];
+	private int stateCount = 0;
+
+	/**
+	 * Searches the fastest move sequence for a car standing still at the given
+	 * start position
+	 *
+	 * @param board         board to search on
+	 * @param startPosition start position of the car
+	 */
+	public VelocityPathFinder(TrackBoard board, PositionVector startPosition) {
+		this(board, startPosition, Collections.emptyList());
+	}
+
+	/**
+	 * Searches the fastest move sequence for a car standing still at the given
+	 * start position, without driving through any of the given obstacles
+	 *
+	 * @param board         board to search on
+	 * @param startPosition start position of the car
+	 * @param obstacles     positions to avoid, e.g. the positions of the other cars
+	 */
+	public VelocityPathFinder(TrackBoard board, PositionVector startPosition, Collection<PositionVector> obstacles) {
+		if (board.getWidth() > 0xFFFF || board.getHeight() > 0xFFFF) {
+			throw new IllegalArgumentException("The track is too large for the velocity path finder");
+		}
+		this.board = board;
+		for (PositionVector obstacle : obstacles) {
+			if (board.isInside(obstacle.getX(), obstacle.getY())) {
+				this.obstacles.set(obstacle.getY() * board.getWidth() + obstacle.getX());
+				this.obstaclePositions.add(obstacle);
+			}
+		}
+		this.transitions = TransitionCache.of(board);
+		this.distanceToFinish = DistanceField.of(board);
+		this.moves = search(startPosition);
+	}
+
+	/**
+	 * Returns the fastest sequence of accelerations to win the race, starting
+	 * with the velocity (0,0)
+	 *
+	 * @return List<Direction> containing the accelerations for every turn, empty
+	 *         if the finish line can not be reached
+	 */
+	public List<Direction> getMoves() {
+		return moves;
+	}
+
+	private List<Direction> search(PositionVector startPosition) {
+		LongHeap open = new LongHeap();
+		int start = addState(startPosition.getX(), startPosition.getY(), 0, 0, 0, -1, Direction.NONE);
+		int startHeuristic = heuristic(distanceToFinish, startPosition.getX(), startPosition.getY(), 0, 0);
+		if (start < 0 || startHeuristic < 0) {
+			return Collections.emptyList();
+		}
+		open.push(entry(startHeuristic, 0, start));
+		while (!open.isEmpty()) {
+			long entry = open.pop();
+			int id = (int) (entry & ((1L << ID_BITS) - 1));
+			int cost = MAX_G - (int) ((entry >>> ID_BITS) & MAX_G);
+			if (cost > costs[id]) {
+				continue;
+			}
+			long key = stateKeys[id];
+			int x = unpackX(key);
+			int y = unpackY(key);
+			int vx = unpackVelocityX(key);
+			int vy = unpackVelocityY(key);
+			for (Direction direction : DIRECTIONS) {
+				int nvx = vx + direction.vector.getX();
+				int nvy = vy + direction.vector.getY();
+				int lapChange = evaluateMove(x, y, x + nvx, y + nvy);
+				if (lapChange == 1) {
+					return reconstructMoves(id, direction);
+				}
+				if (lapChange == 0 && cost + 1 < MAX_G) {
+					int heuristic = heuristic(distanceToFinish, x + nvx, y + nvy, nvx, nvy);
+					if (heuristic >= 0) {
+						int next = addState(x + nvx, y + nvy, nvx, nvy, cost + 1, id, direction);
+						if (next >= 0) {
+							open.push(entry(cost + 1 + heuristic, cost + 1, next));
+						}
+					}
+				}
+			}
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Checks the move along the Bresenham path used by the game.
+	 *
+	 * @return the change of the lap counter, or {@link Integer#MIN_VALUE} if
+	 *         the car crashes into a wall or an obstacle
+	 */
+	private int evaluateMove(int startX, int startY, int endX, int endY) {
+		if (!hasObstacleBetween(startX, startY, endX, endY)) {
+			int outcome = transitions.getOutcome(startX, startY, endX - startX, endY - startY);
+			if (outcome != TransitionCache.UNSUPPORTED) {
+				return TransitionCache.isCrash(outcome) ? Integer.MIN_VALUE : TransitionCache.getLapChange(outcome);
+			}
+		}
+		moveVisitor.start(startX, startY);
+		PathWalker.walk(startX, startY, endX, endY, moveVisitor);
+		return moveVisitor.lapChange;
+	}
+
+	private boolean hasObstacleBetween(int startX, int startY, int endX, int endY) {
+		for (PositionVector obstacle : obstaclePositions) {
+			if (obstacle.getX() >= Math.min(startX, endX) && obstacle.getX() <= Math.max(startX, endX)
+					&& obstacle.getY() >= Math.min(startY, endY) && obstacle.getY() <= Math.max(startY, endY)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int lapChange(int startX, int startY, int x, int y) {
+		if (board.isInside(x, y) && obstacles.get(y * board.getWidth() + x)) {
+			return Integer.MIN_VALUE;
+		}
+		if (board.getSpaceTypeAt(x, y) == SpaceType.WALL) {
+			return Integer.MIN_VALUE;
+		}
+		return board.getLapChange(startX, startY, x, y);
+	}
+
+	/**
+	 * Lower bound of the number of turns needed to win. A state is never a win
+	 * by itself, so at least one more turn is needed.
+	 *
+	 * @return the number of turns, or -1 if the finish line can not be reached
+	 */
+	static int heuristic(DistanceField distanceToFinish, int x, int y, int vx, int vy) {
+		int distance = distanceToFinish.getDistance(x, y);
+		if (distance == DistanceField.UNREACHABLE) {
+			return -1;
+		}
+		return Math.max(1, minTurns(distance - 1, Math.max(Math.abs(vx), Math.abs(vy))));
+	}
+
+	/**
+	 * Smallest number of turns t with t * speed + t * (t + 1) / 2 >= distance,
+	 * i.e. the turns needed to cover the distance when accelerating every turn
+	 */
+	static int minTurns(int distance, int speed) {
+		if (distance <= 0) {
+			return 0;
+		}
+		double b = 2.0 * speed + 1;
+		int turns = Math.max(0, (int) Math.ceil((-b + Math.sqrt(b * b + 8.0 * distance)) / 2));
+		while (turns > 0 && coveredDistance(turns - 1, speed) >= distance) {
+			turns--;
+		}
+		while (coveredDistance(turns, speed) < distance) {
+			turns++;
+		}
+		return turns;
+	}
+
+	private static long coveredDistance(int turns, int speed) {
+		return (long) turns * speed + (long) turns * (turns + 1) / 2;
+	}
+
+	private int addState(int x, int y, int vx, int vy, int cost, int parent, Direction move) {
+		long key = packState(x, y, vx, vy);
+		int existing = stateIds.get(key) - 1;
+		if (existing >= 0) {
+			if (cost >= costs[existing]) {
+				return -1;
+			}
+			costs[existing] = cost;
+			parents[existing] = parent;
+			parentMoves[existing] = (byte) move.ordinal();
+			return existing;
+		}
+		if (stateCount == MAX_STATES) {
+			return -1;
+		}
+		if (stateCount == stateKeys.length) {
+			int capacity = Math.min(MAX_STATES, stateKeys.length * 2);
+			stateKeys = Arrays.copyOf(stateKeys, capacity);
+			costs = Arrays.copyOf(costs, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+			parentMoves = Arrays.copyOf(parentMoves, capacity);
+		}
+		int id = stateCount++;
+		stateIds.put(key, id + 1);
+		stateKeys[id] = key;
+		costs[id] = cost;
+		parents[id] = parent;
+		parentMoves[id] = (byte) move.ordinal();
+		return id;
+	}
+
+	private List<Direction> reconstructMoves(int lastState, Direction lastMove) {
+		List<Direction> result = new ArrayList<>();
+		result.add(lastMove);
+		for (int id = lastState; parents[id] >= 0; id = parents[id]) {
+			result.add(DIRECTIONS[parentMoves[id]]);
+		}
+		Collections.reverse(result);
+		return Collections.unmodifiableList(result);
+	}
+
+	private static long entry(int estimate, int cost, int id) {
+		return ((long) estimate << (ID_BITS + G_BITS)) | ((long) (MAX_G - cost) << ID_BITS) | id;
+	}
+
+	private static long packState(int x, int y, int vx, int vy) {
+		return ((long) x << 48) | ((long) y << 32) | ((long) (vx & 0xFFFF) << 16) | (vy & 0xFFFF);
+	}
+
+	private static int unpackX(long key) {
+		return (int) (key >>> 48);
+	}
+
+	private static int unpackY(long key) {
+		return (int) ((key >>> 32) & 0xFFFF);
+	}
+
+	private static int unpackVelocityX(long key) {
+		return (short) (key >>> 16);
+	}
+
+	private static int unpackVelocityY(long key) {
+		return (short) key;
+	}
+
+	/**
+	 * Sums up the lap changes along the path of a move, stops on the first crash.
+	 * One instance is reused for all moves of the search.
+	 */
+	private class MoveVisitor implements PathWalker.CellVisitor {
+		private int startX;
+		private int startY;
+		private int lapChange;
+
+		private void start(int startX, int startY) {
+			this.startX = startX;
+			this.startY = startY;
+			this.lapChange = 0;
+		}
+
+		@Override
+		public boolean visit(int x, int y) {
+			int change = lapChange(startX, startY, x, y);
+			if (change == Integer.MIN_VALUE) {
+				lapChange = change;
+				return false;
+			}
+			lapChange += change;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package ch.zhaw.pm2.racetrack.simulation;
+
+import ch.zhaw.pm2.racetrack.Game;
+import model.Direction;
+
+/**
+ * Runs a {@link Game} to completion without any user interface. The cars have
+ * to be configured with their move strategies beforehand. The runner repeats
+ * {@link Game#doCarTurn(Direction)} and {@link Game#switchToNextActiveCar()}
+ * until the race is decided, no car can move anymore, a strategy terminates
+ * the game or the turn limit is reached.
+ */
+public class GameRunner {
+
+	/** Default maximum number of car turns before a race is aborted */
+	public static final int DEFAULT_MAX_TURNS = 100_000;
+
+	private final Game game;
+	private final int maxTurns;
+
+	/**
+	 * Creates a runner with the {@link #DEFAULT_MAX_TURNS}
+	 *
+	 * @param game game with all move strategies set
+	 */
+	public GameRunner(Game game) {
+		this(game, DEFAULT_MAX_TURNS);
+	}
+
+	/**
+	 * Creates a runner
+	 *
+	 * @param game     game with all move strategies set
+	 * @param maxTurns maximum number of car turns before the race is aborted
+	 */
+	public GameRunner(Game game, int maxTurns) {
+		if (maxTurns <= 0) {
+			throw new IllegalArgumentException("The turn limit must be positive");
+		}
+		this.game = game;
+		this.maxTurns = maxTurns;
+	}
+
+	/**
+	 * Runs the race until it ends
+	 *
+	 * @return result of the race
+	 */
+	public RaceResult run() {
+		long start = System.nanoTime();
+		int turns = 0;
+		RaceResult.EndReason endReason = null;
+		while (endReason == null) {
+			if (game.getWinner() != Game.NO_WINNER) {
+				endReason = RaceResult.EndReason.WINNER;
+			} else if (!game.checkForMovingCars()) {
+				endReason = RaceResult.EndReason.NO_MOVING_CAR;
+			} else if (turns >= maxTurns) {
+				endReason = RaceResult.EndReason.TURN_LIMIT;
+			} else {
+				Direction move = game.getMoveForCurrentCar();
+				if (move == null) {
+					endReason = RaceResult.EndReason.TERMINATED;
+				} else {
+					game.doCarTurn(move);
+					turns++;
+					if (hasActiveCar()) {
+						game.switchToNextActiveCar();
+					}
+				}
+			}
+		}
+		return createResult(turns, System.nanoTime() - start, endReason);
+	}
+
+	private boolean hasActiveCar() {
+		for (int i = 0; i < game.getCarCount(); i++) {
+			if (!game.getTrack().getCar(i).isCrashed()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private RaceResult createResult(int turns, long durationNanos, RaceResult.EndReason endReason) {
+		boolean[] crashed = new boolean[game.getCarCount()];
+		for (int i = 0; i < crashed.length; i++) {
+			crashed[i] = game.getTrack().getCar(i).isCrashed();
+		}
+		int winner = game.getWinner();
+		char winnerId = winner == Game.NO_WINNER ? ' ' : game.getCarId(winner);
+		return new RaceResult(winner, winnerId, turns, durationNanos, endReason, crashed);
+	}
+}
@@ -0,0 +1,146 @@
+package ch.zhaw.pm2.racetrack.simulation;
+
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import exceptions.InvalidFileFormatException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Entry point to run races without the TextIO user interface and without
+ * printing the track.
+ * <p>
+ * Usage: <code>HeadlessRaceTrack [--races n] [--threads n] [--max-turns n] [--record dir] &lt;track-file&gt; &lt;strategy&gt;...</code>
+ * </p>
+ * <p>
+ * One {@link StrategySpec} has to be given per car in the order of the car
+ * indexes. If a single spec is given, it is used for all cars. For every race
+ * the winner, the number of turns and the wall time are printed. With
+ * <code>--threads</code> the races are run as a {@link Tournament} on a pool
+ * of the given size and only the aggregated statistics are printed.
+ * </p>
+ * <p>
+ * With <code>--record</code> every race is recorded by a {@link RaceRecorder}
+ * to the file <code>race-&lt;n&gt;.log</code> in the given directory. A
+ * recorded race is replayed with the strategy <code>REPLAY:&lt;log&gt;</code>
+ * for all cars.
+ * </p>
+ */
+public class HeadlessRaceTrack {
+
+	private static final String USAGE = "Usage: HeadlessRaceTrack [--races n] [--threads n] [--max-turns n] [--record dir] <track-file> <strategy>...\n"
+			+ "  strategy: DO_NOT_MOVE | PATH_FINDER | D_STAR_LITE | VELOCITY_PATH_FINDER | MONTE_CARLO | COOPERATIVE | MOVE_LIST:<file> | PATH_FOLLOWER:<file> | REPLAY:<log>";
+
+	/**
+	 * Headless entry point
+	 *
+	 * @param args command line arguments, see class description
+	 */
+	public static void main(String[] args) {
+		try {
+			System.exit(new HeadlessRaceTrack().run(args));
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+		} catch (IOException | InvalidFileFormatException e) {
+			System.err.println("The track could not be loaded: " + e.getMessage());
+			System.exit(2);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			System.exit(1);
+		}
+	}
+
+	private int run(String[] args) throws IOException, InvalidFileFormatException, InterruptedException {
+		int races = 1;
+		int threads = 0;
+		int maxTurns = GameRunner.DEFAULT_MAX_TURNS;
+		File trackFile = null;
+		File recordDirectory = null;
+		List<StrategySpec> specs = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--races")) {
+				races = parsePositive(args, ++i);
+			} else if (args[i].equals("--threads")) {
+				threads = parsePositive(args, ++i);
+			} else if (args[i].equals("--max-turns")) {
+				maxTurns = parsePositive(args, ++i);
+			} else if (args[i].equals("--record")) {
+				recordDirectory = parseDirectory(args, ++i);
+			} else if (trackFile == null) {
+				trackFile = new File(args[i]);
+			} else {
+				specs.add(StrategySpec.parse(args[i]));
+			}
+		}
+		if (trackFile == null || specs.isEmpty()) {
+			throw new IllegalArgumentException("A track file and at least one strategy are required");
+		}
+
+		TrackBoard board = new TrackBoard(trackFile);
+		List<StrategySpec> carSpecs = Tournament.expandSpecs(specs, board.getCarCount());
+		if (threads > 0 && recordDirectory != null) {
+			throw new IllegalArgumentException("--record can not be combined with --threads");
+		}
+		if (threads > 0) {
+			return runTournament(new Tournament(board, carSpecs, races, maxTurns), threads);
+		}
+		long start = System.nanoTime();
+		int failures = 0;
+		for (int race = 1; race <= races; race++) {
+			try {
+				File logFile = recordDirectory == null ? null : new File(recordDirectory, "race-" + race + ".log");
+				RaceResult result = Tournament.runRace(board, carSpecs, maxTurns, logFile);
+				System.out.println("race " + race + ": " + result);
+			} catch (IOException | InvalidFileFormatException | RuntimeException e) {
+				System.out.println("race " + race + ": failed, " + e);
+				failures++;
+			}
+		}
+		System.out.printf("%d races, %d failed, total time: %.3f ms%n", races, failures,
+				(System.nanoTime() - start) / 1_000_000.0);
+		return failures == 0 ? 0 : 1;
+	}
+
+	private int runTournament(Tournament tournament, int threads) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			TournamentStatistics statistics = tournament.run(executor);
+			System.out.print(statistics);
+			return statistics.getFailedRaces() == 0 ? 0 : 1;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private File parseDirectory(String[] args, int index) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+		}
+		File directory = new File(args[index]);
+		if (!directory.isDirectory()) {
+			throw new IllegalArgumentException("Not a directory: " + args[index]);
+		}
+		return directory;
+	}
+
+	private int parsePositive(String[] args, int index) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+		}
+		try {
+			int value = Integer.parseInt(args[index]);
+			if (value > 0) {
+				return value;
+			}
+		} catch (NumberFormatException e) {
+			// handled below
+		}
+		throw new IllegalArgumentException("Invalid value for " + args[index - 1] + ": " + args[index]);
+	}
+}
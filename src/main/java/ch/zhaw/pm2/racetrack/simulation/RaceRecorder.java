@@ -0,0 +1,82 @@
+package ch.zhaw.pm2.racetrack.simulation;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.TurnListener;
+import ch.zhaw.pm2.racetrack.strategy.RaceLogFormat;
+import ch.zhaw.pm2.racetrack.strategy.ReplayMoveStrategy;
+import model.Car;
+import model.Direction;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * Records every turn of a race to an append-only log file in the
+ * {@link RaceLogFormat}, which can be replayed with {@link ReplayMoveStrategy}.
+ * <p>
+ * The records are collected in a buffer and written in batches of
+ * {@link #BATCH_TURNS} turns, so recording adds only a few nanoseconds to a
+ * turn. If the process dies, at most the last batch is lost.
+ * </p>
+ */
+public class RaceRecorder implements TurnListener, AutoCloseable {
+	/** Number of turns after which the buffered records are written */
+	public static final int BATCH_TURNS = 1024;
+
+	private final Game game;
+	private final DataOutputStream out;
+	private int bufferedTurns = 0;
+
+	/**
+	 * Creates the log file, writes its header and starts recording the turns of the game
+	 *
+	 * @param game    game to record
+	 * @param logFile file to write, an existing file is replaced
+	 * @throws IOException if the log file can not be written
+	 */
+	public RaceRecorder(Game game, File logFile) throws IOException {
+		this.game = game;
+		out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(logFile.toPath()),
+				BATCH_TURNS * RaceLogFormat.RECORD_SIZE + 1));
+		char[] carIds = new char[game.getCarCount()];
+		for (int i = 0; i < carIds.length; i++) {
+			carIds[i] = game.getCarId(i);
+		}
+		RaceLogFormat.writeHeader(out, game.getTrack().getBoard().getContentHash(), carIds);
+		out.flush();
+		game.setTurnListener(this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UncheckedIOException if a batch can not be written
+	 */
+	@Override
+	public void turnDone(int carIndex, Direction acceleration, Car car) {
+		try {
+			RaceLogFormat.writeRecord(out, carIndex, acceleration, car.isCrashed(), car.getLapCounter());
+			if (++bufferedTurns == BATCH_TURNS) {
+				out.flush();
+				bufferedTurns = 0;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Stops recording, writes the remaining records and closes the log file
+	 *
+	 * @throws IOException if the log file can not be written
+	 */
+	@Override
+	public void close() throws IOException {
+		game.setTurnListener(null);
+		out.close();
+	}
+}
@@ -0,0 +1,114 @@
+package ch.zhaw.pm2.racetrack.simulation;
+
+import ch.zhaw.pm2.racetrack.Game;
+
+/**
+ * Outcome of a race run by the {@link GameRunner}. Holds the winner, the number
+ * of executed turns, the wall time and the crash state of every car.
+ */
+public class RaceResult {
+
+	/**
+	 * Reasons why a race ended
+	 */
+	public enum EndReason {
+		/** a car crossed the finish line or is the last car remaining */
+		WINNER,
+		/** none of the remaining cars is able to move */
+		NO_MOVING_CAR,
+		/** a move strategy returned null */
+		TERMINATED,
+		/** the configured maximum number of turns has been reached */
+		TURN_LIMIT
+	}
+
+	private final int winner;
+	private final char winnerId;
+	private final int turns;
+	private final long durationNanos;
+	private final EndReason endReason;
+	private final boolean[] crashed;
+
+	/**
+	 * Creates a race result
+	 *
+	 * @param winner        index of the winning car or {@link Game#NO_WINNER}
+	 * @param winnerId      id of the winning car, ignored if there is no winner
+	 * @param turns         number of executed car turns
+	 * @param durationNanos wall time of the race in nanoseconds
+	 * @param endReason     reason why the race ended
+	 * @param crashed       crash state of every car at the end of the race
+	 */
+	public RaceResult(int winner, char winnerId, int turns, long durationNanos, EndReason endReason, boolean[] crashed) {
+		this.winner = winner;
+		this.winnerId = winnerId;
+		this.turns = turns;
+		this.durationNanos = durationNanos;
+		this.endReason = endReason;
+		this.crashed = crashed.clone();
+	}
+
+	/**
+	 * @return index of the winning car or {@link Game#NO_WINNER}
+	 */
+	public int getWinner() {
+		return winner;
+	}
+
+	/**
+	 * @return true if the race has a winner
+	 */
+	public boolean hasWinner() {
+		return winner != Game.NO_WINNER;
+	}
+
+	/**
+	 * @return id of the winning car, only meaningful if {@link #hasWinner()}
+	 */
+	public char getWinnerId() {
+		return winnerId;
+	}
+
+	/**
+	 * @return number of executed car turns
+	 */
+	public int getTurns() {
+		return turns;
+	}
+
+	/**
+	 * @return wall time of the race in nanoseconds
+	 */
+	public long getDurationNanos() {
+		return durationNanos;
+	}
+
+	/**
+	 * @return reason why the race ended
+	 */
+	public EndReason getEndReason() {
+		return endReason;
+	}
+
+	/**
+	 * @return number of cars which took part in the race
+	 */
+	public int getCarCount() {
+		return crashed.length;
+	}
+
+	/**
+	 * @param carIndex the zero-based car index
+	 * @return true if the car was crashed at the end of the race
+	 */
+	public boolean isCrashed(int carIndex) {
+		return crashed[carIndex];
+	}
+
+	@Override
+	public String toString() {
+		String winnerText = hasWinner() ? String.valueOf(winnerId) : "none";
+		return String.format("winner: %s, turns: %d, time: %.3f ms, end: %s", winnerText, turns,
+				durationNanos / 1_000_000.0, endReason);
+	}
+}
@@ -0,0 +1,151 @@
+package ch.zhaw.pm2.racetrack.simulation;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.strategy.CooperativeMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.DStarLiteMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.DoNotMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MonteCarloMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveListStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.PathFinderMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.PathFollowerMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.ReplayMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.VelocityPathFinderMoveStrategy;
+import exceptions.InvalidFileFormatException;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Textual description of a move strategy for races without user interaction.
+ * <p>
+ * A spec consists of the strategy kind, optionally followed by a colon and a
+ * file name, e.g. <code>PATH_FINDER</code> or
+ * <code>MOVE_LIST:moves/challenge-car-a.txt</code>. The spec only describes the
+ * strategy, a new {@link MoveStrategy} instance is created for every race by
+ * {@link #create(Game, int)}.
+ * </p>
+ */
+public class StrategySpec {
+
+	/**
+	 * Strategy kinds which do not need user interaction
+	 */
+	public enum Kind {
+		DO_NOT_MOVE(false),
+		MOVE_LIST(true),
+		PATH_FOLLOWER(true),
+		PATH_FINDER(false),
+		D_STAR_LITE(false),
+		VELOCITY_PATH_FINDER(false),
+		MONTE_CARLO(false),
+		COOPERATIVE(false),
+		REPLAY(true);
+
+		private final boolean requiresFile;
+
+		Kind(boolean requiresFile) {
+			this.requiresFile = requiresFile;
+		}
+	}
+
+	private final Kind kind;
+	private final File file;
+
+	/**
+	 * Creates a spec
+	 *
+	 * @param kind kind of the strategy
+	 * @param file file used by the strategy, null if the kind does not need one
+	 */
+	public StrategySpec(Kind kind, File file) {
+		if (kind.requiresFile && file == null) {
+			throw new IllegalArgumentException("The strategy " + kind + " requires a file");
+		}
+		this.kind = kind;
+		this.file = file;
+	}
+
+	/**
+	 * Parses a spec of the form <code>KIND[:file]</code>
+	 *
+	 * @param text spec to parse
+	 * @return the parsed spec
+	 * @throws IllegalArgumentException if the kind is unknown or a required file is missing
+	 */
+	public static StrategySpec parse(String text) {
+		int separator = text.indexOf(':');
+		String kindName = separator < 0 ? text : text.substring(0, separator);
+		File file = separator < 0 ? null : new File(text.substring(separator + 1));
+		Kind kind;
+		try {
+			kind = Kind.valueOf(kindName.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown strategy: " + kindName);
+		}
+		return new StrategySpec(kind, file);
+	}
+
+	/**
+	 * @return kind of the strategy
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return file used by the strategy, null if there is none
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Creates a new strategy instance for the given car. Move lists are read
+	 * while the race runs, an invalid move list is reported by
+	 * {@link MoveListStrategy#awaitValidation()}.
+	 *
+	 * @param game     game the car takes part in
+	 * @param carIndex the zero-based index of the car
+	 * @return a new move strategy
+	 * @throws IOException                if a strategy file can not be read
+	 * @throws InvalidFileFormatException if a strategy file contains invalid data
+	 */
+	public MoveStrategy create(Game game, int carIndex) throws IOException, InvalidFileFormatException {
+		switch (kind) {
+			case MOVE_LIST:
+				return MoveListStrategy.streaming(file);
+			case PATH_FOLLOWER:
+				return new PathFollowerMoveStrategy(file, game.getCarPosition(carIndex));
+			case PATH_FINDER:
+				return new PathFinderMoveStrategy(game.getCarPosition(carIndex), game.getTrack());
+			case D_STAR_LITE:
+				return new DStarLiteMoveStrategy(game.getTrack(), carIndex);
+			case VELOCITY_PATH_FINDER:
+				return new VelocityPathFinderMoveStrategy(game.getCarPosition(carIndex), game.getTrack());
+			case MONTE_CARLO:
+				return new MonteCarloMoveStrategy(game, carIndex);
+			case COOPERATIVE:
+				return new CooperativeMoveStrategy(game, carIndex);
+			case REPLAY:
+				return createReplay(game, carIndex);
+			case DO_NOT_MOVE:
+			default:
+				return new DoNotMoveStrategy();
+		}
+	}
+
+	private MoveStrategy createReplay(Game game, int carIndex) throws IOException, InvalidFileFormatException {
+		ReplayMoveStrategy replay = new ReplayMoveStrategy(file, carIndex, game);
+		if (!replay.getTrackHash().equals(game.getTrack().getBoard().getContentHash())) {
+			replay.close();
+			throw new InvalidFileFormatException("The race log " + file + " was recorded on another track");
+		}
+		return replay;
+	}
+
+	@Override
+	public String toString() {
+		return file == null ? kind.toString() : kind + ":" + file.getPath();
+	}
+}
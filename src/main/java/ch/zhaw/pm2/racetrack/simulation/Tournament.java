@@ -0,0 +1,191 @@
+package ch.zhaw.pm2.racetrack.simulation;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import ch.zhaw.pm2.racetrack.strategy.MoveListStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.ReplayMoveStrategy;
+import exceptions.InvalidFileFormatException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs many independent races on the same board concurrently and aggregates
+ * their results.
+ * <p>
+ * The {@link TrackBoard} is immutable and shared by all races. Every race gets
+ * its own {@link Track}, {@link Game} and move strategy instances, so races do
+ * not share any mutable state. The races are executed on the executor passed to
+ * {@link #run(ExecutorService)}, which can be a fixed pool of platform threads
+ * or any other {@link ExecutorService}, e.g. a virtual thread executor on newer
+ * Java versions.
+ * </p>
+ */
+public class Tournament {
+
+	private final TrackBoard board;
+	private final List<StrategySpec> carSpecs;
+	private final int races;
+	private final int maxTurns;
+
+	/**
+	 * Creates a tournament
+	 *
+	 * @param board    board all races are run on
+	 * @param specs    one strategy spec per car, or a single spec used for all cars
+	 * @param races    number of races to run
+	 * @param maxTurns turn limit of each race
+	 * @throws IllegalArgumentException if the number of specs does not match the number of cars
+	 */
+	public Tournament(TrackBoard board, List<StrategySpec> specs, int races, int maxTurns) {
+		if (races <= 0) {
+			throw new IllegalArgumentException("The number of races must be positive");
+		}
+		this.board = board;
+		this.carSpecs = expandSpecs(specs, board.getCarCount());
+		this.races = races;
+		this.maxTurns = maxTurns;
+	}
+
+	/**
+	 * Assigns the given specs to the cars of the board
+	 *
+	 * @param specs    one strategy spec per car, or a single spec used for all cars
+	 * @param carCount number of cars on the board
+	 * @return one spec per car
+	 * @throws IllegalArgumentException if the number of specs does not match the number of cars
+	 */
+	static List<StrategySpec> expandSpecs(List<StrategySpec> specs, int carCount) {
+		if (specs.size() == 1) {
+			return Collections.nCopies(carCount, specs.get(0));
+		}
+		if (specs.size() != carCount) {
+			throw new IllegalArgumentException("The track has " + carCount + " cars, but " + specs.size()
+					+ " strategies were given");
+		}
+		return List.copyOf(specs);
+	}
+
+	/**
+	 * Runs a single race on a new track
+	 *
+	 * @param board    board to race on
+	 * @param carSpecs one strategy spec per car
+	 * @param maxTurns turn limit of the race
+	 * @return result of the race
+	 * @throws IOException                if a strategy file can not be read
+	 * @throws InvalidFileFormatException if a strategy file contains invalid data
+	 */
+	public static RaceResult runRace(TrackBoard board, List<StrategySpec> carSpecs, int maxTurns)
+			throws IOException, InvalidFileFormatException {
+		return runRace(board, carSpecs, maxTurns, null);
+	}
+
+	/**
+	 * Runs a single race on a new track and records it with a {@link RaceRecorder}.
+	 * The files of the strategies are released after the race. A move list which
+	 * turns out to be invalid fails the race, even if the race ended before the
+	 * invalid line was reached, and so does a replay which does not run as recorded.
+	 *
+	 * @param board    board to race on
+	 * @param carSpecs one strategy spec per car
+	 * @param maxTurns turn limit of the race
+	 * @param logFile  file to record the race to, null to not record it
+	 * @return result of the race
+	 * @throws IOException                if a strategy file can not be read or the log can not be written
+	 * @throws InvalidFileFormatException if a strategy file contains invalid data or a replay does not run as recorded
+	 */
+	public static RaceResult runRace(TrackBoard board, List<StrategySpec> carSpecs, int maxTurns, File logFile)
+			throws IOException, InvalidFileFormatException {
+		Game game = new Game(new Track(board));
+		RaceResult result;
+		try {
+			for (int i = 0; i < game.getCarCount(); i++) {
+				game.setCarMoveStrategy(i, carSpecs.get(i).create(game, i));
+			}
+			if (logFile == null) {
+				result = new GameRunner(game, maxTurns).run();
+			} else {
+				RaceRecorder recorder = new RaceRecorder(game, logFile);
+				try {
+					result = new GameRunner(game, maxTurns).run();
+				} finally {
+					recorder.close();
+				}
+			}
+		} finally {
+			closeStrategies(game);
+		}
+		for (int i = 0; i < game.getCarCount(); i++) {
+			if (game.getCarMoveStrategy(i) instanceof MoveListStrategy) {
+				((MoveListStrategy) game.getCarMoveStrategy(i)).awaitValidation();
+			} else if (game.getCarMoveStrategy(i) instanceof ReplayMoveStrategy) {
+				((ReplayMoveStrategy) game.getCarMoveStrategy(i)).verifyReplay();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Closes every strategy which holds resources, i.e. implements {@link AutoCloseable}.
+	 * All strategies are closed even if closing one fails.
+	 *
+	 * @throws IOException the first failure, later ones are suppressed by it
+	 */
+	private static void closeStrategies(Game game) throws IOException {
+		IOException failure = null;
+		for (int i = 0; i < game.getCarCount(); i++) {
+			MoveStrategy strategy = game.getCarMoveStrategy(i);
+			if (strategy instanceof AutoCloseable) {
+				try {
+					((AutoCloseable) strategy).close();
+				} catch (Exception e) {
+					IOException closeFailure = e instanceof IOException ? (IOException) e
+							: new IOException("The strategy of car " + i + " could not be closed", e);
+					if (failure == null) {
+						failure = closeFailure;
+					} else {
+						failure.addSuppressed(closeFailure);
+					}
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Runs all races on the given executor and waits until they are finished.
+	 * Races which fail with an exception are counted as failed.
+	 *
+	 * @param executor executor to run the races on, it is not shut down
+	 * @return the aggregated statistics
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 */
+	public TournamentStatistics run(ExecutorService executor) throws InterruptedException {
+		long start = System.nanoTime();
+		List<Future<RaceResult>> futures = new ArrayList<>(races);
+		for (int i = 0; i < races; i++) {
+			futures.add(executor.submit(() -> runRace(board, carSpecs, maxTurns)));
+		}
+		TournamentStatistics statistics = new TournamentStatistics(carSpecs);
+		for (Future<RaceResult> future : futures) {
+			try {
+				statistics.add(future.get());
+			} catch (ExecutionException e) {
+				statistics.addFailure();
+			}
+		}
+		statistics.setDurationNanos(System.nanoTime() - start);
+		return statistics;
+	}
+}
@@ -0,0 +1,164 @@
+package ch.zhaw.pm2.racetrack.simulation;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated results of a {@link Tournament}: mean number of turns, overall
+ * crash rate and the win and crash rate of every strategy.
+ */
+public class TournamentStatistics {
+
+	private final List<StrategySpec> carSpecs;
+	private final Map<String, StrategyStatistics> strategies = new LinkedHashMap<>();
+	private int races;
+	private int failedRaces;
+	private int racesWithWinner;
+	private long totalTurns;
+	private int carRaces;
+	private int crashes;
+	private long durationNanos;
+
+	/**
+	 * Creates empty statistics
+	 *
+	 * @param carSpecs strategy spec of every car
+	 */
+	TournamentStatistics(List<StrategySpec> carSpecs) {
+		this.carSpecs = carSpecs;
+		for (StrategySpec spec : carSpecs) {
+			strategies.putIfAbsent(spec.toString(), new StrategyStatistics());
+		}
+	}
+
+	void add(RaceResult result) {
+		races++;
+		totalTurns += result.getTurns();
+		if (result.hasWinner()) {
+			racesWithWinner++;
+			strategies.get(carSpecs.get(result.getWinner()).toString()).wins++;
+		}
+		for (int i = 0; i < result.getCarCount(); i++) {
+			StrategyStatistics strategy = strategies.get(carSpecs.get(i).toString());
+			strategy.cars++;
+			carRaces++;
+			if (result.isCrashed(i)) {
+				strategy.crashes++;
+				crashes++;
+			}
+		}
+	}
+
+	void addFailure() {
+		failedRaces++;
+	}
+
+	void setDurationNanos(long durationNanos) {
+		this.durationNanos = durationNanos;
+	}
+
+	/**
+	 * @return number of completed races
+	 */
+	public int getRaces() {
+		return races;
+	}
+
+	/**
+	 * @return number of races which failed with an exception
+	 */
+	public int getFailedRaces() {
+		return failedRaces;
+	}
+
+	/**
+	 * @return number of completed races which had a winner
+	 */
+	public int getRacesWithWinner() {
+		return racesWithWinner;
+	}
+
+	/**
+	 * @return mean number of turns of the completed races
+	 */
+	public double getMeanTurns() {
+		return races == 0 ? 0 : (double) totalTurns / races;
+	}
+
+	/**
+	 * @return share of cars which crashed over all completed races
+	 */
+	public double getCrashRate() {
+		return carRaces == 0 ? 0 : (double) crashes / carRaces;
+	}
+
+	/**
+	 * @return time spent waiting for the races in nanoseconds
+	 */
+	public long getDurationNanos() {
+		return durationNanos;
+	}
+
+	/**
+	 * @return statistics per strategy, keyed by the strategy spec
+	 */
+	public Map<String, StrategyStatistics> getStrategies() {
+		return Collections.unmodifiableMap(strategies);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder(String.format(
+				"%d races, %d failed, %d with winner, mean turns: %.1f, crash rate: %.1f%%, time: %.3f ms%n",
+				races, failedRaces, racesWithWinner, getMeanTurns(), getCrashRate() * 100,
+				durationNanos / 1_000_000.0));
+		for (Map.Entry<String, StrategyStatistics> entry : strategies.entrySet()) {
+			text.append(String.format("  %s: %s%n", entry.getKey(), entry.getValue()));
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Results of all cars using the same strategy
+	 */
+	public static class StrategyStatistics {
+		private int cars;
+		private int wins;
+		private int crashes;
+
+		/**
+		 * @return number of cars which used the strategy, summed over all races
+		 */
+		public int getCars() {
+			return cars;
+		}
+
+		/**
+		 * @return number of races won by a car with the strategy
+		 */
+		public int getWins() {
+			return wins;
+		}
+
+		/**
+		 * @return share of the cars with the strategy which won their race
+		 */
+		public double getWinRate() {
+			return cars == 0 ? 0 : (double) wins / cars;
+		}
+
+		/**
+		 * @return share of the cars with the strategy which crashed
+		 */
+		public double getCrashRate() {
+			return cars == 0 ? 0 : (double) crashes / cars;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("win rate: %.1f%%, crash rate: %.1f%%", getWinRate() * 100, getCrashRate() * 100);
+		}
+	}
+}
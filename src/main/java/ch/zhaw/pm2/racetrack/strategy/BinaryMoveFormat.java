@@ -0,0 +1,151 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Packed binary format of move lists and converter between the text and the
+ * binary format.
+ * <p>
+ * A binary move list starts with the int magic number <code>0x89524D56</code>
+ * and the unsigned int number of moves (big-endian), followed by the moves as
+ * 4 bit {@link Direction} ordinals, two moves per byte with the first move in
+ * the low half. It is about 15 times smaller than the text format.
+ * </p>
+ * <p>
+ * Binary files are recognized by their magic number, so they can be used
+ * wherever a move file is read, see {@link MoveListStrategy}.
+ * </p>
+ */
+public final class BinaryMoveFormat {
+	/** Magic number at the start of binary move lists */
+	public static final int MAGIC = 0x89524D56;
+	/** Bytes before the first move */
+	static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+	private static final int BUFFER_SIZE = 8192;
+	private static final long MAX_MOVES = 0xFFFFFFFFL;
+
+	private BinaryMoveFormat() {
+	}
+
+	/**
+	 * Converts a move list to the binary format
+	 *
+	 * @param moveFile   text or binary move list
+	 * @param binaryFile file to write, an existing file is replaced
+	 * @return number of moves
+	 * @throws IOException                if reading or writing fails
+	 * @throws InvalidFileFormatException if the move list contains invalid data
+	 */
+	public static long toBinary(File moveFile, File binaryFile) throws IOException, InvalidFileFormatException {
+		try (MoveFileReader reader = new MoveFileReader(moveFile);
+				FileChannel out = FileChannel.open(binaryFile.toPath(), StandardOpenOption.CREATE,
+						StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			buffer.putInt(MAGIC).putInt(0);
+			long moves = 0;
+			int packed = 0;
+			Direction move;
+			while ((move = reader.next()) != null) {
+				if (moves == MAX_MOVES) {
+					throw new InvalidFileFormatException("The Move-List file contains too many moves");
+				}
+				if ((moves & 1) == 0) {
+					packed = move.ordinal();
+				} else {
+					buffer.put((byte) (packed | move.ordinal() << 4));
+					if (!buffer.hasRemaining()) {
+						write(out, buffer);
+					}
+				}
+				moves++;
+			}
+			if ((moves & 1) == 1) {
+				buffer.put((byte) packed);
+			}
+			write(out, buffer);
+			out.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, (int) moves), Integer.BYTES);
+			return moves;
+		}
+	}
+
+	/**
+	 * Converts a move list to the text format, one direction per line
+	 *
+	 * @param moveFile text or binary move list
+	 * @param textFile file to write, an existing file is replaced
+	 * @return number of moves
+	 * @throws IOException                if reading or writing fails
+	 * @throws InvalidFileFormatException if the move list contains invalid data
+	 */
+	public static long toText(File moveFile, File textFile) throws IOException, InvalidFileFormatException {
+		try (MoveFileReader reader = new MoveFileReader(moveFile);
+				BufferedWriter out = Files.newBufferedWriter(textFile.toPath(), StandardCharsets.US_ASCII)) {
+			long moves = 0;
+			Direction move;
+			while ((move = reader.next()) != null) {
+				out.write(move.name());
+				out.newLine();
+				moves++;
+			}
+			return moves;
+		}
+	}
+
+	/**
+	 * Converts a move list between the text and the binary format. Binary
+	 * input is written as text, text input as binary.
+	 *
+	 * @param args input file and output file
+	 */
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			System.err.println("Usage: BinaryMoveFormat <input-file> <output-file>");
+			System.exit(2);
+		}
+		File input = new File(args[0]);
+		File output = new File(args[1]);
+		try {
+			long moves = isBinary(input) ? toText(input, output) : toBinary(input, output);
+			System.out.println(moves + " moves written to " + output);
+		} catch (IOException | InvalidFileFormatException e) {
+			System.err.println("The move list could not be converted: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Checks if the file starts with the magic number of a binary move list
+	 *
+	 * @param moveFile file to check
+	 * @return true for binary move lists
+	 * @throws IOException if the file can not be read
+	 */
+	public static boolean isBinary(File moveFile) throws IOException {
+		try (FileChannel channel = FileChannel.open(moveFile.toPath())) {
+			ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+				// read until the header is complete or the file ends
+			}
+			return !header.hasRemaining() && header.getInt(0) == MAGIC;
+		}
+	}
+
+	private static void write(FileChannel out, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+		buffer.clear();
+	}
+}
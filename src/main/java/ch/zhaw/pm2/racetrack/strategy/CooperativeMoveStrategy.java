@@ -0,0 +1,175 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.pathfinder.CooperativePathFinder;
+import ch.zhaw.pm2.racetrack.pathfinder.ReservationTable;
+import model.Car;
+import model.Direction;
+import model.PositionVector;
+
+/**
+ * Drives the fastest move sequence to the finish line which does not collide
+ * with the other cars of the race using this strategy.
+ * <p>
+ * The cars share a {@link ReservationTable}: every car claims the cells of its
+ * planned trajectory and plans with the {@link CooperativePathFinder} around
+ * the claims of the others. A car only plans again if it is not where its plan
+ * expects it or a car which does not follow a plan, e.g. a crashed car or a car
+ * with another strategy, blocks its trajectory. Then only its own claims from
+ * the current round on are replaced, the plans of the other cars stay valid.
+ * Cars which do not follow a plan are avoided at their current position. A
+ * search which found no plan is only repeated after the claims, the obstacles
+ * or the position or velocity of the car changed.
+ * </p>
+ */
+public class CooperativeMoveStrategy implements MoveStrategy {
+	private final Track track;
+	private final int carIndex;
+	private final ReservationTable reservations;
+	private List<Direction> moves = Collections.emptyList();
+	private int planRound;
+	private int round = 0;
+	private PositionVector plannedVelocity;
+	private int planCount = 0;
+	/** Obstacles of the last search if it found no plan, null otherwise */
+	private List<PositionVector> failedObstacles;
+	private int failedVersion;
+	private PositionVector failedPosition;
+	private PositionVector failedVelocity;
+
+	/**
+	 * Creates a strategy, which shares the reservations with the cars of the
+	 * game whose strategy is already a CooperativeMoveStrategy
+	 *
+	 * @param game     game the car takes part in
+	 * @param carIndex the zero-based index of the car
+	 */
+	public CooperativeMoveStrategy(Game game, int carIndex) {
+		this.track = game.getTrack();
+		this.carIndex = carIndex;
+		this.reservations = findReservations(track);
+	}
+
+	private static ReservationTable findReservations(Track track) {
+		for (Car car : track.getCars()) {
+			if (car.getMoveStrategy() instanceof CooperativeMoveStrategy) {
+				CooperativeMoveStrategy other = (CooperativeMoveStrategy) car.getMoveStrategy();
+				if (other.track == track) {
+					return other.reservations;
+				}
+			}
+		}
+		return new ReservationTable(track.getWidth(), track.getCarCount());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return next direction of the planned move sequence, a braking direction
+	 *         if no collision-free sequence was found
+	 */
+	@Override
+	public Direction nextMove() {
+		// the cars before this one are a round ahead, so no car needs the claims before this round
+		reservations.prune(round);
+		Car car = track.getCar(carIndex);
+		BitSet obstacleCells = new BitSet();
+		List<PositionVector> obstacles = findObstacles(obstacleCells);
+		if ((!isFollowingPlan(car) || reservations.isAnyClaimed(carIndex, round, obstacleCells))
+				&& !isSameAsFailedSearch(car, obstacles)) {
+			plan(car, obstacles);
+		}
+		Direction move;
+		if (round - planRound < moves.size()) {
+			move = moves.get(round - planRound);
+			plannedVelocity = plannedVelocity.add(move.vector);
+		} else {
+			move = brake(car.getVelocity());
+		}
+		round++;
+		return move;
+	}
+
+	/**
+	 * @return number of searches of the car so far
+	 */
+	int getPlanCount() {
+		return planCount;
+	}
+
+	/**
+	 * Collects the positions of the other cars which are not where their claims
+	 * expect them, i.e. cars with another strategy, crashed cars and cars
+	 * without a plan. The claims of crashed cars are released.
+	 */
+	private List<PositionVector> findObstacles(BitSet obstacleCells) {
+		List<PositionVector> obstacles = new ArrayList<>();
+		for (int i = 0; i < track.getCarCount(); i++) {
+			if (i == carIndex) {
+				continue;
+			}
+			Car other = track.getCar(i);
+			if (other.isCrashed()) {
+				reservations.release(i, 0);
+			}
+			// the cars before this car have already moved in this round
+			int otherRound = i < carIndex ? round + 1 : round;
+			PositionVector position = other.getCurrentPosition();
+			if (!position.equals(reservations.getReservedPosition(i, otherRound))) {
+				obstacles.add(position);
+				if (track.isInside(position.getX(), position.getY())) {
+					obstacleCells.set(position.getY() * track.getWidth() + position.getX());
+				}
+			}
+		}
+		return obstacles;
+	}
+
+	private boolean isFollowingPlan(Car car) {
+		return round - planRound < moves.size()
+				&& car.getCurrentPosition().equals(reservations.getReservedPosition(carIndex, round))
+				&& car.getVelocity().equals(plannedVelocity);
+	}
+
+	private boolean isSameAsFailedSearch(Car car, List<PositionVector> obstacles) {
+		return failedObstacles != null && failedVersion == reservations.getVersion()
+				&& failedObstacles.equals(obstacles) && car.getCurrentPosition().equals(failedPosition)
+				&& car.getVelocity().equals(failedVelocity);
+	}
+
+	private void plan(Car car, List<PositionVector> obstacles) {
+		reservations.release(carIndex, round);
+		CooperativePathFinder finder = new CooperativePathFinder(track.getBoard(), reservations, carIndex, round,
+				car.getCurrentPosition(), car.getVelocity(), obstacles);
+		moves = finder.getMoves();
+		planRound = round;
+		plannedVelocity = car.getVelocity();
+		planCount++;
+		if (moves.isEmpty()) {
+			failedObstacles = obstacles;
+			failedVersion = reservations.getVersion();
+			failedPosition = car.getCurrentPosition();
+			failedVelocity = car.getVelocity();
+		} else {
+			failedObstacles = null;
+			reservations.reserve(carIndex, round, finder.getTrajectory());
+		}
+	}
+
+	private static Direction brake(PositionVector velocity) {
+		PositionVector acceleration = PositionVector.of(-Integer.signum(velocity.getX()),
+				-Integer.signum(velocity.getY()));
+		for (Direction direction : Direction.values()) {
+			if (direction.vector.equals(acceleration)) {
+				return direction;
+			}
+		}
+		return Direction.NONE;
+	}
+}
@@ -0,0 +1,98 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import java.util.List;
+
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.pathfinder.DStarLite;
+import ch.zhaw.pm2.racetrack.pathfinder.SpeedLimitField;
+import model.Car;
+import model.Direction;
+import model.PositionVector;
+
+/**
+ * Follows the shortest path to the finish line like the
+ * {@link PathFinderMoveStrategy}, but treats crashed cars as obstacles. The
+ * path is kept in a {@link DStarLite} search, which is repaired whenever a car
+ * crashes or a crashed car disappears, e.g. after a game state was restored.
+ * The car then follows the new path from its current position and velocity.
+ */
+public class DStarLiteMoveStrategy implements MoveStrategy {
+	private final Track track;
+	private final int carIndex;
+	private final DStarLite planner;
+	/** Blocked cell of every other car, null if the car is not crashed */
+	private final PositionVector[] obstacles;
+	private PathFollower pathFollower;
+
+	/**
+	 * Searches the first path from the current position of the car
+	 *
+	 * @param track    track the car races on
+	 * @param carIndex the zero-based index of the car
+	 */
+	public DStarLiteMoveStrategy(Track track, int carIndex) {
+		this.track = track;
+		this.carIndex = carIndex;
+		this.planner = new DStarLite(track.getBoard(), track.getCar(carIndex).getCurrentPosition());
+		this.obstacles = new PositionVector[track.getCarCount()];
+		updateObstacles();
+		replan();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return next direction to follow the shortest path around the crashed cars,
+	 *         {@link Direction#NONE} if the finish line can not be reached
+	 */
+	@Override
+	public Direction nextMove() {
+		if (updateObstacles()) {
+			replan();
+		}
+		return pathFollower == null ? Direction.NONE : pathFollower.nextMove();
+	}
+
+	/**
+	 * Blocks the cells of cars which crashed and frees the cells of cars which
+	 * are not crashed anymore
+	 *
+	 * @return true if a cell changed
+	 */
+	private boolean updateObstacles() {
+		boolean changed = false;
+		for (int i = 0; i < obstacles.length; i++) {
+			Car car = track.getCar(i);
+			PositionVector obstacle = i != carIndex && car.isCrashed() ? car.getCurrentPosition() : null;
+			if (obstacle == null ? obstacles[i] != null : !obstacle.equals(obstacles[i])) {
+				PositionVector freed = obstacles[i];
+				obstacles[i] = obstacle;
+				if (freed != null && !isObstacle(freed)) {
+					planner.setBlocked(freed, false);
+				}
+				if (obstacle != null) {
+					planner.setBlocked(obstacle, true);
+				}
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	private boolean isObstacle(PositionVector position) {
+		for (PositionVector obstacle : obstacles) {
+			if (position.equals(obstacle)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void replan() {
+		Car car = track.getCar(carIndex);
+		planner.setStart(car.getCurrentPosition());
+		List<PositionVector> path = planner.getShortestPath();
+		pathFollower = path.isEmpty() ? null : new PathFollower(car.getCurrentPosition(), car.getVelocity(), path,
+				SpeedLimitField.of(track.getBoard()));
+	}
+}
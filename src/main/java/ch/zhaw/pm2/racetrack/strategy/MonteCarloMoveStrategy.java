@@ -0,0 +1,341 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.GameState;
+import ch.zhaw.pm2.racetrack.PathWalker;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import ch.zhaw.pm2.racetrack.TransitionCache;
+import ch.zhaw.pm2.racetrack.pathfinder.DistanceField;
+import model.Car;
+import model.Direction;
+import model.PositionVector;
+import model.SpaceType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Chooses every move by simulating the race from the current state of the
+ * game many times (Monte-Carlo rollouts) and taking the direction with the
+ * best average outcome.
+ * <p>
+ * The rollouts run on a {@link ForkJoinPool}, every worker of the pool
+ * simulates on its own copy of the track, which is reset to the current state
+ * with a {@link GameState} before every rollout. The workers keep starting new
+ * rollouts until the time budget of the move is used up, so the number of
+ * rollouts grows with the number of cores. The copies and the shared fields of
+ * the board are created with the strategy, so the budget of a move is spent
+ * on rollouts only.
+ * </p>
+ * <p>
+ * In a rollout all cars race on: cars with a {@link DoNotMoveStrategy} stand
+ * still, the other cars, including the own car after its first move, mostly
+ * choose the move getting closest to the finish line according to the
+ * {@link DistanceField} among the moves after which they can still brake
+ * without crashing, and sometimes a random one of these moves. Crashes into walls
+ * and cars are detected by {@link Game#doCarTurn(Direction)} as in the real
+ * race, the workers share the {@link TransitionCache} of the board for it. A
+ * rollout ends when the own car crashes or crosses the finish line backwards,
+ * a car wins, the own car has made the maximum number of moves or the time
+ * budget is used up.
+ * </p>
+ */
+public class MonteCarloMoveStrategy implements MoveStrategy {
+	/** Default time budget per move in milliseconds */
+	public static final long DEFAULT_BUDGET_MILLIS = 100;
+	/** Default number of moves of the own car per rollout */
+	public static final int DEFAULT_HORIZON = 30;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private static final double CRASH_SCORE = 0;
+	private static final double OTHER_CAR_WINS_SCORE = 0.1;
+	private static final double MIN_PROGRESS_SCORE = 0.25;
+	private static final double WIN_SCORE = 1;
+	/** One in this number of rollout moves is a random safe move instead of the greedy one */
+	private static final int RANDOM_MOVE_ODDS = 5;
+
+	private final Game game;
+	private final int carIndex;
+	private final long budgetNanos;
+	private final int horizon;
+	private final ForkJoinPool pool;
+	private final Simulator[] simulators;
+	private final GameState root;
+	private final boolean[] standing;
+
+	/**
+	 * Creates a strategy with the {@link #DEFAULT_BUDGET_MILLIS} and the
+	 * {@link #DEFAULT_HORIZON}, running on the common pool
+	 *
+	 * @param game     game the car takes part in
+	 * @param carIndex the zero-based index of the car
+	 */
+	public MonteCarloMoveStrategy(Game game, int carIndex) {
+		this(game, carIndex, DEFAULT_BUDGET_MILLIS, DEFAULT_HORIZON, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a strategy
+	 *
+	 * @param game         game the car takes part in
+	 * @param carIndex     the zero-based index of the car
+	 * @param budgetMillis time to spend on the rollouts of every move in milliseconds
+	 * @param horizon      maximum number of moves of the own car per rollout
+	 * @param pool         pool to run the rollouts on, one worker per thread of the pool
+	 * @throws IllegalArgumentException if the budget or the horizon is not positive
+	 */
+	public MonteCarloMoveStrategy(Game game, int carIndex, long budgetMillis, int horizon, ForkJoinPool pool) {
+		if (budgetMillis <= 0 || horizon <= 0) {
+			throw new IllegalArgumentException("The time budget and the horizon must be positive");
+		}
+		this.game = game;
+		this.carIndex = carIndex;
+		this.budgetNanos = budgetMillis * 1_000_000;
+		this.horizon = horizon;
+		this.pool = pool;
+		this.simulators = new Simulator[pool.getParallelism()];
+		for (int worker = 0; worker < simulators.length; worker++) {
+			simulators[worker] = new Simulator(worker);
+		}
+		this.root = new GameState(game.getCarCount());
+		this.standing = new boolean[game.getCarCount()];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return direction with the best average rollout outcome
+	 */
+	@Override
+	public Direction nextMove() {
+		long deadline = System.nanoTime() + budgetNanos;
+		game.snapshot(root);
+		for (int i = 0; i < standing.length; i++) {
+			standing[i] = game.getCarMoveStrategy(i) instanceof DoNotMoveStrategy;
+		}
+		pool.invoke(new Rollouts(0, simulators.length, deadline));
+
+		double[] scores = new double[DIRECTIONS.length];
+		int[] counts = new int[DIRECTIONS.length];
+		for (Simulator simulator : simulators) {
+			for (int i = 0; i < DIRECTIONS.length; i++) {
+				scores[i] += simulator.scores[i];
+				counts[i] += simulator.counts[i];
+			}
+		}
+		Direction best = Direction.NONE;
+		double bestScore = -1;
+		for (int i = 0; i < DIRECTIONS.length; i++) {
+			if (counts[i] > 0 && scores[i] / counts[i] > bestScore) {
+				bestScore = scores[i] / counts[i];
+				best = DIRECTIONS[i];
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Splits the workers until every task runs the rollouts of one worker
+	 */
+	private class Rollouts extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int from;
+		private final int to;
+		private final long deadline;
+
+		Rollouts(int from, int to, long deadline) {
+			this.from = from;
+			this.to = to;
+			this.deadline = deadline;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > 1) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Rollouts(from, middle, deadline), new Rollouts(middle, to, deadline));
+				return;
+			}
+			simulators[from].run(deadline, from == 0);
+		}
+	}
+
+	/**
+	 * Copy of the race for one worker. The scores and counts of the first
+	 * directions are collected per simulator and summed up after all workers
+	 * are done.
+	 */
+	private class Simulator implements PathWalker.CellVisitor {
+		private final Track track;
+		private final Game simulation;
+		private final DistanceField distanceField;
+		private final SplittableRandom random;
+		private final double[] scores = new double[DIRECTIONS.length];
+		private final int[] counts = new int[DIRECTIONS.length];
+		private int movingCar;
+		private int startX;
+		private int startY;
+		private boolean checkCars;
+		private boolean reachesFinish;
+
+		Simulator(int worker) {
+			TrackBoard board = game.getTrack().getBoard();
+			track = new Track(board);
+			simulation = new Game(track);
+			simulation.setTransitionCache(TransitionCache.of(board));
+			distanceField = DistanceField.of(board);
+			random = new SplittableRandom(System.nanoTime() + worker);
+		}
+
+		/**
+		 * Runs rollouts for all first directions in turn until the deadline. The
+		 * first worker tries every direction at least once, even if the budget
+		 * is used up, but rollouts past the deadline end after the first move.
+		 */
+		void run(long deadline, boolean tryAll) {
+			Arrays.fill(scores, 0);
+			Arrays.fill(counts, 0);
+			int offset = random.nextInt(DIRECTIONS.length);
+			for (int rollout = 0; (tryAll && rollout < DIRECTIONS.length) || System.nanoTime() < deadline; rollout++) {
+				int first = (offset + rollout) % DIRECTIONS.length;
+				scores[first] += rollout(DIRECTIONS[first], deadline);
+				counts[first]++;
+			}
+		}
+
+		/**
+		 * Simulates the race until it is decided, the own car has made the
+		 * maximum number of moves or the deadline has passed after a move of
+		 * the own car
+		 */
+		private double rollout(Direction first, long deadline) {
+			simulation.restore(root);
+			Car car = track.getCar(carIndex);
+			int startDistance = distanceField.getDistance(car.getPositionX(), car.getPositionY());
+			int startLap = car.getLapCounter();
+			int moves = 0;
+			while (true) {
+				int current = track.getCarIndex();
+				Direction move;
+				if (current == carIndex) {
+					move = moves == 0 ? first : choose(current);
+					moves++;
+				} else {
+					move = standing[current] ? Direction.NONE : choose(current);
+				}
+				simulation.doCarTurn(move);
+				if (car.isCrashed() || car.getLapCounter() < startLap) {
+					return CRASH_SCORE;
+				}
+				if (car.getLapCounter() == 1) {
+					return WIN_SCORE + (double) (horizon - moves) / horizon;
+				}
+				if (track.getCar(current).getLapCounter() == 1) {
+					return OTHER_CAR_WINS_SCORE;
+				}
+				if (current == carIndex && (moves >= horizon || System.nanoTime() >= deadline)) {
+					return progressScore(startDistance, car.getCurrentPosition());
+				}
+				simulation.switchToNextActiveCar();
+			}
+		}
+
+		/**
+		 * Score between {@link #MIN_PROGRESS_SCORE} and {@link #WIN_SCORE} for
+		 * the part of the distance to the finish line covered in the rollout
+		 */
+		private double progressScore(int startDistance, PositionVector position) {
+			int distance = distanceField.getDistance(position.getX(), position.getY());
+			double progress = startDistance == DistanceField.UNREACHABLE || startDistance == 0 ? 0
+					: Math.max(0, Math.min(1, (startDistance - (double) distance) / startDistance));
+			return MIN_PROGRESS_SCORE + (WIN_SCORE - MIN_PROGRESS_SCORE) * progress;
+		}
+
+		/**
+		 * Rollout policy of the cars. A move is safe if it does not crash, does
+		 * not cross the finish line backwards and the car can brake to a stop
+		 * afterwards without hitting a wall. Moves
+		 * reaching the finish line are taken at once, otherwise mostly the safe
+		 * move ending closest to the finish line is taken and sometimes a random
+		 * safe one. Unsafe moves are only taken if there is no safe one.
+		 */
+		private Direction choose(int car) {
+			PositionVector position = track.getCar(car).getCurrentPosition();
+			PositionVector velocity = track.getCar(car).getVelocity();
+			int offset = random.nextInt(DIRECTIONS.length);
+			boolean greedy = random.nextInt(RANDOM_MOVE_ODDS) != 0;
+			Direction best = null;
+			int bestDistance = Integer.MAX_VALUE;
+			Direction notCrashing = null;
+			for (int i = 0; i < DIRECTIONS.length; i++) {
+				Direction direction = DIRECTIONS[(offset + i) % DIRECTIONS.length];
+				int velocityX = velocity.getX() + direction.vector.getX();
+				int velocityY = velocity.getY() + direction.vector.getY();
+				int endX = position.getX() + velocityX;
+				int endY = position.getY() + velocityY;
+				if (!isClear(car, position.getX(), position.getY(), endX, endY, true)) {
+					continue;
+				}
+				if (reachesFinish) {
+					return direction;
+				}
+				if (!canStop(car, endX, endY, velocityX, velocityY)) {
+					notCrashing = notCrashing == null ? direction : notCrashing;
+				} else if (!greedy) {
+					return direction;
+				} else if (distanceField.getDistance(endX, endY) < bestDistance) {
+					best = direction;
+					bestDistance = distanceField.getDistance(endX, endY);
+				}
+			}
+			if (best != null) {
+				return best;
+			}
+			return notCrashing != null ? notCrashing : DIRECTIONS[offset];
+		}
+
+		/**
+		 * Checks if the car can reduce its velocity by one in both axes per move
+		 * until it stands still without hitting a wall
+		 */
+		private boolean canStop(int car, int x, int y, int velocityX, int velocityY) {
+			while (velocityX != 0 || velocityY != 0) {
+				velocityX -= Integer.signum(velocityX);
+				velocityY -= Integer.signum(velocityY);
+				if (!isClear(car, x, y, x + velocityX, y + velocityY, false)) {
+					return false;
+				}
+				x += velocityX;
+				y += velocityY;
+			}
+			return true;
+		}
+
+		private boolean isClear(int car, int fromX, int fromY, int toX, int toY, boolean checkCars) {
+			movingCar = car;
+			startX = fromX;
+			startY = fromY;
+			this.checkCars = checkCars;
+			reachesFinish = false;
+			return PathWalker.walk(fromX, fromY, toX, toY, this);
+		}
+
+		@Override
+		public boolean visit(int x, int y) {
+			if (checkCars && track.isOccupiedByOtherCar(movingCar, x, y) || track.getSpaceTypeAt(x, y) == SpaceType.WALL) {
+				return false;
+			}
+			if (TrackBoard.isFinishLine(track.getSpaceTypeAt(x, y))) {
+				// crossing the finish line backwards costs a lap, so it is avoided like a crash
+				if (!DistanceField.canEnter(track.getBoard(), startX, startY, x, y)) {
+					return false;
+				}
+				reachesFinish = true;
+			}
+			return true;
+		}
+	}
+}
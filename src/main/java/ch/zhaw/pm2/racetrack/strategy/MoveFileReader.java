@@ -0,0 +1,207 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the moves of a move list file one at a time through a buffered file
+ * channel, so only one buffer is kept in memory regardless of the file length.
+ * <p>
+ * Every non-empty line has to contain the name of a {@link Direction}, lines
+ * may end with <code>\n</code>, <code>\r\n</code> or a lone <code>\r</code>
+ * like in the track files. The lines are decoded
+ * without creating any strings: the bytes are compared with the precomputed
+ * names of the directions having the same length.
+ * </p>
+ * <p>
+ * Files starting with the magic number of the {@link BinaryMoveFormat} are
+ * mapped into memory instead and the moves are decoded from their packed
+ * 4 bit codes.
+ * </p>
+ */
+final class MoveFileReader implements AutoCloseable {
+	private static final int BUFFER_SIZE = 8192;
+	private static final Direction[] DIRECTIONS = Direction.values();
+	/** Longest direction name, longer lines are invalid */
+	private static final int MAX_NAME_LENGTH;
+	/** Directions by the length of their name */
+	private static final Direction[][] DIRECTIONS_BY_LENGTH;
+	/** ASCII names of the directions, indexed by ordinal */
+	private static final byte[][] NAMES;
+
+	static {
+		Direction[] directions = Direction.values();
+		NAMES = new byte[directions.length][];
+		int maxLength = 0;
+		for (Direction direction : directions) {
+			NAMES[direction.ordinal()] = direction.name().getBytes(StandardCharsets.US_ASCII);
+			maxLength = Math.max(maxLength, direction.name().length());
+		}
+		MAX_NAME_LENGTH = maxLength;
+		DIRECTIONS_BY_LENGTH = new Direction[maxLength + 1][0];
+		for (Direction direction : directions) {
+			Direction[] sameLength = DIRECTIONS_BY_LENGTH[direction.name().length()];
+			sameLength = Arrays.copyOf(sameLength, sameLength.length + 1);
+			sameLength[sameLength.length - 1] = direction;
+			DIRECTIONS_BY_LENGTH[direction.name().length()] = sameLength;
+		}
+	}
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	/** Start of the current line, the bytes after the name length are not stored */
+	private final byte[] line = new byte[MAX_NAME_LENGTH + 1];
+	private boolean endOfFile = false;
+	private boolean started = false;
+	/** Mapped file of a binary move list, null for a text file */
+	private MappedByteBuffer packedMoves;
+	private long moveCount;
+	private long moveIndex;
+
+	/**
+	 * Opens the move file
+	 *
+	 * @param moveFile file containing the list of moves
+	 * @throws FileNotFoundException if the move file cannot be found
+	 */
+	MoveFileReader(File moveFile) throws FileNotFoundException {
+		channel = new FileInputStream(moveFile).getChannel();
+		buffer.flip();
+	}
+
+	/**
+	 * Reads the next move, empty lines are skipped. The file is closed when
+	 * its end is reached.
+	 *
+	 * @return the next move, null at the end of the file
+	 * @throws IOException                if reading fails
+	 * @throws InvalidFileFormatException if the line does not contain a direction
+	 */
+	Direction next() throws IOException, InvalidFileFormatException {
+		if (!started) {
+			started = true;
+			mapBinaryFile();
+		}
+		if (packedMoves != null) {
+			return nextPacked();
+		}
+		while (true) {
+			int length = readLine();
+			if (length < 0) {
+				close();
+				return null;
+			}
+			if (length > 0) {
+				return decode(length);
+			}
+		}
+	}
+
+	/**
+	 * Maps the file if it starts with the magic number of a binary move list
+	 */
+	private void mapBinaryFile() throws IOException, InvalidFileFormatException {
+		if (!fill() || buffer.remaining() < Integer.BYTES || buffer.getInt(0) != BinaryMoveFormat.MAGIC) {
+			return;
+		}
+		if (channel.size() > Integer.MAX_VALUE) {
+			throw new InvalidFileFormatException("The binary Move-List file is too large");
+		}
+		packedMoves = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		if (packedMoves.limit() < BinaryMoveFormat.HEADER_SIZE) {
+			throw new InvalidFileFormatException("The binary Move-List file is truncated");
+		}
+		moveCount = packedMoves.getInt(Integer.BYTES) & 0xFFFFFFFFL;
+		if (BinaryMoveFormat.HEADER_SIZE + (moveCount + 1) / 2 != channel.size()) {
+			throw new InvalidFileFormatException("The binary Move-List file does not contain " + moveCount + " moves");
+		}
+	}
+
+	private Direction nextPacked() throws IOException, InvalidFileFormatException {
+		if (moveIndex == moveCount) {
+			close();
+			return null;
+		}
+		int packed = packedMoves.get((int) (BinaryMoveFormat.HEADER_SIZE + moveIndex / 2));
+		int code = (moveIndex & 1) == 0 ? packed & 0x0F : (packed >>> 4) & 0x0F;
+		if (code >= DIRECTIONS.length) {
+			throw new InvalidFileFormatException("The binary Move-List file contains an illegal Movement: " + code);
+		}
+		moveIndex++;
+		return DIRECTIONS[code];
+	}
+
+	/**
+	 * Reads the next line into the line array, without the line break. The
+	 * <code>\n</code> of a <code>\r\n</code> ends an empty line, which
+	 * {@link #next()} skips.
+	 *
+	 * @return length of the line, -1 at the end of the file
+	 */
+	private int readLine() throws IOException {
+		int length = 0;
+		while (true) {
+			if (!buffer.hasRemaining() && !fill()) {
+				return length == 0 ? -1 : length;
+			}
+			byte b = buffer.get();
+			if (b == '\n' || b == '\r') {
+				return length;
+			}
+			if (length < line.length) {
+				line[length] = b;
+			}
+			length++;
+		}
+	}
+
+	private boolean fill() throws IOException {
+		if (endOfFile) {
+			return false;
+		}
+		buffer.clear();
+		int read;
+		do {
+			read = channel.read(buffer);
+		} while (read == 0);
+		buffer.flip();
+		endOfFile = read < 0;
+		return !endOfFile;
+	}
+
+	private Direction decode(int length) throws InvalidFileFormatException {
+		if (length <= MAX_NAME_LENGTH) {
+			for (Direction direction : DIRECTIONS_BY_LENGTH[length]) {
+				if (Arrays.equals(NAMES[direction.ordinal()], 0, length, line, 0, length)) {
+					return direction;
+				}
+			}
+		}
+		String text = new String(line, 0, Math.min(length, line.length), StandardCharsets.UTF_8);
+		throw new InvalidFileFormatException("The Move-List file contains an illegal Movement: "
+				+ (length > line.length ? text + "..." : text));
+	}
+
+	/**
+	 * Releases the file, further calls of {@link #next()} return null
+	 *
+	 * @throws IOException if closing fails
+	 */
+	@Override
+	public void close() throws IOException {
+		endOfFile = true;
+		moveIndex = moveCount;
+		buffer.clear().flip();
+		channel.close();
+	}
+}
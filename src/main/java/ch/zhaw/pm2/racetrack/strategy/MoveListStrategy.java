@@ -5,16 +5,44 @@ import model.Direction;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Determines the next move based on a file containing a list of directions.
+ * <p>
+ * By default all moves are read when the strategy is created. A strategy
+ * created with {@link #streaming(File)} reads the moves one at a time while
+ * the race runs, so the memory used does not depend on the length of the file.
+ * </p>
+ * <p>
+ * Both modes read text move lists as well as packed binary move lists, see
+ * {@link BinaryMoveFormat}. Binary files are mapped into memory.
+ * </p>
  */
-public class MoveListStrategy implements MoveStrategy {
+public class MoveListStrategy implements MoveStrategy, AutoCloseable {
 
-    private ArrayList<Direction> movesList = new ArrayList<>();
+    /** Idle time after which a validation thread ends */
+    private static final long VALIDATION_KEEP_ALIVE_SECONDS = 10;
+
+    /**
+     * Runs the validation of streamed move files on at most one daemon thread per
+     * processor, further files wait in the queue
+     */
+    private static final ExecutorService VALIDATION_EXECUTOR = createValidationExecutor();
+
+    private ArrayList<Direction> movesList;
 
     private int moveNumber = 0;
 
+    private MoveFileReader reader;
+
+    private CompletableFuture<Integer> validation;
+
     /**
      Constructs a new MoveListStrategy instance by reading the move file.
      @param moveFile the file containing the list of moves.
@@ -22,16 +50,43 @@ public class MoveListStrategy implements MoveStrategy {
      @throws InvalidFileFormatException if the move file has an invalid format.
      */
     public MoveListStrategy(File moveFile) throws InvalidFileFormatException, FileNotFoundException {
+        movesList = new ArrayList<>();
         readFile(moveFile);
     }
 
+    private MoveListStrategy(MoveFileReader reader, CompletableFuture<Integer> validation) {
+        this.reader = reader;
+        this.validation = validation;
+    }
+
+    /**
+     Creates a MoveListStrategy which reads the moves lazily from the move file.
+     The whole file is validated on a background thread at the same time, see
+     {@link #awaitValidation()}. The file is released when its end is reached,
+     on the first invalid line or by {@link #close()}.
+     @param moveFile the file containing the list of moves.
+     @return a streaming move list strategy.
+     @throws FileNotFoundException if the move file cannot be found.
+     */
+    public static MoveListStrategy streaming(File moveFile) throws FileNotFoundException {
+        MoveFileReader reader = new MoveFileReader(moveFile);
+        CompletableFuture<Integer> validation = CompletableFuture.supplyAsync(() -> validate(moveFile),
+                VALIDATION_EXECUTOR);
+        return new MoveListStrategy(reader, validation);
+    }
+
     /**
      * {@inheritDoc}
      *
      * @return next direction from move file or NONE, if no more moves are available.
+     *         A streaming strategy returns null to terminate the game as soon as the
+     *         file is known to be invalid.
      */
     @Override
     public Direction nextMove() {
+        if (reader != null) {
+            return nextStreamedMove();
+        }
         Direction nextDirection;
         if(moveNumber < movesList.size()){
             nextDirection = movesList.get(moveNumber);
@@ -42,44 +97,134 @@ public class MoveListStrategy implements MoveStrategy {
         return nextDirection;
     }
 
+    private Direction nextStreamedMove() {
+        if (validation.isCompletedExceptionally()) {
+            closeQuietly();
+            return null;
+        }
+        try {
+            Direction direction = reader.next();
+            return direction == null ? Direction.NONE : direction;
+        } catch (InvalidFileFormatException | IOException e) {
+            closeQuietly();
+            return null;
+        }
+    }
+
+    /**
+     Waits until the background validation of a streaming strategy is done.
+     @return the number of moves in the file.
+     @throws InvalidFileFormatException if the move file has an invalid format.
+     @throws IOException if the move file could not be read.
+     @throws IllegalStateException if the strategy is not streaming.
+     */
+    public int awaitValidation() throws InvalidFileFormatException, IOException {
+        if (validation == null) {
+            throw new IllegalStateException("Only streaming move lists are validated in the background");
+        }
+        try {
+            return validation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof InvalidMoveFile) {
+                throw ((InvalidMoveFile) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     Releases the move file of a streaming strategy, further moves are NONE.
+     Does nothing for a strategy which read all moves upfront.
+     */
+    @Override
+    public void close() {
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // the file is not used anymore
+            }
+        }
+    }
+
     /**
      Reads the move file and stores each move in the moves list.
      @param moveFile the file containing the list of moves.
      @throws FileNotFoundException if the move file cannot be found.
      @throws InvalidFileFormatException if the move file has an invalid format.
-     @throws RuntimeException if an error occurs while reading the move file.
+     @throws UncheckedIOException if an error occurs while reading the move file.
      */
     private void readFile(File moveFile) throws InvalidFileFormatException, FileNotFoundException {
-        BufferedReader reader = new BufferedReader(new FileReader(moveFile));
-        try {
-            String move;
-            while ((move = reader.readLine()) != null) {
-                if(!(move.isEmpty())){
-                    movesList.add(checkMoveLine(move));
-                }
+        try (MoveFileReader fileReader = new MoveFileReader(moveFile)) {
+            Direction move;
+            while ((move = fileReader.next()) != null) {
+                movesList.add(move);
             }
+        } catch (FileNotFoundException e) {
+            throw e;
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
     }
 
-    /**
-     Checks if a move line is valid and returns the corresponding Direction enum constant.
-     @param moveLine a move line from the move file.
-     @return the corresponding Direction enum constant.
-     @throws InvalidFileFormatException if the move line is invalid.
-     */
-    private Direction checkMoveLine(String moveLine) throws InvalidFileFormatException {
-        Direction direction;
-        try{
-            direction = Direction.valueOf(moveLine);
-        } catch (IllegalArgumentException e){
-            throw new InvalidFileFormatException("The Move-List file contains an illegal Movement: " + moveLine);
+    private static ExecutorService createValidationExecutor() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, VALIDATION_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "move-list-validation");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static int validate(File moveFile) {
+        int moves = 0;
+        try (MoveFileReader fileReader = new MoveFileReader(moveFile)) {
+            while (fileReader.next() != null) {
+                moves++;
+            }
+        } catch (InvalidFileFormatException e) {
+            throw new InvalidMoveFile(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return direction;
+        return moves;
     }
 
+    /**
+     Returns all moves of the file.
+     @return the moves list.
+     @throws IllegalStateException if the strategy is streaming and does not keep the moves.
+     */
     public ArrayList<Direction> getMovesList(){
+        if (movesList == null) {
+            throw new IllegalStateException("A streaming move list does not keep its moves");
+        }
         return movesList;
     }
+
+    /**
+     * Carries an invalid format found by the background validation
+     */
+    private static class InvalidMoveFile extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        InvalidMoveFile(InvalidFileFormatException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized InvalidFileFormatException getCause() {
+            return (InvalidFileFormatException) super.getCause();
+        }
+    }
 }
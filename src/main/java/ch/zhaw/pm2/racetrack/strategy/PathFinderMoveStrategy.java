@@ -4,18 +4,21 @@ import java.io.FileNotFoundException;
 
 import ch.zhaw.pm2.racetrack.Track;
 import ch.zhaw.pm2.racetrack.pathfinder.PathFinder;
+import ch.zhaw.pm2.racetrack.pathfinder.SpeedLimitField;
 import model.Direction;
 import model.PositionVector;
 
 /**
- * Determines the next move based on a file containing points on a path.
+ * Follows the shortest path found by the {@link PathFinder} within the speed
+ * limits of the track.
  */
 public class PathFinderMoveStrategy implements MoveStrategy {
 
 	private PathFollower pathFollower;
 
 	public PathFinderMoveStrategy(PositionVector startPosition, Track track) throws FileNotFoundException {
-		pathFollower = new PathFollower(startPosition, new PathFinder(startPosition, track).getShortestPath());
+		pathFollower = new PathFollower(startPosition, PositionVector.of(0, 0),
+				new PathFinder(startPosition, track).getShortestPath(), SpeedLimitField.of(track.getBoard()));
 	}
 	
     /**
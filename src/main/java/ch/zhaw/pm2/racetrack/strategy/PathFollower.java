@@ -1,62 +1,165 @@
 package ch.zhaw.pm2.racetrack.strategy;
 
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
 import java.util.List;
 
+import ch.zhaw.pm2.racetrack.pathfinder.SpeedLimitField;
 import model.Direction;
 import model.PositionVector;
 
 /**
  * The PathFollower Class returns Directions via the nextMove Method which allow travel between the provided waypoints
- *
+ * <p>
+ * Waypoints which lie on a straight or diagonal line between their neighbours are skipped, so the car only stops
+ * where the path turns. In each axis the car accelerates as long as it can still brake to the next waypoint, the
+ * braking distance of the speed v is v + (v - 1) + ... + 1 cells. If a {@link SpeedLimitField} is given, the car
+ * also never gets faster than the speed at which it can stop before the next wall.
+ * </p>
  */
 public class PathFollower {
+	private static final int[] ACCELERATIONS = {-1, 0, 1};
+
 	private List<PositionVector> wayPoints;
+	private final SpeedLimitField speedLimits;
 	private int movePointer = 0;
-	private PositionVector currentPosition;
-	private PositionVector currentVelocity;
+	private int positionX;
+	private int positionY;
+	private int velocityX;
+	private int velocityY;
 
 	public PathFollower(PositionVector startPosition, List<PositionVector> path) throws FileNotFoundException {
-		currentPosition = startPosition;
-		currentVelocity = new PositionVector(0, 0);
-		wayPoints = path;
+		this(startPosition, PositionVector.of(0, 0), path, null);
+	}
+
+	/**
+	 * Creates a follower for a car which is already moving, e.g. after the path was searched again during the race
+	 *
+	 * @param startPosition current position of the car
+	 * @param velocity      current velocity of the car
+	 * @param path          waypoints to follow, starting with the current position
+	 */
+	public PathFollower(PositionVector startPosition, PositionVector velocity, List<PositionVector> path) {
+		this(startPosition, velocity, path, null);
+	}
+
+	/**
+	 * Creates a follower which keeps to the speed limits of the track
+	 *
+	 * @param startPosition current position of the car
+	 * @param velocity      current velocity of the car
+	 * @param path          waypoints to follow, starting with the current position
+	 * @param speedLimits   speed limits of the track, null to ignore the walls
+	 */
+	public PathFollower(PositionVector startPosition, PositionVector velocity, List<PositionVector> path,
+			SpeedLimitField speedLimits) {
+		positionX = startPosition.getX();
+		positionY = startPosition.getY();
+		velocityX = velocity.getX();
+		velocityY = velocity.getY();
+		wayPoints = withoutStraightWayPoints(path);
+		this.speedLimits = speedLimits;
 	}
 
 	/**
 	 * Fetches the next direction to apply to a car to reach the next wayPoint 
-	 * @return Direction direction
+	 * @return Direction direction, {@link Direction#NONE} if there are no waypoints
 	 */
 	public Direction nextMove() {
-		PositionVector target = wayPoints.get(movePointer);
-		if (currentPosition.equals(target)) {
+		if (wayPoints.isEmpty()) {
+			return Direction.NONE;
+		}
+		while (movePointer < wayPoints.size() - 1 && isAt(wayPoints.get(movePointer))) {
 			movePointer++;
 		}
-		int accX = calculateAcceleration(currentPosition.getX(), wayPoints.get(movePointer).getX(),
-				currentVelocity.getX());
-		int accY = calculateAcceleration(currentPosition.getY(), wayPoints.get(movePointer).getY(),
-				currentVelocity.getY());
-		Direction direction = selectDirection(new PositionVector(accX, accY));
-		currentVelocity = currentVelocity.add(direction.vector);
-		currentPosition = currentPosition.add(currentVelocity);
+		PositionVector target = wayPoints.get(movePointer);
+		int accelerationX;
+		int accelerationY;
+		if (isMovingAway(positionX, target.getX(), velocityX) || isMovingAway(positionY, target.getY(), velocityY)) {
+			// a sharp turn, the car stops before it leaves the path sideways
+			accelerationX = -Integer.signum(velocityX);
+			accelerationY = -Integer.signum(velocityY);
+		} else {
+			accelerationX = calculateAcceleration(positionX, target.getX(), velocityX, Direction.RIGHT,
+					Direction.LEFT);
+			accelerationY = calculateAcceleration(positionY, target.getY(), velocityY, Direction.DOWN, Direction.UP);
+		}
+		Direction direction = selectDirection(accelerationX, accelerationY);
+		velocityX += direction.vector.getX();
+		velocityY += direction.vector.getY();
+		positionX += velocityX;
+		positionY += velocityY;
 		return direction;
 	}
 
-	private int calculateAcceleration(int current, int target, int currentVelocity) {
-		int factor = target >= current ? 1 : -1;
+	private boolean isAt(PositionVector wayPoint) {
+		return wayPoint.getX() == positionX && wayPoint.getY() == positionY;
+	}
+
+	/**
+	 * Chooses the acceleration in one axis which gets closest to the target
+	 * while the car can still brake to the target and before the next wall.
+	 * If no acceleration is safe, the car brakes.
+	 */
+	private int calculateAcceleration(int current, int target, int currentVelocity, Direction positive,
+			Direction negative) {
+		int factor = Integer.signum(target - current);
 		int distanceRemaining = Math.abs(target - current);
-		int v = Math.abs(currentVelocity);
-		if ((v + 1) * 2 <= distanceRemaining || distanceRemaining > 0 && v == 0) {
-			return 1 * factor;
-		} else if (v * 2 > distanceRemaining) {
-			return currentVelocity > 0 ? -1 : 1;
-		} else {
-			return 0;
+		int best = currentVelocity > 0 ? -1 : 1;
+		int bestProgress = Integer.MIN_VALUE;
+		for (int acceleration : ACCELERATIONS) {
+			int v = currentVelocity + acceleration;
+			boolean safe = v == 0 || Integer.signum(v) == factor
+					&& (long) Math.abs(v) * (Math.abs(v) + 1) / 2 <= distanceRemaining
+					&& isBelowSpeedLimit(Math.abs(v), v > 0 ? positive : negative);
+			if (safe && v * factor > bestProgress) {
+				best = acceleration;
+				bestProgress = v * factor;
+			}
 		}
+		return best;
+	}
+
+	private static boolean isMovingAway(int current, int target, int currentVelocity) {
+		return currentVelocity != 0 && Integer.signum(currentVelocity) != Integer.signum(target - current);
+	}
+
+	private boolean isBelowSpeedLimit(int speed, Direction direction) {
+		return speedLimits == null
+				|| speed <= speedLimits.getMaxSpeed(positionX, positionY, direction);
+	}
+
+	/**
+	 * Removes the waypoints which lie on a straight or diagonal line with the
+	 * previous and the next waypoint
+	 */
+	private static List<PositionVector> withoutStraightWayPoints(List<PositionVector> path) {
+		List<PositionVector> result = new ArrayList<>(path.size());
+		for (int i = 0; i < path.size(); i++) {
+			if (i == 0 || i == path.size() - 1
+					|| !isStraightLine(path.get(i - 1), path.get(i), path.get(i + 1))) {
+				result.add(path.get(i));
+			}
+		}
+		return result;
+	}
+
+	private static boolean isStraightLine(PositionVector previous, PositionVector current, PositionVector next) {
+		PositionVector first = current.subtract(previous);
+		PositionVector second = next.subtract(current);
+		return isStraightOrDiagonal(first) && isStraightOrDiagonal(second)
+				&& Integer.signum(first.getX()) == Integer.signum(second.getX())
+				&& Integer.signum(first.getY()) == Integer.signum(second.getY());
+	}
+
+	private static boolean isStraightOrDiagonal(PositionVector step) {
+		return !step.equals(PositionVector.of(0, 0))
+				&& (step.getX() == 0 || step.getY() == 0 || Math.abs(step.getX()) == Math.abs(step.getY()));
 	}
 
-	private Direction selectDirection(PositionVector acceleration) {
+	private Direction selectDirection(int accelerationX, int accelerationY) {
 		for (Direction direction : Direction.values()) {
-			if (direction.vector.equals(acceleration)) {
+			if (direction.vector.getX() == accelerationX && direction.vector.getY() == accelerationY) {
 				return direction;
 			}
 		}
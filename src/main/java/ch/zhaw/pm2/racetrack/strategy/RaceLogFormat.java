@@ -0,0 +1,151 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary format of race logs, written while a race is recorded and read by
+ * {@link ReplayMoveStrategy}.
+ * <p>
+ * A log starts with a header: the int {@link #MAGIC} number, the format
+ * {@link #VERSION} byte, the content hash of the track and the number and ids
+ * of the cars. It is followed by one record of {@link #RECORD_SIZE} bytes per
+ * turn: the car index, the {@link Direction} ordinal of the acceleration
+ * combined with the {@link #CRASHED} flag, and the lap counter of the car
+ * after the turn as a signed byte.
+ * </p>
+ */
+public final class RaceLogFormat {
+	/** Magic number at the start of race logs */
+	public static final int MAGIC = 0x89524C47;
+	/** Version of the log format */
+	public static final int VERSION = 1;
+	/** Bytes per turn record */
+	public static final int RECORD_SIZE = 3;
+	/** Flag in the second byte of a record if the car crashed in the turn */
+	public static final int CRASHED = 0x10;
+	/** Mask of the direction ordinal in the second byte of a record */
+	public static final int DIRECTION_MASK = 0x0F;
+	/** Smallest lap counter a record can hold */
+	public static final int MIN_LAP_COUNTER = Byte.MIN_VALUE;
+	/** Largest lap counter a record can hold */
+	public static final int MAX_LAP_COUNTER = Byte.MAX_VALUE;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private RaceLogFormat() {
+	}
+
+	/**
+	 * Writes the header of a log
+	 *
+	 * @param out       stream to write to
+	 * @param trackHash content hash of the track of the race
+	 * @param carIds    ids of the cars of the race, in the order of the car indexes
+	 * @throws IOException if writing fails
+	 */
+	public static void writeHeader(DataOutput out, String trackHash, char[] carIds) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeUTF(trackHash);
+		out.writeByte(carIds.length);
+		for (char carId : carIds) {
+			out.writeChar(carId);
+		}
+	}
+
+	/**
+	 * Writes the record of one turn
+	 *
+	 * @param out          stream to write to
+	 * @param carIndex     the zero-based index of the car which made the turn
+	 * @param acceleration acceleration of the turn
+	 * @param crashed      true if the car crashed in the turn
+	 * @param lapCounter   lap counter of the car after the turn
+	 * @throws IOException              if writing fails
+	 * @throws IllegalArgumentException if the lap counter is outside {@link #MIN_LAP_COUNTER}..{@link #MAX_LAP_COUNTER}
+	 */
+	public static void writeRecord(DataOutput out, int carIndex, Direction acceleration, boolean crashed,
+			int lapCounter) throws IOException {
+		if (lapCounter < MIN_LAP_COUNTER || lapCounter > MAX_LAP_COUNTER) {
+			throw new IllegalArgumentException("The lap counter " + lapCounter + " does not fit into a race log record");
+		}
+		out.writeByte(carIndex);
+		out.writeByte(acceleration.ordinal() | (crashed ? CRASHED : 0));
+		out.writeByte(lapCounter);
+	}
+
+	/**
+	 * Reads the header of a log
+	 *
+	 * @param in stream positioned at the start of the log
+	 * @return the header
+	 * @throws IOException                if reading fails, e.g. at the end of a truncated log
+	 * @throws InvalidFileFormatException if the stream is no log of a supported version
+	 */
+	static Header readHeader(DataInput in) throws IOException, InvalidFileFormatException {
+		if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+			throw new InvalidFileFormatException("The file is no race log of a supported version");
+		}
+		String trackHash = in.readUTF();
+		char[] carIds = new char[in.readUnsignedByte()];
+		for (int i = 0; i < carIds.length; i++) {
+			carIds[i] = in.readChar();
+		}
+		return new Header(trackHash, carIds);
+	}
+
+	/**
+	 * @param move second byte of a record
+	 * @return acceleration of the record, null if the ordinal is invalid
+	 */
+	static Direction decodeDirection(int move) {
+		int ordinal = move & DIRECTION_MASK;
+		return ordinal < DIRECTIONS.length ? DIRECTIONS[ordinal] : null;
+	}
+
+	/**
+	 * @param move second byte of a record
+	 * @return true if the car crashed in the turn of the record
+	 */
+	static boolean decodeCrashed(int move) {
+		return (move & CRASHED) != 0;
+	}
+
+	/**
+	 * @param lap third byte of a record, signed or unsigned
+	 * @return lap counter of the car after the turn of the record
+	 */
+	static int decodeLapCounter(int lap) {
+		return (byte) lap;
+	}
+
+	/**
+	 * Header of a log
+	 */
+	static final class Header {
+		private final String trackHash;
+		private final char[] carIds;
+
+		private Header(String trackHash, char[] carIds) {
+			this.trackHash = trackHash;
+			this.carIds = carIds;
+		}
+
+		String getTrackHash() {
+			return trackHash;
+		}
+
+		int getCarCount() {
+			return carIds.length;
+		}
+
+		char getCarId(int carIndex) {
+			return carIds[carIndex];
+		}
+	}
+}
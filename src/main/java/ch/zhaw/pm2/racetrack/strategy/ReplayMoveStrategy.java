@@ -0,0 +1,235 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Game;
+import exceptions.InvalidFileFormatException;
+import model.Car;
+import model.Direction;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Replays the moves of one car from a race log, see {@link RaceLogFormat}.
+ * If all cars of a race replay the log of a race on the same track, the race
+ * runs exactly as recorded.
+ * <p>
+ * The log is read while the race runs, only the records of the car are used.
+ * After the last record of the log the car does not accelerate anymore.
+ * </p>
+ * <p>
+ * If the strategy is created with the game, it also checks that the race runs
+ * as recorded: every record is compared with the crash state and the lap
+ * counter of its car once the car has made the turn. The first difference
+ * stops the replay and is reported by {@link #verifyReplay()}.
+ * </p>
+ */
+public class ReplayMoveStrategy implements MoveStrategy, AutoCloseable {
+	private static final int NO_RECORD = -1;
+
+	private final DataInputStream in;
+	private final int carIndex;
+	private final String trackHash;
+	private final char carId;
+	/** Game to check the records against, null to not check them */
+	private final Game game;
+	/** Second byte of the last record of the car, until the car has made its next move */
+	private int pendingMove = NO_RECORD;
+	private int pendingLap;
+	private String divergence;
+	private boolean endOfLog = false;
+
+	/**
+	 * Opens the log and reads its header
+	 *
+	 * @param logFile  race log in the {@link RaceLogFormat}
+	 * @param carIndex the zero-based index of the car to replay
+	 * @throws IOException                if the log can not be read
+	 * @throws InvalidFileFormatException if the file is no race log or does not contain the car
+	 */
+	public ReplayMoveStrategy(File logFile, int carIndex) throws IOException, InvalidFileFormatException {
+		this(logFile, carIndex, null);
+	}
+
+	/**
+	 * Opens the log and reads its header, the recorded crashes and laps are checked against the game
+	 *
+	 * @param logFile  race log in the {@link RaceLogFormat}
+	 * @param carIndex the zero-based index of the car to replay
+	 * @param game     game the car takes part in, null to not check the records
+	 * @throws IOException                if the log can not be read
+	 * @throws InvalidFileFormatException if the file is no race log or does not contain the car
+	 */
+	public ReplayMoveStrategy(File logFile, int carIndex, Game game) throws IOException, InvalidFileFormatException {
+		this.carIndex = carIndex;
+		this.game = game;
+		in = new DataInputStream(new BufferedInputStream(new FileInputStream(logFile)));
+		try {
+			RaceLogFormat.Header header = RaceLogFormat.readHeader(in);
+			if (carIndex < 0 || carIndex >= header.getCarCount()) {
+				throw new InvalidFileFormatException("The race log contains no car with index " + carIndex);
+			}
+			if (game != null && game.getCarCount() != header.getCarCount()) {
+				throw new InvalidFileFormatException("The race log contains " + header.getCarCount()
+						+ " cars, but the race " + game.getCarCount());
+			}
+			trackHash = header.getTrackHash();
+			carId = header.getCarId(carIndex);
+		} catch (EOFException e) {
+			in.close();
+			throw new InvalidFileFormatException("The race log is truncated");
+		} catch (InvalidFileFormatException | IOException e) {
+			in.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return content hash of the track the race was recorded on, see
+	 *         {@link ch.zhaw.pm2.racetrack.TrackBoard#getContentHash()}
+	 */
+	public String getTrackHash() {
+		return trackHash;
+	}
+
+	/**
+	 * @return id of the replayed car in the recorded race
+	 */
+	public char getCarId() {
+		return carId;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return acceleration of the next recorded turn of the car, {@link Direction#NONE}
+	 *         after the end of the log, null if the log can not be read or the race
+	 *         does not run as recorded
+	 */
+	@Override
+	public Direction nextMove() {
+		try {
+			if (pendingMove != NO_RECORD) {
+				// the other cars have moved since, the own car is still in the state after its last turn
+				check(carIndex, pendingMove, pendingLap);
+				pendingMove = NO_RECORD;
+			}
+			while (!endOfLog && divergence == null) {
+				int recordCar = in.read();
+				if (recordCar < 0) {
+					release();
+					break;
+				}
+				int move = in.readUnsignedByte();
+				int lap = in.readUnsignedByte();
+				if (recordCar == carIndex) {
+					Direction direction = RaceLogFormat.decodeDirection(move);
+					if (direction == null) {
+						release();
+					}
+					pendingMove = move;
+					pendingLap = lap;
+					return direction;
+				}
+				// the record is the last turn of the other car, it has not moved since
+				check(recordCar, move, lap);
+			}
+			if (divergence != null) {
+				release();
+				return null;
+			}
+			return Direction.NONE;
+		} catch (IOException e) {
+			release();
+			return null;
+		}
+	}
+
+	/**
+	 * Checks that the race ran as recorded, as far as it has been replayed
+	 *
+	 * @throws InvalidFileFormatException if a car crashed or changed its lap counter in another turn than recorded
+	 * @throws IllegalStateException      if the strategy was created without the game
+	 */
+	public void verifyReplay() throws InvalidFileFormatException {
+		if (game == null) {
+			throw new IllegalStateException("Only replays created with the game are checked");
+		}
+		if (divergence != null) {
+			throw new InvalidFileFormatException("The race did not run as recorded: " + divergence);
+		}
+	}
+
+	/**
+	 * Compares the remaining records with the final state of the race and
+	 * releases the log file, further moves are {@link Direction#NONE}
+	 */
+	@Override
+	public void close() {
+		if (!endOfLog && game != null && divergence == null) {
+			checkRemainingRecords();
+		}
+		release();
+	}
+
+	/**
+	 * Compares the last remaining record of every car with its state, the
+	 * earlier ones describe turns the car has made since
+	 */
+	private void checkRemainingRecords() {
+		int[] moves = new int[game.getCarCount()];
+		int[] laps = new int[moves.length];
+		Arrays.fill(moves, NO_RECORD);
+		moves[carIndex] = pendingMove;
+		laps[carIndex] = pendingLap;
+		try {
+			int recordCar;
+			while ((recordCar = in.read()) >= 0) {
+				if (recordCar >= moves.length) {
+					divergence = "the log contains a turn of the car index " + recordCar;
+					return;
+				}
+				moves[recordCar] = in.readUnsignedByte();
+				laps[recordCar] = in.readUnsignedByte();
+			}
+		} catch (IOException e) {
+			// a truncated log is only checked up to the last complete record
+		}
+		for (int i = 0; i < moves.length; i++) {
+			if (moves[i] != NO_RECORD) {
+				check(i, moves[i], laps[i]);
+			}
+		}
+	}
+
+	private void check(int recordCar, int move, int lap) {
+		if (game == null || divergence != null) {
+			return;
+		}
+		if (recordCar >= game.getCarCount()) {
+			divergence = "the log contains a turn of the car index " + recordCar;
+			return;
+		}
+		Car car = game.getTrack().getCar(recordCar);
+		boolean crashed = RaceLogFormat.decodeCrashed(move);
+		int lapCounter = RaceLogFormat.decodeLapCounter(lap);
+		if (car.isCrashed() != crashed || car.getLapCounter() != lapCounter) {
+			divergence = "car " + car.getId() + " is " + (car.isCrashed() ? "crashed" : "not crashed") + " on lap "
+					+ car.getLapCounter() + ", but the log records " + (crashed ? "a crash" : "no crash") + " on lap "
+					+ lapCounter;
+		}
+	}
+
+	private void release() {
+		endOfLog = true;
+		try {
+			in.close();
+		} catch (IOException e) {
+			// the log is not used anymore
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.pathfinder.VelocityPathFinder;
+import model.Car;
+import model.Direction;
+import model.PositionVector;
+
+/**
+ * Determines the next move from the fastest move sequence found by the
+ * {@link VelocityPathFinder}. The other cars are avoided at the positions they
+ * have when the strategy is created.
+ */
+public class VelocityPathFinderMoveStrategy implements MoveStrategy {
+
+	private final List<Direction> moves;
+	private int moveNumber = 0;
+
+	public VelocityPathFinderMoveStrategy(PositionVector startPosition, Track track) {
+		List<PositionVector> obstacles = new ArrayList<>();
+		for (Car car : track.getCars()) {
+			if (!car.getCurrentPosition().equals(startPosition)) {
+				obstacles.add(car.getCurrentPosition());
+			}
+		}
+		moves = new VelocityPathFinder(track.getBoard(), startPosition, obstacles).getMoves();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return next direction of the fastest move sequence, {@link Direction#NONE}
+	 *         if there are no more moves available
+	 */
+	@Override
+	public Direction nextMove() {
+		if (moveNumber < moves.size()) {
+			return moves.get(moveNumber++);
+		}
+		return Direction.NONE;
+	}
+}
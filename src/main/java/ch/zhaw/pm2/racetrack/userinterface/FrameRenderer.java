@@ -0,0 +1,143 @@
+package ch.zhaw.pm2.racetrack.userinterface;
+
+import org.beryx.textio.TextTerminal;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The FrameRenderer class prints the frames of a race on a separate thread, so
+ * the game loop never waits for the terminal.
+ * <p>
+ * Frames are published to a small bounded queue. At most the configured
+ * number of frames per second is accepted, and if the terminal is slower than
+ * the race the renderer drops the older frames and prints only the latest one.
+ * In final board only mode no frame is printed until the race is over.
+ * </p>
+ */
+public class FrameRenderer implements AutoCloseable {
+	private static final int QUEUE_CAPACITY = 2;
+	private static final String END_OF_RACE = new String();
+
+	private final TextTerminal<?> terminal;
+	private final OutputWriter outputWriter;
+	private final long frameIntervalNanos;
+	private final boolean finalBoardOnly;
+	private final BlockingQueue<String> frames = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final Thread renderThread;
+	private long nextFrameNanos;
+	private boolean closed = false;
+
+	/**
+	 * Starts the render thread
+	 *
+	 * @param terminal           terminal to print the frames on
+	 * @param outputWriter       writer used to print
+	 * @param maxFramesPerSecond upper limit of printed frames per second
+	 * @param finalBoardOnly     true to print only the frame passed to {@link #close(CharSequence)}
+	 * @throws IllegalArgumentException if maxFramesPerSecond is not positive
+	 */
+	public FrameRenderer(TextTerminal<?> terminal, OutputWriter outputWriter, int maxFramesPerSecond,
+			boolean finalBoardOnly) {
+		if (maxFramesPerSecond <= 0) {
+			throw new IllegalArgumentException("The frame rate must be positive: " + maxFramesPerSecond);
+		}
+		this.terminal = terminal;
+		this.outputWriter = outputWriter;
+		this.frameIntervalNanos = TimeUnit.SECONDS.toNanos(1) / maxFramesPerSecond;
+		this.finalBoardOnly = finalBoardOnly;
+		nextFrameNanos = System.nanoTime();
+		renderThread = new Thread(this::render, "race-renderer");
+		renderThread.setDaemon(true);
+		renderThread.start();
+	}
+
+	/**
+	 * Checks if the next frame would be accepted. Used to skip building frames
+	 * which would be dropped anyway.
+	 *
+	 * @return true if a frame published now is printed
+	 */
+	public boolean isFrameDue() {
+		return !finalBoardOnly && !closed && System.nanoTime() - nextFrameNanos >= 0;
+	}
+
+	/**
+	 * Publishes a frame without waiting. The frame is dropped if it comes
+	 * faster than the frame rate allows or if a newer frame is published before
+	 * it was printed. An accepted frame is copied, so it may be a view which
+	 * changes afterwards.
+	 *
+	 * @param frame text to print
+	 */
+	public void publish(CharSequence frame) {
+		if (!isFrameDue()) {
+			return;
+		}
+		nextFrameNanos = System.nanoTime() + frameIntervalNanos;
+		offer(frame.toString());
+	}
+
+	/**
+	 * Ends the race: drops all pending frames, prints the final frame and waits
+	 * until the render thread is done
+	 *
+	 * @param finalFrame last frame of the race, always printed
+	 */
+	public void close(CharSequence finalFrame) {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		frames.clear();
+		frames.add(finalFrame.toString());
+		frames.add(END_OF_RACE);
+		awaitRenderThread();
+	}
+
+	/**
+	 * Stops the render thread without printing a final frame
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		frames.clear();
+		frames.add(END_OF_RACE);
+		awaitRenderThread();
+	}
+
+	private void offer(String frame) {
+		while (!frames.offer(frame)) {
+			frames.poll();
+		}
+	}
+
+	private void awaitRenderThread() {
+		try {
+			renderThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void render() {
+		try {
+			String frame = frames.take();
+			while (frame != END_OF_RACE) {
+				String newerFrame = frames.poll();
+				while (newerFrame != null && newerFrame != END_OF_RACE) {
+					frame = newerFrame;
+					newerFrame = frames.poll();
+				}
+				outputWriter.print(terminal, frame);
+				frame = newerFrame != null ? newerFrame : frames.take();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
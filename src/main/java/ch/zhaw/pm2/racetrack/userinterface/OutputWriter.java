@@ -18,6 +18,17 @@ public class OutputWriter {
 		terminal.println(message);
 	}
 
+	/**
+	 * Prints the provided text to the specified terminal. The text is copied
+	 * only here, because the terminal takes strings.
+	 *
+	 * @param terminal
+	 * @param text
+	 */
+	public void print(TextTerminal<?> terminal, CharSequence text) {
+		terminal.println(text.toString());
+	}
+
 	/**
 	 * Inserts the provided parameters at the predefined points in the message and
 	 * prints the message to the specified terminal
@@ -5,8 +5,9 @@ import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
 
 /**
  * Class representing a car on the racetrack.<br/>
- * Uses {@link PositionVector} to store current position on the track grid and
- * current velocity vector.<br/>
+ * Stores the current position on the track grid and the current velocity
+ * vector as primitive values and hands them out as {@link PositionVector}s,
+ * which are only created when they are asked for.<br/>
  * Each car has an identifier character which represents the car on the
  * racetrack board.<br/>
  * Also keeps the state, if the car is crashed (not active anymore). The state
@@ -19,11 +20,18 @@ public class Car implements CarSpecification {
 
 	/** Car identifier used to represent the car on the track */
 	private final char id;
+	private int positionX;
+	private int positionY;
+	private int velocityX;
+	private int velocityY;
+	/** Vector of the current position, null until asked for after a change */
 	private PositionVector position;
+	/** Vector of the current velocity, null until asked for after a change */
 	private PositionVector velocity;
 	private MoveStrategy moveStrategy;
 	private boolean isCrashed;
 	private int lapCounter;
+	private CarPositionListener positionListener;
 
 	/**
 	 * Constructor for class Car
@@ -34,7 +42,9 @@ public class Car implements CarSpecification {
 	public Car(char id, PositionVector startPosition) {
 		this.id = id;
 		position = startPosition;
-		this.velocity = new PositionVector(0, 0);
+		positionX = startPosition.getX();
+		positionY = startPosition.getY();
+		this.velocity = PositionVector.of(0, 0);
 		isCrashed = false;
 		lapCounter = 0;
 	}
@@ -80,6 +90,16 @@ public class Car implements CarSpecification {
 		this.moveStrategy = moveStrategy;
 	}
 
+	/**
+	 * Sets the listener which gets notified about position and crash state
+	 * changes of this car
+	 *
+	 * @param positionListener listener to notify, null to remove it
+	 */
+	public void setPositionListener(CarPositionListener positionListener) {
+		this.positionListener = positionListener;
+	}
+
 	/**
 	 * Returns Identifier of the car, which represents the car on the track
 	 *
@@ -98,9 +118,26 @@ public class Car implements CarSpecification {
 	 */
 	@Override
 	public PositionVector getCurrentPosition() {
+		if (position == null) {
+			position = PositionVector.of(positionX, positionY);
+		}
 		return position;
 	}
 
+	/**
+	 * @return column (x-value) of the current position
+	 */
+	public int getPositionX() {
+		return positionX;
+	}
+
+	/**
+	 * @return row (y-value) of the current position
+	 */
+	public int getPositionY() {
+		return positionY;
+	}
+
 	/**
 	 * Returns a copy of the velocity vector of the car as a
 	 * {@link PositionVector}<br/>
@@ -111,9 +148,26 @@ public class Car implements CarSpecification {
 	 */
 	@Override
 	public PositionVector getVelocity() {
+		if (velocity == null) {
+			velocity = PositionVector.of(velocityX, velocityY);
+		}
 		return this.velocity;
 	}
 
+	/**
+	 * @return x-component of the current velocity
+	 */
+	public int getVelocityX() {
+		return velocityX;
+	}
+
+	/**
+	 * @return y-component of the current velocity
+	 */
+	public int getVelocityY() {
+		return velocityY;
+	}
+
 	/**
 	 * Return the position that will apply after the next move at the current
 	 * velocity. Does not complete the move, so the current position remains
@@ -123,7 +177,16 @@ public class Car implements CarSpecification {
 	 */
 	@Override
 	public PositionVector getNextPosition() {
-		return new PositionVector(this.position).add(velocity);
+		return PositionVector.unpack(getPackedNextPosition());
+	}
+
+	/**
+	 * Like {@link #getNextPosition()}, but without creating a vector
+	 *
+	 * @return Expected position after the next move, packed by {@link PositionVector#pack(int, int)}
+	 */
+	public long getPackedNextPosition() {
+		return PositionVector.pack(positionX + velocityX, positionY + velocityY);
 	}
 
 	/**
@@ -138,7 +201,9 @@ public class Car implements CarSpecification {
 	 */
 	@Override
 	public void accelerate(Direction acceleration) {
-		this.velocity = this.velocity.add(acceleration.vector);
+		velocityX += acceleration.vector.getX();
+		velocityY += acceleration.vector.getY();
+		velocity = null;
 	}
 
 	/**
@@ -146,7 +211,12 @@ public class Car implements CarSpecification {
 	 */
 	@Override
 	public void move() {
-		this.position = this.position.add(this.velocity);
+		int oldX = positionX;
+		int oldY = positionY;
+		positionX += velocityX;
+		positionY += velocityY;
+		position = null;
+		notifyPositionListener(oldX, oldY);
 	}
 
 	/**
@@ -156,9 +226,64 @@ public class Car implements CarSpecification {
 	 */
 	@Override
 	public void crash(PositionVector crashPosition) {
-		position = crashPosition;
-		velocity = new PositionVector(0, 0);
+		int oldX = positionX;
+		int oldY = positionY;
+		setPosition(crashPosition);
+		setVelocity(PositionVector.of(0, 0));
 		isCrashed = true;
+		notifyPositionListener(oldX, oldY);
+	}
+
+	/**
+	 * Sets the whole state of this car at once, e.g. to roll back to a
+	 * snapshot. Unlike the other methods this can also reset a crashed car.
+	 * The position listener is notified if the position or the crash state
+	 * changes.
+	 *
+	 * @param position   position of the car
+	 * @param velocity   velocity of the car
+	 * @param isCrashed  crash state of the car
+	 * @param lapCounter number of completed laps
+	 */
+	public void restore(PositionVector position, PositionVector velocity, boolean isCrashed, int lapCounter) {
+		restore(position.getX(), position.getY(), velocity.getX(), velocity.getY(), isCrashed, lapCounter);
+		this.position = position;
+		this.velocity = velocity;
+	}
+
+	/**
+	 * Sets the whole state of this car at once like
+	 * {@link #restore(PositionVector, PositionVector, boolean, int)}, but from
+	 * primitive values. No vectors are created, so rolling back a race does
+	 * not allocate.
+	 *
+	 * @param positionX  column (x-value) of the position
+	 * @param positionY  row (y-value) of the position
+	 * @param velocityX  x-component of the velocity
+	 * @param velocityY  y-component of the velocity
+	 * @param isCrashed  crash state of the car
+	 * @param lapCounter number of completed laps
+	 */
+	public void restore(int positionX, int positionY, int velocityX, int velocityY, boolean isCrashed,
+			int lapCounter) {
+		int oldX = this.positionX;
+		int oldY = this.positionY;
+		boolean wasCrashed = this.isCrashed;
+		if (oldX != positionX || oldY != positionY) {
+			this.positionX = positionX;
+			this.positionY = positionY;
+			position = null;
+		}
+		if (this.velocityX != velocityX || this.velocityY != velocityY) {
+			this.velocityX = velocityX;
+			this.velocityY = velocityY;
+			velocity = null;
+		}
+		this.isCrashed = isCrashed;
+		this.lapCounter = lapCounter;
+		if (oldX != positionX || oldY != positionY || wasCrashed != isCrashed) {
+			notifyPositionListener(oldX, oldY);
+		}
 	}
 
 	/**
@@ -170,4 +295,22 @@ public class Car implements CarSpecification {
 	public boolean isCrashed() {
 		return isCrashed;
 	}
+
+	private void setPosition(PositionVector position) {
+		this.position = position;
+		positionX = position.getX();
+		positionY = position.getY();
+	}
+
+	private void setVelocity(PositionVector velocity) {
+		this.velocity = velocity;
+		velocityX = velocity.getX();
+		velocityY = velocity.getY();
+	}
+
+	private void notifyPositionListener(int oldX, int oldY) {
+		if (positionListener != null) {
+			positionListener.positionChanged(this, oldX, oldY);
+		}
+	}
 }
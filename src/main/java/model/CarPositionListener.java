@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * Listener which gets notified whenever a {@link Car} changes its position or
+ * crash state.<br/>
+ * Used by the track to keep its index of occupied spaces up to date.
+ */
+@FunctionalInterface
+public interface CarPositionListener {
+
+    /**
+     * Called after the position or the crash state of the car changed.
+     *
+     * @param car  the car which changed
+     * @param oldX column (x-value) of the position before the change
+     * @param oldY row (y-value) of the position before the change
+     */
+    void positionChanged(Car car, int oldX, int oldY);
+}
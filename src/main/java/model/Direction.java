@@ -5,15 +5,15 @@ package model;
  * Also representing the possible acceleration values.
  */
 public enum Direction {
-    DOWN_LEFT(new PositionVector(-1, 1)),
-    DOWN(new PositionVector(0, 1)),
-    DOWN_RIGHT(new PositionVector(1, 1)),
-    LEFT(new PositionVector(-1, 0)),
-    NONE(new PositionVector(0, 0)),
-    RIGHT(new PositionVector(1, 0)),
-    UP_LEFT(new PositionVector(-1, -1)),
-    UP(new PositionVector(0, -1)),
-    UP_RIGHT(new PositionVector(1, -1));
+    DOWN_LEFT(PositionVector.of(-1, 1)),
+    DOWN(PositionVector.of(0, 1)),
+    DOWN_RIGHT(PositionVector.of(1, 1)),
+    LEFT(PositionVector.of(-1, 0)),
+    NONE(PositionVector.of(0, 0)),
+    RIGHT(PositionVector.of(1, 0)),
+    UP_LEFT(PositionVector.of(-1, -1)),
+    UP(PositionVector.of(0, -1)),
+    UP_RIGHT(PositionVector.of(1, -1));
 
     public final PositionVector vector;
 
@@ -5,13 +5,24 @@ package model;
  * or a velocity vector (x,y-components of the velocity vector of a car).<br/>
  * PositionVectors are immutable, which means they cannot be modified.<br/>
  * Vector operations like {@link #add(PositionVector)} and {@link #subtract(PositionVector)}
- * return a new PositionVector containing the result.
+ * return a new PositionVector containing the result.<br/>
+ * Vectors with both values in the range -{@value #CACHE_RANGE}..{@value #CACHE_RANGE},
+ * e.g. all velocities and directions, are cached and returned by {@link #of(int, int)}
+ * instead of creating a new instance.<br/>
+ * Code working on primitive coordinates can pack a position into a single long
+ * using {@link #pack(int, int)}, {@link #unpackX(long)} and {@link #unpackY(long)}.
  *
  * @author mach
  * @version FS2023
  */
 public final class PositionVector {
 
+    /** Largest absolute value of the cached vectors */
+    public static final int CACHE_RANGE = 32;
+
+    private static final int CACHE_SIZE = 2 * CACHE_RANGE + 1;
+    private static final PositionVector[] CACHE = createCache();
+
     /** horizontal value (position / velocity) */
     private final int x;
 
@@ -37,6 +48,60 @@ public final class PositionVector {
         this.y = other.getY();
     }
 
+    /**
+     * Returns a vector with the given values, the cached instance for small values
+     * @param x horizontal value (position or velocity)
+     * @param y vertical value (position or velocity)
+     * @return vector with the given values
+     */
+    public static PositionVector of(final int x, final int y) {
+        if (x >= -CACHE_RANGE && x <= CACHE_RANGE && y >= -CACHE_RANGE && y <= CACHE_RANGE) {
+            return CACHE[(y + CACHE_RANGE) * CACHE_SIZE + x + CACHE_RANGE];
+        }
+        return new PositionVector(x, y);
+    }
+
+    /**
+     * Packs both values into a single long, x in the upper and y in the lower 32 bits
+     * @param x horizontal value (position or velocity)
+     * @param y vertical value (position or velocity)
+     * @return the packed values
+     */
+    public static long pack(final int x, final int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param packed values packed by {@link #pack(int, int)}
+     * @return the horizontal value
+     */
+    public static int unpackX(final long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * @param packed values packed by {@link #pack(int, int)}
+     * @return the vertical value
+     */
+    public static int unpackY(final long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * @param packed values packed by {@link #pack(int, int)}
+     * @return vector with the packed values
+     */
+    public static PositionVector unpack(final long packed) {
+        return of(unpackX(packed), unpackY(packed));
+    }
+
+    /**
+     * @return the values of this vector packed by {@link #pack(int, int)}
+     */
+    public long pack() {
+        return pack(this.x, this.y);
+    }
+
     /**
      * @return the horizontal value (position or velocity)
      */
@@ -57,9 +122,13 @@ public final class PositionVector {
         return this.y == otherVector.getY() && this.x == otherVector.getX();
     }
 
+    /**
+     * Mixes both values, so symmetric and neighbouring vectors get well distributed hash codes
+     */
     @Override
     public int hashCode() {
-        return this.x ^ this.y;
+        int hash = this.x * 0x9E3779B1 + this.y * 0x85EBCA77;
+        return hash ^ (hash >>> 16);
     }
 
     @Override
@@ -76,10 +145,10 @@ public final class PositionVector {
      * The vectors values are not modified, but a new Vector containing the result is returned.
      *
      * @param vector a position or velocity vector to add
-     * @return A new PositionVector holding the result of the addition.
+     * @return A new or cached PositionVector holding the result of the addition.
      */
     public PositionVector add(final PositionVector vector) {
-        return new PositionVector(this.getX() + vector.getX(), this.getY() + vector.getY());
+        return of(this.getX() + vector.getX(), this.getY() + vector.getY());
     }
 
     /**
@@ -87,10 +156,20 @@ public final class PositionVector {
      * i.e. subtracts the given from the current vectors coordinates. (e.g. car position and/or velocity vector) <br>
      * The vectors values are not modified, but a new Vector containing the result is returned.
      * @param vector A position or velocity vector to subtract
-     * @return A new PositionVector holding the result of the subtraction.
+     * @return A new or cached PositionVector holding the result of the subtraction.
      */
     public PositionVector subtract(final PositionVector vector) {
-        return new PositionVector(this.getX() - vector.getX(), this.getY() - vector.getY());
+        return of(this.getX() - vector.getX(), this.getY() - vector.getY());
+    }
+
+    private static PositionVector[] createCache() {
+        PositionVector[] cache = new PositionVector[CACHE_SIZE * CACHE_SIZE];
+        for (int y = -CACHE_RANGE; y <= CACHE_RANGE; y++) {
+            for (int x = -CACHE_RANGE; x <= CACHE_RANGE; x++) {
+                cache[(y + CACHE_RANGE) * CACHE_SIZE + x + CACHE_RANGE] = new PositionVector(x, y);
+            }
+        }
+        return cache;
     }
 
 }
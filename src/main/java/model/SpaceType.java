@@ -8,7 +8,7 @@ import ch.zhaw.pm2.racetrack.Track;
  * Represents possible space types of the racetrack grid. <b></b>(This shall not be altered!)</b>
  * <p>The property {@link SpaceType#spaceChar} is used to parse from the track file and represents
  * the {@link SpaceType} in the text representation of the {@link ch.zhaw.pm2.racetrack.Track}
- * created by {@link ch.zhaw.pm2.racetrack.Track#toString()}.</p>
+ * created by {@link ch.zhaw.pm2.racetrack.Track#getRendering()}.</p>
  * <p>The mapping of the Characters is as follows:
  *  <ul>
  *    <li>WALL = '#' : road boundary or off track space</li>
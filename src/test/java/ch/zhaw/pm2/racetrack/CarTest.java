@@ -137,4 +137,34 @@ public class CarTest {
         car.decrementLapCounter();
         assertEquals(--lapCounter, car.getLapCounter());
     }
+
+    /**
+     * description: test if the state of a car is set from primitive values
+     * equivalence class: 1
+     * initial condition: initialized car object with a position listener
+     * type: positive test
+     * input: restore with a new position, then with the same position and another velocity
+     * output: position, velocity, crash state and lap counter are set,
+     *         the listener is only notified when the position changes
+     */
+    @Test
+    void restorePrimitive() {
+        int[] notifications = new int[1];
+        car.setPositionListener((changedCar, oldX, oldY) -> {
+            assertEquals(xInitValuePosition, oldX);
+            assertEquals(yInitValuePosition, oldY);
+            notifications[0]++;
+        });
+        car.restore(40, 41, -3, 2, false, 1);
+        assertEquals(new PositionVector(40, 41), car.getCurrentPosition());
+        assertSame(car.getCurrentPosition(), car.getCurrentPosition());
+        assertEquals(new PositionVector(-3, 2), car.getVelocity());
+        assertEquals(new PositionVector(37, 43), car.getNextPosition());
+        assertEquals(1, car.getLapCounter());
+        assertEquals(1, notifications[0]);
+
+        car.restore(40, 41, 0, 0, false, 1);
+        assertEquals(new PositionVector(0, 0), car.getVelocity());
+        assertEquals(1, notifications[0]);
+    }
 }
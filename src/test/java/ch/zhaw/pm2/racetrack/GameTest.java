@@ -349,4 +349,72 @@ class GameTest {
 		testee.doCarTurn(Direction.RIGHT);
 		assertEquals(new PositionVector(xNextValuePosition,yNextValuePosition), testee.getCarPosition(0));
 	}
-}
\ No newline at end of file
+
+	/**
+	 * description: restoring a snapshot undoes all turns taken after it
+	 * equivalence class: 1
+	 * initial condition: initialized testee with track containing oval-clock-up.txt
+	 * type: positive test
+	 * input: snapshot, car 0 accelerates twice, car 1 crashes, restore
+	 * output: positions, velocities, crash states, car index and track string as before the turns
+	 */
+	@Test
+	void restoreSnapshot() {
+		String before = testee.getTrackString();
+		GameState state = testee.snapshot();
+		testee.doCarTurn(Direction.RIGHT);
+		testee.switchToNextActiveCar();
+		testee.doCarTurn(Direction.UP);
+		testee.doCarTurn(Direction.UP);
+		assertTrue(track.getCar(1).isCrashed());
+		assertNotEquals(before, testee.getTrackString());
+
+		testee.restore(state);
+		assertEquals(0, testee.getCurrentCarIndex());
+		for (int i = 0; i < testee.getCarCount(); i++) {
+			assertFalse(track.getCar(i).isCrashed());
+			assertEquals(new PositionVector(0, 0), testee.getCarVelocity(i));
+			assertEquals(0, track.getCar(i).getLapCounter());
+		}
+		assertEquals(new PositionVector(8, 5), testee.getCarPosition(0));
+		assertEquals(before, testee.getTrackString());
+	}
+
+	/**
+	 * description: a snapshot can be reused for repeated rollouts
+	 * equivalence class: 2
+	 * initial condition: initialized testee with track containing oval-clock-up.txt, car 0 moving right
+	 * type: positive test
+	 * input: snapshot into the same state object after every turn, restore after a crash
+	 * output: the state of the last snapshot is restored, the occupancy follows the cars
+	 */
+	@Test
+	void reuseSnapshot() {
+		GameState state = new GameState(testee.getCarCount());
+		testee.doCarTurn(Direction.RIGHT);
+		assertSame(state, testee.snapshot(state));
+		PositionVector position = testee.getCarPosition(0);
+		testee.doCarTurn(Direction.RIGHT);
+		testee.snapshot(state);
+		PositionVector secondPosition = testee.getCarPosition(0);
+		testee.doCarTurn(Direction.DOWN);
+		testee.restore(state);
+		assertEquals(secondPosition, testee.getCarPosition(0));
+		assertEquals(new PositionVector(2, 0), testee.getCarVelocity(0));
+		assertNotEquals(position, secondPosition);
+		assertTrue(track.isOccupiedByOtherCar(1, secondPosition.getX(), secondPosition.getY()));
+	}
+
+	/**
+	 * description: a snapshot does not fit a race with another number of cars
+	 * equivalence class: 3
+	 * initial condition: initialized testee with track containing oval-clock-up.txt
+	 * type: negative test
+	 * input: snapshot for 3 cars
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void restoreSnapshotWrongCarCount() {
+		assertThrows(IllegalArgumentException.class, () -> testee.restore(new GameState(3)));
+	}
+}
@@ -0,0 +1,62 @@
+package ch.zhaw.pm2.racetrack;
+
+import model.PositionVector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The PathWalkerTest class contains JUnit tests for the PathWalker class.
+ */
+class PathWalkerTest {
+
+	/**
+	 * description: a steep path with a slow and a fast axis is walked
+	 * equivalence class: 1
+	 * initial condition: none
+	 * type: positive test
+	 * input: walk from (5,5) to (3,10)
+	 * output: all positions of the Bresenham line, inclusive both end positions
+	 */
+	@Test
+	void walkSteepPath() {
+		List<PositionVector> visited = new ArrayList<>();
+		assertTrue(PathWalker.walk(5, 5, 3, 10, (x, y) -> visited.add(new PositionVector(x, y))));
+		assertEquals(List.of(new PositionVector(5, 5), new PositionVector(5, 6), new PositionVector(4, 7),
+				new PositionVector(4, 8), new PositionVector(3, 9), new PositionVector(3, 10)), visited);
+	}
+
+	/**
+	 * description: a path without movement is walked
+	 * equivalence class: 2
+	 * initial condition: none
+	 * type: positive test
+	 * input: walk from (2,3) to (2,3)
+	 * output: only the start position is visited
+	 */
+	@Test
+	void walkWithoutMovement() {
+		List<PositionVector> visited = new ArrayList<>();
+		assertTrue(PathWalker.walk(2, 3, 2, 3, (x, y) -> visited.add(new PositionVector(x, y))));
+		assertEquals(List.of(new PositionVector(2, 3)), visited);
+	}
+
+	/**
+	 * description: the visitor stops the walk
+	 * equivalence class: 3
+	 * initial condition: none
+	 * type: positive test
+	 * input: walk from (0,0) to (6,0), the visitor stops at x = 2
+	 * output: the walk is not completed, no position after x = 2 is visited
+	 */
+	@Test
+	void walkStoppedByVisitor() {
+		List<PositionVector> visited = new ArrayList<>();
+		assertFalse(PathWalker.walk(0, 0, 6, 0, (x, y) -> visited.add(new PositionVector(x, y)) && x < 2));
+		assertEquals(List.of(new PositionVector(0, 0), new PositionVector(1, 0), new PositionVector(2, 0)), visited);
+	}
+}
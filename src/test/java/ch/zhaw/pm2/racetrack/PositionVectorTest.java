@@ -5,9 +5,13 @@ import org.junit.jupiter.api.Test;
 import model.PositionVector;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PositionVectorTest {
@@ -44,4 +48,60 @@ class PositionVectorTest {
         assertTrue(map.containsKey(a), "Test with same object");
         assertTrue(map.containsKey(b), "Test with equal object");
     }
-}
\ No newline at end of file
+
+	/**
+	 * description: test if small vectors are taken from the cache
+	 * equivalence class: 2
+	 * initial condition: nothing
+	 * type: positive test
+	 * input: vectors inside and outside the cached range, created by of and add
+	 * output: same instance inside the range, equal new instances outside
+	 */
+    @Test
+    void testCache() {
+        assertSame(PositionVector.of(-1, 2), PositionVector.of(-1, 2));
+        assertSame(PositionVector.of(1, 1), PositionVector.of(0, 1).add(PositionVector.of(1, 0)));
+        PositionVector large = PositionVector.of(PositionVector.CACHE_RANGE + 1, 0);
+        assertNotSame(large, PositionVector.of(PositionVector.CACHE_RANGE + 1, 0));
+        assertEquals(new PositionVector(PositionVector.CACHE_RANGE + 1, 0), large);
+    }
+
+	/**
+	 * description: test if coordinates survive packing into a long
+	 * equivalence class: 3
+	 * initial condition: nothing
+	 * type: positive test
+	 * input: positive, negative and extreme coordinates
+	 * output: the unpacked coordinates equal the packed ones
+	 */
+    @Test
+    void testPack() {
+        int[][] coordinates = {{0, 0}, {3, -5}, {-7, 11}, {Integer.MIN_VALUE, Integer.MAX_VALUE}};
+        for (int[] coordinate : coordinates) {
+            long packed = PositionVector.pack(coordinate[0], coordinate[1]);
+            assertEquals(coordinate[0], PositionVector.unpackX(packed));
+            assertEquals(coordinate[1], PositionVector.unpackY(packed));
+            assertEquals(new PositionVector(coordinate[0], coordinate[1]), PositionVector.unpack(packed));
+            assertEquals(packed, new PositionVector(coordinate[0], coordinate[1]).pack());
+        }
+    }
+
+	/**
+	 * description: test if symmetric and neighbouring positions get different hash codes
+	 * equivalence class: 4
+	 * initial condition: nothing
+	 * type: positive test
+	 * input: all positions of a 100x100 grid
+	 * output: almost every position has its own hash code
+	 */
+    @Test
+    void testHashCodeDistribution() {
+        Set<Integer> hashCodes = new HashSet<>();
+        for (int y = 0; y < 100; y++) {
+            for (int x = 0; x < 100; x++) {
+                hashCodes.add(new PositionVector(x, y).hashCode());
+            }
+        }
+        assertTrue(hashCodes.size() > 9900, "distinct hash codes: " + hashCodes.size());
+    }
+}
@@ -2,15 +2,19 @@ package ch.zhaw.pm2.racetrack;
 
 import ch.zhaw.pm2.racetrack.strategy.MoveListStrategy;
 import exceptions.InvalidFileFormatException;
+import model.Direction;
 import model.PositionVector;
 import model.SpaceType;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
 
 /**
  * The TrackTest class contains JUnit tests for testing the functionality of the Track class
@@ -139,6 +143,81 @@ class TrackTest {
 		assertDoesNotThrow(() -> new Track(new File(pathname)));
 	}
 
+	/**
+	 * description: the track is surrounded by empty lines and followed by other text
+	 * equivalence class: 9
+	 * initial condition: nothing
+	 * type: positive test
+	 * input: Track is initialised with a track starting after two empty lines and ending at an empty line
+	 * output: the track contains only the 4 lines before the first empty line following the track
+	 */
+	@Test
+	void TrackEndsAtEmptyLine() throws IOException, InvalidFileFormatException {
+		Track track = new Track(new File("src/test/java/ch/zhaw/pm2/racetrack/testresources/trackEmptyLines.txt"));
+		assertEquals(4, track.getHeight());
+		assertEquals(5, track.getWidth());
+		assertEquals(2, track.getCarCount());
+		assertEquals(new PositionVector(1, 1), track.getCar(0).getCurrentPosition());
+		assertEquals(SpaceType.FINISH_RIGHT, track.getSpaceTypeAt(3, 2));
+	}
+
+	/**
+	 * description: the track contains a car id outside of ASCII
+	 * equivalence class: 10
+	 * initial condition: nothing
+	 * type: positive test
+	 * input: Track is initialised with quarter-mile.txt, which is UTF-8 encoded
+	 * output: the first car has the id '\u00a7'
+	 */
+	@Test
+	void TrackUtf8CarId() throws IOException, InvalidFileFormatException {
+		Track track = new Track(new File("tracks/quarter-mile.txt"));
+		assertEquals('\u00a7', track.getCar(0).getId());
+		assertEquals('@', track.getCar(1).getId());
+	}
+
+	/**
+	 * description: a track written in the binary format is read back unchanged
+	 * equivalence class: 11
+	 * initial condition: nothing
+	 * type: positive test
+	 * input: quarter-mile.txt written to a binary file and read again
+	 * output: same size, grid, car ids and start positions as the text track
+	 */
+	@Test
+	void TrackBinaryRoundTrip(@TempDir File directory) throws IOException, InvalidFileFormatException {
+		Track text = new Track(new File("tracks/quarter-mile.txt"));
+		File binaryFile = new File(directory, "quarter-mile.bin");
+		text.writeBinary(binaryFile);
+		Track binary = new Track(binaryFile);
+		assertEquals(text.getWidth(), binary.getWidth());
+		assertEquals(text.getHeight(), binary.getHeight());
+		assertEquals(text.getBoard().getContentHash(), binary.getBoard().getContentHash());
+		assertEquals(text.toString(), binary.toString());
+		for (int i = 0; i < text.getCarCount(); i++) {
+			assertEquals(text.getCar(i).getId(), binary.getCar(i).getId());
+			assertEquals(text.getCar(i).getCurrentPosition(), binary.getCar(i).getCurrentPosition());
+		}
+		assertTrue(binaryFile.length() < new File("tracks/quarter-mile.txt").length());
+	}
+
+	/**
+	 * description: a binary track file which ends within the grid
+	 * equivalence class: 12
+	 * initial condition: nothing
+	 * type: negative test
+	 * input: binary file of oval-clock-up.txt without its last bytes
+	 * output: InvalidFileFormatException
+	 */
+	@Test
+	void TrackBinaryTruncated(@TempDir File directory) throws IOException {
+		File binaryFile = new File(directory, "oval.bin");
+		testee.writeBinary(binaryFile);
+		byte[] content = Files.readAllBytes(binaryFile.toPath());
+		Files.write(binaryFile.toPath(), Arrays.copyOf(content, content.length - 2));
+		assertThrows(InvalidFileFormatException.class, () -> new Track(binaryFile));
+	}
+
 	/**
 	 * description: test if the height of the track is read correctly from the text file
 	 * equivalence class: 1
@@ -237,6 +316,82 @@ class TrackTest {
 		assertEquals(expected, testee.toString());
 	}
 	
+	/**
+	 * description: test if positions outside the grid are treated as walls
+	 * equivalence class: 2
+	 * initial condition: nothing
+	 * type: positive test
+	 * input: File containing the track oval-clock-up.txt
+	 * output: should be WALL for every position outside the track
+	 */
+	@Test
+	void testSpaceTypeOutsideTrack() {
+		assertEquals(SpaceType.WALL, testee.getSpaceTypeAtPosition(new PositionVector(-1, 3)));
+		assertEquals(SpaceType.WALL, testee.getSpaceTypeAtPosition(new PositionVector(50, 3)));
+		assertEquals(SpaceType.WALL, testee.getSpaceTypeAtPosition(new PositionVector(24, 14)));
+	}
+
+	/**
+	 * description: test if the list view of the fields matches the grid
+	 * equivalence class: 1
+	 * initial condition: nothing
+	 * type: positive test
+	 * input: File containing the track oval-clock-up.txt
+	 * output: every entry of the view should match getSpaceTypeAtPosition
+	 */
+	@Test
+	void testFieldsView() {
+		assertEquals(testee.getHeight(), testee.getFields().size());
+		for (int y = 0; y < testee.getHeight(); y++) {
+			assertEquals(testee.getWidth(), testee.getFields().get(y).size());
+			for (int x = 0; x < testee.getWidth(); x++) {
+				assertEquals(testee.getSpaceTypeAtPosition(new PositionVector(x, y)), testee.getFields().get(y).get(x));
+			}
+		}
+	}
+
+	/**
+	 * description: test if the char representation follows the cars when they move or crash
+	 * equivalence class: 2
+	 * initial condition: nothing
+	 * type: positive test
+	 * input: car a moves one step to the right, car b crashes at its position
+	 * output: the chars and the occupancy should match the new car states
+	 */
+	@Test
+	void testCharRepresentationAfterMove() {
+		testee.getCar(0).accelerate(Direction.RIGHT);
+		testee.getCar(0).move();
+		testee.getCar(1).crash(testee.getCar(1).getCurrentPosition());
+		assertEquals(' ', testee.getCharRepresentationAtPosition(5, 8));
+		assertEquals('a', testee.getCharRepresentationAtPosition(5, 9));
+		assertEquals(Config.CRASH_INDICATOR, testee.getCharRepresentationAtPosition(5, 12));
+		assertTrue(testee.isOccupiedByOtherCar(0, 12, 5));
+		assertFalse(testee.isOccupiedByOtherCar(0, 9, 5));
+		assertTrue(testee.isOccupiedByOtherCar(1, 9, 5));
+	}
+
+	/**
+	 * description: test if the track representation is updated after the cars moved
+	 * equivalence class: 2
+	 * initial condition: the track has already been rendered once
+	 * type: positive test
+	 * input: car a moves one step to the right and the track is rendered again
+	 * output: car a should be shown at its new position in the same rendering view, which equals the text
+	 */
+	@Test
+	void testFieldRepresentationAfterMove() {
+		String before = testee.toString();
+		CharSequence rendering = testee.getRendering();
+		testee.getCar(0).accelerate(Direction.RIGHT);
+		testee.getCar(0).move();
+		assertSame(rendering, testee.getRendering());
+		assertNotEquals(before, rendering.toString());
+		assertEquals('a', rendering.charAt(5 * 51 + 9));
+		assertEquals(' ', rendering.charAt(5 * 51 + 8));
+		assertEquals(testee.toString(), rendering.toString());
+	}
+
 	@Test
 	void testCorrectCarIndex() {
 		assertEquals(0, testee.getCarIndex());
@@ -0,0 +1,209 @@
+package ch.zhaw.pm2.racetrack;
+
+import exceptions.InvalidFileFormatException;
+import model.Car;
+import model.Direction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The TransitionCacheTest class contains JUnit tests for the TransitionCache
+ * class and its use in the Game class.
+ */
+class TransitionCacheTest {
+	private static final int VELOCITY_RANGE = 6;
+
+	@TempDir
+	File directory;
+
+	/**
+	 * description: the outcomes of moves to the finish line and into walls
+	 * equivalence class: 1
+	 * initial condition: board with a finish line to the right in the middle
+	 * type: positive test
+	 * input: moves across the line in both directions and into walls
+	 * output: lap changes, end positions and crashes as in the game
+	 */
+	@Test
+	void testOutcomes() throws IOException, InvalidFileFormatException {
+		File trackFile = new File(directory, "track.txt");
+		Files.write(trackFile.toPath(), List.of(
+				"#######",
+				"#  >  #",
+				"#a >  #",
+				"#  >  #",
+				"#######"));
+		TransitionCache cache = new TransitionCache(new TrackBoard(trackFile), 1024);
+		assertOutcome(false, 1, 3, 0, cache.getOutcome(1, 2, 3, 0));
+		assertOutcome(true, 1, 4, 0, cache.getOutcome(1, 2, 5, 0));
+		assertOutcome(false, -1, -2, 0, cache.getOutcome(4, 2, -2, 0));
+		assertOutcome(true, 0, 0, -1, cache.getOutcome(1, 2, 0, -2));
+		assertOutcome(false, 0, 0, 0, cache.getOutcome(1, 2, 0, 0));
+	}
+
+	/**
+	 * description: random races with and without a cache
+	 * equivalence class: 2
+	 * initial condition: all tracks of the tracks directory, a small cache which has to evict entries
+	 * type: positive test
+	 * input: the same random moves in both races, restarted after every win
+	 * output: the same state of all cars after every turn, outcomes are taken from the cache
+	 */
+	@Test
+	void testRacesWithCacheEqualRacesWithout() throws IOException, InvalidFileFormatException {
+		Random random = new Random(3);
+		for (File trackFile : new File("tracks").listFiles()) {
+			Game walked = new Game(new Track(trackFile));
+			Track track = new Track(trackFile);
+			Game cached = new Game(track);
+			TransitionCache cache = new TransitionCache(track.getBoard(), 1024);
+			cached.setTransitionCache(cache);
+			GameState start = walked.snapshot();
+			for (int turn = 0; turn < 5000; turn++) {
+				Direction move = Direction.values()[random.nextInt(Direction.values().length)];
+				walked.doCarTurn(move);
+				cached.doCarTurn(move);
+				for (int i = 0; i < walked.getCarCount(); i++) {
+					Car expected = walked.getTrack().getCar(i);
+					Car actual = cached.getTrack().getCar(i);
+					assertEquals(expected.getCurrentPosition(), actual.getCurrentPosition(), trackFile + " turn " + turn);
+					assertEquals(expected.getVelocity(), actual.getVelocity());
+					assertEquals(expected.isCrashed(), actual.isCrashed());
+					assertEquals(expected.getLapCounter(), actual.getLapCounter());
+				}
+				if (walked.getWinner() != Game.NO_WINNER) {
+					walked.restore(start);
+					cached.restore(start);
+				} else {
+					walked.switchToNextActiveCar();
+					cached.switchToNextActiveCar();
+				}
+			}
+			assertTrue(cache.getHitCount() > 0);
+			assertTrue(cache.getEvictionCount() > 0);
+		}
+	}
+
+	/**
+	 * description: more moves are requested than the cache can hold
+	 * equivalence class: 3
+	 * initial condition: board of oval-clock-up.txt, cache with 8 entries
+	 * type: positive test
+	 * input: all moves of a range of velocities from one cell, twice
+	 * output: the counters add up, entries are evicted and all outcomes are correct
+	 */
+	@Test
+	void testEvictionAndCounters() throws IOException, InvalidFileFormatException {
+		TrackBoard board = new TrackBoard(new File("tracks/oval-clock-up.txt"));
+		TransitionCache small = new TransitionCache(board, 64);
+		TransitionCache large = new TransitionCache(board, 1 << 16);
+		assertEquals(8, small.getCapacity());
+		int requests = 0;
+		for (int round = 0; round < 2; round++) {
+			for (int vx = -VELOCITY_RANGE; vx <= VELOCITY_RANGE; vx++) {
+				for (int vy = -VELOCITY_RANGE; vy <= VELOCITY_RANGE; vy++) {
+					assertEquals(large.getOutcome(8, 5, vx, vy), small.getOutcome(8, 5, vx, vy));
+					assertEquals(large.getOutcome(8, 5, vx, vy), small.getOutcome(8, 5, vx, vy));
+					requests += 2;
+				}
+			}
+		}
+		assertEquals(requests, small.getHitCount() + small.getMissCount());
+		assertTrue(small.getHitCount() >= requests / 2);
+		assertTrue(small.getMissCount() > requests / 4);
+		assertTrue(small.getEvictionCount() > 0);
+		assertEquals(requests / 4, large.getMissCount());
+	}
+
+	/**
+	 * description: one cache is used by several threads
+	 * equivalence class: 4
+	 * initial condition: board of challenge.txt, cache with 64 entries
+	 * type: positive test
+	 * input: the same moves requested in parallel many times
+	 * output: the same outcomes as calculated by a single thread
+	 */
+	@Test
+	void testParallelRequests() throws IOException, InvalidFileFormatException {
+		TrackBoard board = new TrackBoard(new File("tracks/challenge.txt"));
+		TransitionCache shared = new TransitionCache(board, 512);
+		int size = 2 * VELOCITY_RANGE + 1;
+		int moves = board.getWidth() * board.getHeight() * size * size;
+		assertTrue(IntStream.range(0, 4 * moves).parallel().allMatch(i -> {
+			int move = i % moves;
+			int vx = move % size - VELOCITY_RANGE;
+			int vy = move / size % size - VELOCITY_RANGE;
+			int cell = move / size / size;
+			int x = cell % board.getWidth();
+			int y = cell / board.getWidth();
+			return shared.getOutcome(x, y, vx, vy) == new TransitionCache(board, 64).getOutcome(x, y, vx, vy);
+		}));
+	}
+
+	/**
+	 * description: moves outside of the supported range and too small memory budgets
+	 * equivalence class: 5
+	 * initial condition: board of oval-clock-up.txt
+	 * type: negative test
+	 * input: negative position, too high velocities, budget for 7 entries
+	 * output: UNSUPPORTED and IllegalArgumentException
+	 */
+	@Test
+	void testUnsupported() throws IOException, InvalidFileFormatException {
+		TrackBoard board = new TrackBoard(new File("tracks/oval-clock-up.txt"));
+		TransitionCache cache = TransitionCache.of(board);
+		assertSame(cache, TransitionCache.of(new TrackBoard(new File("tracks/oval-clock-up.txt"))));
+		assertEquals(TransitionCache.UNSUPPORTED, cache.getOutcome(-1, 5, 0, 0));
+		assertEquals(TransitionCache.UNSUPPORTED, cache.getOutcome(8, 5, TransitionCache.MAX_VELOCITY + 1, 0));
+		assertEquals(TransitionCache.UNSUPPORTED, cache.getOutcome(8, 5, 0, TransitionCache.MIN_VELOCITY - 1));
+		assertNotEquals(TransitionCache.UNSUPPORTED, cache.getOutcome(8, 5, TransitionCache.MIN_VELOCITY, 0));
+		assertThrows(IllegalArgumentException.class, () -> new TransitionCache(board, 7 * Long.BYTES));
+	}
+
+	/**
+	 * description: the shared caches are limited to the most recently used boards
+	 * equivalence class: 6
+	 * initial condition: no shared caches
+	 * type: positive test
+	 * input: caches of one more board than shared, the first board is used again after the second one was added
+	 * output: the first board keeps its cache, the cache of the second board is replaced
+	 */
+	@Test
+	void testSharedCachesAreBounded() throws IOException, InvalidFileFormatException {
+		TransitionCache.clearCache();
+		TrackBoard[] boards = new TrackBoard[TransitionCache.MAX_SHARED_CACHES + 1];
+		TransitionCache[] caches = new TransitionCache[boards.length];
+		for (int i = 0; i < boards.length; i++) {
+			File trackFile = new File(directory, "track" + i + ".txt");
+			Files.write(trackFile.toPath(), List.of(
+					"#".repeat(i + 6),
+					"#a" + " ".repeat(i + 2) + ">#",
+					"#".repeat(i + 6)));
+			boards[i] = new TrackBoard(trackFile);
+			caches[i] = TransitionCache.of(boards[i]);
+			if (i == 1) {
+				assertSame(caches[0], TransitionCache.of(boards[0]));
+			}
+		}
+		assertSame(caches[0], TransitionCache.of(boards[0]));
+		assertNotSame(caches[1], TransitionCache.of(boards[1]));
+		assertSame(caches[boards.length - 1], TransitionCache.of(boards[boards.length - 1]));
+	}
+
+	private void assertOutcome(boolean crash, int lapChange, int endOffsetX, int endOffsetY, int outcome) {
+		assertEquals(crash, TransitionCache.isCrash(outcome));
+		assertEquals(lapChange, TransitionCache.getLapChange(outcome));
+		assertEquals(endOffsetX, TransitionCache.getEndOffsetX(outcome));
+		assertEquals(endOffsetY, TransitionCache.getEndOffsetY(outcome));
+	}
+}
@@ -0,0 +1,134 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+import model.PositionVector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The CooperativePathFinderTest class contains JUnit tests for the
+ * CooperativePathFinder class.
+ */
+class CooperativePathFinderTest {
+
+	@TempDir
+	File directory;
+
+	/**
+	 * description: a single car plans on an empty table
+	 * equivalence class: 1
+	 * initial condition: all tracks of the tracks directory, no claims
+	 * type: positive test
+	 * input: search from the start of the first car
+	 * output: as many moves as found by the velocity path finder, the trajectory follows the moves
+	 */
+	@Test
+	void testEmptyTableEqualsVelocityPathFinder() throws IOException, InvalidFileFormatException {
+		for (File trackFile : new File("tracks").listFiles()) {
+			TrackBoard board = new TrackBoard(trackFile);
+			PositionVector start = board.getCarStartPosition(0);
+			CooperativePathFinder finder = new CooperativePathFinder(board, new ReservationTable(board.getWidth(), 1),
+					0, 0, start, PositionVector.of(0, 0), Collections.emptyList());
+			assertEquals(new VelocityPathFinder(board, start).getMoves().size(), finder.getMoves().size(),
+					trackFile.toString());
+			assertTrajectory(start, finder);
+		}
+	}
+
+	/**
+	 * description: all cars of a track plan one after the other
+	 * equivalence class: 2
+	 * initial condition: 8 cars in front of a corridor which fits only 2 cars next to each other
+	 * type: positive test
+	 * input: every car plans against the claims of the cars before, then the race is run with the planned moves
+	 * output: no car crashes and the first car wins
+	 */
+	@Test
+	void testPlannedCarsDoNotCollide() throws IOException, InvalidFileFormatException {
+		File trackFile = new File(directory, "track.txt");
+		Files.write(trackFile.toPath(), List.of(
+				"###############################",
+				"#a       ####################>#",
+				"#b        ###################>#",
+				"#c         ##################>#",
+				"#d                           >#",
+				"#e                           >#",
+				"#f         ##################>#",
+				"#g        ###################>#",
+				"#h       ####################>#",
+				"###############################"));
+		Game game = new Game(new Track(trackFile));
+		TrackBoard board = game.getTrack().getBoard();
+		ReservationTable table = new ReservationTable(board.getWidth(), game.getCarCount());
+		List<List<Direction>> moves = new ArrayList<>();
+		for (int car = 0; car < game.getCarCount(); car++) {
+			List<PositionVector> obstacles = new ArrayList<>();
+			for (int other = car + 1; other < game.getCarCount(); other++) {
+				obstacles.add(game.getCarPosition(other));
+			}
+			CooperativePathFinder finder = new CooperativePathFinder(board, table, car, 0, game.getCarPosition(car),
+					PositionVector.of(0, 0), obstacles);
+			assertFalse(finder.getMoves().isEmpty());
+			table.reserve(car, 0, finder.getTrajectory());
+			moves.add(finder.getMoves());
+		}
+		int[] moveNumbers = new int[game.getCarCount()];
+		while (game.getWinner() == Game.NO_WINNER) {
+			int car = game.getCurrentCarIndex();
+			game.doCarTurn(moves.get(car).get(moveNumbers[car]));
+			assertEquals(table.getReservedPosition(car, ++moveNumbers[car]), game.getCarPosition(car));
+			game.switchToNextActiveCar();
+		}
+		assertEquals(0, game.getWinner());
+		for (int car = 0; car < game.getCarCount(); car++) {
+			assertFalse(game.getTrack().getCar(car).isCrashed());
+		}
+	}
+
+	/**
+	 * description: the only way to the finish line is blocked by a car which does not plan
+	 * equivalence class: 3
+	 * initial condition: board with a corridor of width 1
+	 * type: negative test
+	 * input: an obstacle in the corridor
+	 * output: no moves
+	 */
+	@Test
+	void testBlockedByObstacle() throws IOException, InvalidFileFormatException {
+		File trackFile = new File(directory, "track.txt");
+		Files.write(trackFile.toPath(), List.of(
+				"########",
+				"#a    >#",
+				"########"));
+		TrackBoard board = new TrackBoard(trackFile);
+		CooperativePathFinder finder = new CooperativePathFinder(board, new ReservationTable(board.getWidth(), 1), 0,
+				0, PositionVector.of(1, 1), PositionVector.of(0, 0), List.of(PositionVector.of(4, 1)));
+		assertTrue(finder.getMoves().isEmpty());
+		assertTrue(finder.getTrajectory().isEmpty());
+	}
+
+	private void assertTrajectory(PositionVector start, CooperativePathFinder finder) {
+		List<PositionVector> trajectory = finder.getTrajectory();
+		assertEquals(finder.getMoves().size() + 1, trajectory.size());
+		assertEquals(start, trajectory.get(0));
+		PositionVector velocity = PositionVector.of(0, 0);
+		for (int i = 0; i < finder.getMoves().size(); i++) {
+			velocity = velocity.add(finder.getMoves().get(i).vector);
+			assertEquals(trajectory.get(i).add(velocity), trajectory.get(i + 1));
+		}
+	}
+}
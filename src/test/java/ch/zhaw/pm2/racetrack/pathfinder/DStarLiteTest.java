@@ -0,0 +1,153 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+import model.PositionVector;
+import model.SpaceType;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The DStarLiteTest class contains JUnit tests for the DStarLite class.
+ */
+class DStarLiteTest {
+
+	/**
+	 * description: the start moves over every cell of the bundled tracks
+	 * equivalence class: 1
+	 * initial condition: all tracks of the tracks directory, no blocked cells
+	 * type: positive test
+	 * input: every track cell as start cell of one search
+	 * output: valid paths as long as the distance to the finish line in the distance field
+	 */
+	@Test
+	void testShortestPathsWhileStartMoves() throws IOException, InvalidFileFormatException {
+		for (File trackFile : new File("tracks").listFiles()) {
+			TrackBoard board = new TrackBoard(trackFile);
+			DistanceField field = DistanceField.calculate(board);
+			DStarLite search = new DStarLite(board, board.getCarStartPosition(0));
+			for (int y = 0; y < board.getHeight(); y++) {
+				for (int x = 0; x < board.getWidth(); x++) {
+					if (board.getSpaceTypeAt(x, y) == SpaceType.TRACK) {
+						search.setStart(PositionVector.of(x, y));
+						List<PositionVector> path = search.getShortestPath();
+						int distance = field.getDistance(x, y);
+						assertEquals(distance == DistanceField.UNREACHABLE ? 0 : distance + 1, path.size(),
+								trackFile + " (" + x + "," + y + ")");
+						assertValidPath(board, search, path);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * description: cells are blocked and freed while the car drives along the path
+	 * equivalence class: 2
+	 * initial condition: board of challenge.txt
+	 * type: positive test
+	 * input: 200 random cells blocked or freed, the start moves one step after every change
+	 * output: repaired paths which avoid the blocked cells and are as long as the paths of a new search
+	 */
+	@Test
+	void testRepairedPathsEqualNewSearch() throws IOException, InvalidFileFormatException {
+		TrackBoard board = new TrackBoard(new File("tracks/challenge.txt"));
+		Random random = new Random(7);
+		PositionVector start = board.getCarStartPosition(0);
+		DStarLite search = new DStarLite(board, start);
+		List<PositionVector> blocked = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			PositionVector cell = PositionVector.of(random.nextInt(board.getWidth()), random.nextInt(board.getHeight()));
+			if (cell.equals(start)) {
+				continue;
+			}
+			boolean block = !blocked.remove(cell);
+			if (block) {
+				blocked.add(cell);
+			}
+			search.setBlocked(cell, block);
+			List<PositionVector> path = search.getShortestPath();
+
+			DStarLite newSearch = new DStarLite(board, start);
+			blocked.forEach(obstacle -> newSearch.setBlocked(obstacle, true));
+			assertEquals(newSearch.getShortestPath().size(), path.size());
+			assertValidPath(board, search, path);
+			if (path.size() > 2) {
+				start = path.get(1);
+				search.setStart(start);
+			}
+		}
+	}
+
+	/**
+	 * description: a cell on the path is blocked after the first search
+	 * equivalence class: 3
+	 * initial condition: board of oval-clock-up.txt, path of the first car searched
+	 * type: positive test
+	 * input: the 10th cell of the path is blocked
+	 * output: a path around the cell, fewer cells are expanded than by the first search
+	 */
+	@Test
+	void testRepairExpandsFewerCells() throws IOException, InvalidFileFormatException {
+		TrackBoard board = new TrackBoard(new File("tracks/oval-clock-up.txt"));
+		DStarLite search = new DStarLite(board, board.getCarStartPosition(0));
+		List<PositionVector> path = search.getShortestPath();
+		int firstSearch = search.getExpandedNodeCount();
+		search.setBlocked(path.get(10), true);
+		List<PositionVector> repairedPath = search.getShortestPath();
+		assertFalse(repairedPath.contains(path.get(10)));
+		assertValidPath(board, search, repairedPath);
+		assertTrue(search.getExpandedNodeCount() < firstSearch,
+				search.getExpandedNodeCount() + " of " + firstSearch);
+	}
+
+	/**
+	 * description: all cells around the start are blocked and freed again
+	 * equivalence class: 4
+	 * initial condition: board of oval-clock-up.txt
+	 * type: edge case
+	 * input: the 8 neighbours of the start blocked, then freed
+	 * output: empty path, then the original path
+	 */
+	@Test
+	void testEnclosedStart() throws IOException, InvalidFileFormatException {
+		TrackBoard board = new TrackBoard(new File("tracks/oval-clock-up.txt"));
+		PositionVector start = board.getCarStartPosition(0);
+		DStarLite search = new DStarLite(board, start);
+		List<PositionVector> path = search.getShortestPath();
+		for (Direction direction : Direction.values()) {
+			if (direction != Direction.NONE) {
+				search.setBlocked(start.add(direction.vector), true);
+			}
+		}
+		assertTrue(search.getShortestPath().isEmpty());
+		for (Direction direction : Direction.values()) {
+			search.setBlocked(start.add(direction.vector), false);
+		}
+		assertEquals(path, search.getShortestPath());
+	}
+
+	private void assertValidPath(TrackBoard board, DStarLite search, List<PositionVector> path) {
+		if (path.isEmpty()) {
+			return;
+		}
+		assertTrue(TrackBoard.isFinishLine(board.getSpaceTypeAt(path.get(path.size() - 1).getX(),
+				path.get(path.size() - 1).getY())));
+		for (int i = 1; i < path.size(); i++) {
+			PositionVector from = path.get(i - 1);
+			PositionVector to = path.get(i);
+			assertEquals(1, Math.max(Math.abs(to.getX() - from.getX()), Math.abs(to.getY() - from.getY())));
+			assertTrue(DistanceField.canEnter(board, from.getX(), from.getY(), to.getX(), to.getY()));
+			assertFalse(search.isBlocked(to));
+		}
+	}
+}
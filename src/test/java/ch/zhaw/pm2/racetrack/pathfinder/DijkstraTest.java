@@ -0,0 +1,73 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The DijkstraTest class contains JUnit tests for the Dijkstra class.
+ */
+class DijkstraTest {
+	private Dijkstra dijkstra;
+
+	/**
+	 * Graph with the edges 0-4->1, 0-1->2, 2-1->1, 1-1->3 and the isolated node 4
+	 */
+	@BeforeEach
+	void setUp() {
+		int[] adjacencyStart = {0, 2, 3, 4, 4, 4};
+		int[] targets = {1, 2, 3, 1};
+		int[] weights = {4, 1, 1, 1};
+		dijkstra = new Dijkstra(adjacencyStart, targets, weights);
+		dijkstra.calculateShortestPaths(0);
+	}
+
+	/**
+	 * description: the distance of a node is decreased after it has been queued
+	 * equivalence class: 1
+	 * initial condition: graph with a direct and a shorter indirect edge to node 1
+	 * type: positive test
+	 * input: shortest paths from node 0
+	 * output: node 1 and 3 are reached over node 2
+	 */
+	@Test
+	void testShortestPath() {
+		assertEquals(2, dijkstra.getDistance(1));
+		assertEquals(3, dijkstra.getDistance(3));
+		assertEquals(2, dijkstra.getParent(1));
+		assertEquals(Dijkstra.NO_PARENT, dijkstra.getParent(0));
+		assertArrayEquals(new int[] {0, 2, 1, 3}, dijkstra.getPath(3));
+		assertArrayEquals(new int[] {0}, dijkstra.getPath(0));
+	}
+
+	/**
+	 * description: a node without incoming edges can not be reached
+	 * equivalence class: 2
+	 * initial condition: graph with the isolated node 4
+	 * type: negative test
+	 * input: shortest paths from node 0
+	 * output: node 4 is unreachable and has an empty path
+	 */
+	@Test
+	void testUnreachableNode() {
+		assertEquals(5, dijkstra.getNodeCount());
+		assertEquals(Dijkstra.UNREACHABLE, dijkstra.getDistance(4));
+		assertEquals(Dijkstra.NO_PARENT, dijkstra.getParent(4));
+		assertEquals(0, dijkstra.getPath(4).length);
+	}
+
+	/**
+	 * description: the graph is validated on creation
+	 * equivalence class: 3
+	 * initial condition: none
+	 * type: negative test
+	 * input: adjacency arrays with a negative weight and with a wrong edge count
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void testInvalidGraph() {
+		assertThrows(IllegalArgumentException.class, () -> new Dijkstra(new int[] {0, 1, 1}, new int[] {1}, new int[] {-1}));
+		assertThrows(IllegalArgumentException.class, () -> new Dijkstra(new int[] {0, 2, 2}, new int[] {1}, new int[] {1}));
+	}
+}
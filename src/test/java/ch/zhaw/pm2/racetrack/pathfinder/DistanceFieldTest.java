@@ -0,0 +1,116 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import exceptions.InvalidFileFormatException;
+import model.PositionVector;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The DistanceFieldTest class contains JUnit tests for the DistanceField class.
+ */
+class DistanceFieldTest {
+
+	@AfterEach
+	void tearDown() {
+		DistanceField.setCacheDirectory(null);
+		DistanceField.clearCache();
+	}
+
+	/**
+	 * description: the distances around a finish line which has to be crossed upwards
+	 * equivalence class: 1
+	 * initial condition: board of oval-clock-up.txt
+	 * type: positive test
+	 * input: positions on, below and above the finish line and on a wall
+	 * output: 0 on the finish line, 1 below it, the way around the oval above it, unreachable on the wall
+	 */
+	@Test
+	void testDistancesAroundFinishLine() throws IOException, InvalidFileFormatException {
+		DistanceField field = DistanceField.of(new TrackBoard(new File("tracks/oval-clock-up.txt")));
+		PositionVector start = new PositionVector(8, 5);
+		assertEquals(0, field.getDistance(8, 6));
+		assertEquals(1, field.getDistance(8, 7));
+		assertTrue(field.getDistance(start.getX(), start.getY()) > 40);
+		assertEquals(DistanceField.UNREACHABLE, field.getDistance(0, 0));
+		assertEquals(DistanceField.UNREACHABLE, field.getDistance(-1, 5));
+	}
+
+	/**
+	 * description: boards with the same content share one field
+	 * equivalence class: 2
+	 * initial condition: empty cache
+	 * type: positive test
+	 * input: two boards read from the same track file
+	 * output: the same field instance
+	 */
+	@Test
+	void testSharedField() throws IOException, InvalidFileFormatException {
+		TrackBoard first = new TrackBoard(new File("tracks/challenge.txt"));
+		TrackBoard second = new TrackBoard(new File("tracks/challenge.txt"));
+		assertEquals(first.getContentHash(), second.getContentHash());
+		assertSame(DistanceField.of(first), DistanceField.of(second));
+	}
+
+	/**
+	 * description: the field is stored in the cache directory and read again
+	 * equivalence class: 3
+	 * initial condition: empty cache directory
+	 * type: positive test
+	 * input: field of challenge.txt, memory cache cleared in between
+	 * output: the file is written and the read field has the same distances
+	 */
+	@Test
+	void testDiskCache(@TempDir File cacheDirectory) throws IOException, InvalidFileFormatException {
+		TrackBoard board = new TrackBoard(new File("tracks/challenge.txt"));
+		DistanceField.setCacheDirectory(cacheDirectory);
+		DistanceField calculated = DistanceField.of(board);
+		assertTrue(new File(cacheDirectory, board.getContentHash() + ".dist").isFile());
+		DistanceField.clearCache();
+		DistanceField read = DistanceField.of(board);
+		assertNotSame(calculated, read);
+		for (int y = 0; y < board.getHeight(); y++) {
+			for (int x = 0; x < board.getWidth(); x++) {
+				assertEquals(calculated.getDistance(x, y), read.getDistance(x, y));
+			}
+		}
+	}
+
+	/**
+	 * description: the memory cache is limited to the most recently used boards
+	 * equivalence class: 4
+	 * initial condition: empty cache
+	 * type: positive test
+	 * input: fields of one more board than cached, the first board is used again after the second one was added
+	 * output: the first board keeps its field, the field of the second board is calculated again
+	 */
+	@Test
+	void testMemoryCacheIsBounded(@TempDir File directory) throws IOException, InvalidFileFormatException {
+		TrackBoard[] boards = new TrackBoard[DistanceField.MAX_CACHED_FIELDS + 1];
+		DistanceField[] fields = new DistanceField[boards.length];
+		for (int i = 0; i < boards.length; i++) {
+			File trackFile = new File(directory, "track" + i + ".txt");
+			Files.write(trackFile.toPath(), List.of(
+					"#".repeat(i + 6),
+					"#a" + " ".repeat(i + 2) + ">#",
+					"#".repeat(i + 6)));
+			boards[i] = new TrackBoard(trackFile);
+			fields[i] = DistanceField.of(boards[i]);
+			if (i == 1) {
+				assertSame(fields[0], DistanceField.of(boards[0]));
+			}
+		}
+		assertSame(fields[0], DistanceField.of(boards[0]));
+		assertNotSame(fields[1], DistanceField.of(boards[1]));
+		assertSame(fields[boards.length - 1], DistanceField.of(boards[boards.length - 1]));
+	}
+}
@@ -0,0 +1,166 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import exceptions.InvalidFileFormatException;
+import model.SpaceType;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The JumpPointSearchTest class contains JUnit tests for the JumpPointSearch class.
+ */
+class JumpPointSearchTest {
+	private static final char[] FINISH_CHARS = {'^', 'v', '<', '>'};
+
+	@TempDir
+	File directory;
+
+	/**
+	 * description: the paths from every cell of the bundled tracks are searched
+	 * equivalence class: 1
+	 * initial condition: all tracks of the tracks directory
+	 * type: positive test
+	 * input: every track cell as start cell
+	 * output: valid paths as long as the distance to the finish line in the distance field
+	 */
+	@Test
+	void testShortestPathsOnTracks() throws IOException, InvalidFileFormatException {
+		for (File trackFile : new File("tracks").listFiles()) {
+			assertShortestPaths(new TrackBoard(trackFile));
+		}
+	}
+
+	/**
+	 * description: the paths from every cell of random boards are searched
+	 * equivalence class: 2
+	 * initial condition: 50 boards with random walls and a random finish line
+	 * type: positive test
+	 * input: every track cell as start cell
+	 * output: valid paths as long as the distance to the finish line in the distance field,
+	 * empty paths if the finish line can not be reached
+	 */
+	@Test
+	void testShortestPathsOnRandomBoards() throws IOException, InvalidFileFormatException {
+		Random random = new Random(42);
+		for (int i = 0; i < 50; i++) {
+			assertShortestPaths(randomBoard(random, 5 + random.nextInt(30), 5 + random.nextInt(30)));
+		}
+	}
+
+	/**
+	 * description: a path over a wide open board is searched
+	 * equivalence class: 3
+	 * initial condition: board of 200 x 200 cells with a finish line in the middle
+	 * type: positive test
+	 * input: start cell in a corner
+	 * output: shortest path, less than a tenth of the cells are expanded
+	 */
+	@Test
+	void testFewExpandedNodesOnOpenBoard() throws IOException, InvalidFileFormatException {
+		int size = 200;
+		char[][] grid = new char[size][size];
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				grid[y][x] = x == 0 || y == 0 || x == size - 1 || y == size - 1 ? '#' : ' ';
+			}
+		}
+		for (int y = 1; y < size / 2; y++) {
+			grid[y][size / 2] = '>';
+		}
+		grid[size - 2][1] = 'a';
+		TrackBoard board = writeBoard(grid);
+		JumpPointSearch search = new JumpPointSearch(board);
+		int[] path = search.findPath(1, size - 2);
+		assertEquals(DistanceField.of(board).getDistance(1, size - 2) + 1, path.length);
+		assertTrue(search.getExpandedNodeCount() < size * size / 10, "expanded " + search.getExpandedNodeCount());
+	}
+
+	/**
+	 * description: a path is searched from positions outside the board and on the finish line
+	 * equivalence class: 4
+	 * initial condition: board of oval-clock-up.txt
+	 * type: edge case
+	 * input: position outside the board, position on the finish line
+	 * output: empty path, path of the start cell only
+	 */
+	@Test
+	void testStartOutsideAndOnFinishLine() throws IOException, InvalidFileFormatException {
+		TrackBoard board = new TrackBoard(new File("tracks/oval-clock-up.txt"));
+		JumpPointSearch search = new JumpPointSearch(board);
+		assertEquals(0, search.findPath(-1, 0).length);
+		assertArrayEquals(new int[]{6 * board.getWidth() + 8}, search.findPath(8, 6));
+	}
+
+	private void assertShortestPaths(TrackBoard board) {
+		DistanceField field = DistanceField.calculate(board);
+		JumpPointSearch search = new JumpPointSearch(board);
+		int width = board.getWidth();
+		for (int y = 0; y < board.getHeight(); y++) {
+			for (int x = 0; x < width; x++) {
+				if (board.getSpaceTypeAt(x, y) != SpaceType.TRACK) {
+					continue;
+				}
+				int[] path = search.findPath(x, y);
+				String start = "(" + x + "," + y + ")";
+				if (field.getDistance(x, y) == DistanceField.UNREACHABLE) {
+					assertEquals(0, path.length, start);
+					continue;
+				}
+				assertEquals(field.getDistance(x, y) + 1, path.length, start);
+				assertEquals(y * width + x, path[0], start);
+				assertTrue(TrackBoard.isFinishLine(board.getSpaceTypeAt(path[path.length - 1] % width,
+						path[path.length - 1] / width)), start);
+				for (int i = 1; i < path.length; i++) {
+					int fromX = path[i - 1] % width;
+					int fromY = path[i - 1] / width;
+					int toX = path[i] % width;
+					int toY = path[i] / width;
+					assertTrue(Math.max(Math.abs(toX - fromX), Math.abs(toY - fromY)) == 1, start);
+					assertTrue(DistanceField.canEnter(board, fromX, fromY, toX, toY), start);
+				}
+			}
+		}
+	}
+
+	private TrackBoard randomBoard(Random random, int width, int height) throws IOException, InvalidFileFormatException {
+		char[][] grid = new char[height][width];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				grid[y][x] = random.nextInt(10) < 3 ? '#' : ' ';
+			}
+		}
+		char finish = FINISH_CHARS[random.nextInt(FINISH_CHARS.length)];
+		int length = 1 + random.nextInt(Math.min(width, height));
+		int startX = random.nextInt(width);
+		int startY = random.nextInt(height);
+		for (int i = 0; i < length; i++) {
+			if (finish == '^' || finish == 'v') {
+				grid[startY][(startX + i) % width] = finish;
+			} else {
+				grid[(startY + i) % height][startX] = finish;
+			}
+		}
+		grid[(startY + height / 2) % height][(startX + width / 2) % width] = 'a';
+		return writeBoard(grid);
+	}
+
+	private TrackBoard writeBoard(char[][] grid) throws IOException, InvalidFileFormatException {
+		List<String> lines = new ArrayList<>(grid.length);
+		for (char[] row : grid) {
+			lines.add(new String(row));
+		}
+		File trackFile = File.createTempFile("track", ".txt", directory);
+		Files.write(trackFile.toPath(), lines);
+		return new TrackBoard(trackFile);
+	}
+}
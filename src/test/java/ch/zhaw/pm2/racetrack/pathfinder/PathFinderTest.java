@@ -0,0 +1,95 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import ch.zhaw.pm2.racetrack.Track;
+import exceptions.InvalidFileFormatException;
+import model.PositionVector;
+import model.SpaceType;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The PathFinderTest class contains JUnit tests for the PathFinder class.
+ */
+class PathFinderTest {
+
+	/**
+	 * description: the shortest path of the first car is searched
+	 * equivalence class: 1
+	 * initial condition: track challenge.txt
+	 * type: positive test
+	 * input: start position of the first car
+	 * output: connected path over track cells from the start to a finish line cell
+	 */
+	@Test
+	void testShortestPathChallenge() throws IOException, InvalidFileFormatException {
+		Track track = new Track(new File("tracks/challenge.txt"));
+		assertValidPath(track, new PathFinder(track.getCar(0).getCurrentPosition(), track).getShortestPath());
+	}
+
+	/**
+	 * description: the shortest path of a car starting directly behind the finish line is searched
+	 * equivalence class: 2
+	 * initial condition: track oval-clock-up.txt
+	 * type: positive test
+	 * input: start position of the first car
+	 * output: path around the oval which reaches the finish line from below
+	 */
+	@Test
+	void testShortestPathBehindFinishLine() throws IOException, InvalidFileFormatException {
+		Track track = new Track(new File("tracks/oval-clock-up.txt"));
+		List<PositionVector> path = new PathFinder(track.getCar(0).getCurrentPosition(), track).getShortestPath();
+		assertValidPath(track, path);
+		PositionVector finish = path.get(path.size() - 1);
+		assertEquals(SpaceType.FINISH_UP, track.getSpaceTypeAtPosition(finish));
+		assertTrue(path.get(path.size() - 2).getY() > finish.getY());
+	}
+
+	/**
+	 * description: all engines find a path of the same length
+	 * equivalence class: 3
+	 * initial condition: tracks challenge.txt, oval-clock-up.txt and oval-anticlock-right.txt
+	 * type: positive test
+	 * input: start position of the first car
+	 * output: valid paths of equal length from the Dijkstra, the distance field and the jump point search engine
+	 */
+	@Test
+	void testEnginesFindEqualLengths() throws IOException, InvalidFileFormatException {
+		for (String trackFile : List.of("tracks/challenge.txt", "tracks/oval-clock-up.txt", "tracks/oval-anticlock-right.txt")) {
+			Track track = new Track(new File(trackFile));
+			PositionVector start = track.getCar(0).getCurrentPosition();
+			List<PositionVector> dijkstraPath = new PathFinder(start, track, PathFinder.Engine.DIJKSTRA).getShortestPath();
+			List<PositionVector> fieldPath = new PathFinder(start, track, PathFinder.Engine.DISTANCE_FIELD).getShortestPath();
+			List<PositionVector> jumpPointPath = new PathFinder(start, track, PathFinder.Engine.JUMP_POINT_SEARCH).getShortestPath();
+			assertValidPath(track, dijkstraPath);
+			assertValidPath(track, fieldPath);
+			assertValidPath(track, jumpPointPath);
+			assertEquals(dijkstraPath.size(), fieldPath.size(), trackFile);
+			assertEquals(dijkstraPath.size(), jumpPointPath.size(), trackFile);
+		}
+	}
+
+	private void assertValidPath(Track track, List<PositionVector> path) {
+		assertFalse(path.isEmpty());
+		assertEquals(track.getCar(0).getCurrentPosition(), path.get(0));
+		assertTrue(isFinishLine(track.getSpaceTypeAtPosition(path.get(path.size() - 1))));
+		for (int i = 1; i < path.size(); i++) {
+			PositionVector step = path.get(i).subtract(path.get(i - 1));
+			assertTrue(Math.abs(step.getX()) <= 1 && Math.abs(step.getY()) <= 1 && !step.equals(new PositionVector(0, 0)));
+			assertNotEquals(SpaceType.WALL, track.getSpaceTypeAtPosition(path.get(i)));
+		}
+		for (int i = 1; i < path.size() - 1; i++) {
+			assertFalse(isFinishLine(track.getSpaceTypeAtPosition(path.get(i))));
+		}
+	}
+
+	private boolean isFinishLine(SpaceType spaceType) {
+		return spaceType == SpaceType.FINISH_UP || spaceType == SpaceType.FINISH_DOWN
+				|| spaceType == SpaceType.FINISH_LEFT || spaceType == SpaceType.FINISH_RIGHT;
+	}
+}
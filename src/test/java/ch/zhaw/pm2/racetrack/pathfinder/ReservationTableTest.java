@@ -0,0 +1,189 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import model.PositionVector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The ReservationTableTest class contains JUnit tests for the ReservationTable
+ * class.
+ */
+class ReservationTableTest {
+	private static final int WIDTH = 20;
+	private static final int CARS = 9;
+
+	/**
+	 * description: a trajectory is claimed and partly released
+	 * equivalence class: 1
+	 * initial condition: empty table
+	 * type: positive test
+	 * input: car 2 moves from (1,1) to (4,1) and (4,3) in round 5 and 6, then releases round 6
+	 * output: standing and sweeping claims of the rounds, only the claims of round 5 remain,
+	 *         the version changes only if claims change
+	 */
+	@Test
+	void testReserveAndRelease() {
+		ReservationTable table = new ReservationTable(WIDTH, CARS);
+		table.reserve(2, 4, List.of(PositionVector.of(1, 1), PositionVector.of(4, 1), PositionVector.of(4, 3)));
+		int version = table.getVersion();
+		table.release(2, 7);
+		table.release(3, 0);
+		assertEquals(version, table.getVersion());
+		assertEquals(6, table.getLastRound());
+		assertEquals(1 << 2, table.getStandingCars(1, 1, 4));
+		assertEquals(1 << 2, table.getStandingCars(4, 1, 5));
+		assertEquals(0, table.getStandingCars(4, 1, 4));
+		assertEquals(0, table.getSweepingCars(1, 1, 5));
+		assertEquals(1 << 2, table.getSweepingCars(2, 1, 5));
+		assertEquals(1 << 2, table.getSweepingCars(4, 1, 5));
+		assertEquals(1 << 2, table.getSweepingCars(4, 2, 6));
+		assertEquals(PositionVector.of(4, 3), table.getReservedPosition(2, 6));
+
+		table.release(2, 6);
+		assertNotEquals(version, table.getVersion());
+		assertEquals(5, table.getLastRound());
+		assertEquals(0, table.getStandingCars(4, 3, 6));
+		assertEquals(0, table.getSweepingCars(4, 2, 6));
+		assertEquals(1 << 2, table.getSweepingCars(3, 1, 5));
+		assertNull(table.getReservedPosition(2, 6));
+		assertNull(table.getReservedPosition(2, 3));
+	}
+
+	/**
+	 * description: the claims of a car are checked against blocked cells
+	 * equivalence class: 2
+	 * initial condition: car 0 claims a straight move from (1,1) to (5,1) in round 1
+	 * type: positive test
+	 * input: cells on and next to the trajectory, from round 0 and from round 1
+	 * output: true for cells on the trajectory, the start cell only counts from round 0
+	 */
+	@Test
+	void testIsAnyClaimed() {
+		ReservationTable table = new ReservationTable(WIDTH, CARS);
+		table.reserve(0, 0, List.of(PositionVector.of(1, 1), PositionVector.of(5, 1)));
+		assertTrue(table.isAnyClaimed(0, 0, cells(PositionVector.of(3, 1))));
+		assertTrue(table.isAnyClaimed(0, 0, cells(PositionVector.of(1, 1))));
+		assertFalse(table.isAnyClaimed(0, 1, cells(PositionVector.of(1, 1))));
+		assertFalse(table.isAnyClaimed(0, 1, cells(PositionVector.of(3, 1))));
+		assertTrue(table.isAnyClaimed(0, 1, cells(PositionVector.of(5, 1))));
+		assertFalse(table.isAnyClaimed(0, 0, cells(PositionVector.of(3, 2))));
+		assertFalse(table.isAnyClaimed(1, 0, cells(PositionVector.of(3, 1))));
+	}
+
+	/**
+	 * description: the claims of passed rounds are dropped
+	 * equivalence class: 3
+	 * initial condition: car 0 claims rounds 0 to 3, car 1 claims rounds 2 to 4
+	 * type: positive test
+	 * input: prune round 3, then release both cars from round 3
+	 * output: no claims before round 3 and no sweeps in round 3, the later claims
+	 *         are kept until they are released, then the table is empty
+	 */
+	@Test
+	void testPrune() {
+		ReservationTable table = new ReservationTable(WIDTH, CARS);
+		table.reserve(0, 0, List.of(PositionVector.of(1, 1), PositionVector.of(2, 1), PositionVector.of(4, 1),
+				PositionVector.of(7, 1)));
+		table.reserve(1, 2, List.of(PositionVector.of(1, 5), PositionVector.of(1, 6), PositionVector.of(1, 8)));
+		int version = table.getVersion();
+		table.prune(3);
+		assertEquals(version, table.getVersion());
+		assertEquals(0, table.getStandingCars(4, 1, 2));
+		assertEquals(0, table.getSweepingCars(7, 1, 3));
+		assertEquals(0, table.getSweepingCars(1, 6, 3));
+		assertEquals(1, table.getStandingCars(7, 1, 3));
+		assertEquals(1 << 1, table.getStandingCars(1, 6, 3));
+		assertEquals(1 << 1, table.getSweepingCars(1, 7, 4));
+		assertNull(table.getReservedPosition(0, 2));
+		assertEquals(PositionVector.of(7, 1), table.getReservedPosition(0, 3));
+		assertEquals(4, table.getLastRound());
+		assertFalse(table.isAnyClaimed(0, 0, cells(PositionVector.of(4, 1))));
+
+		table.release(0, 3);
+		table.release(1, 3);
+		assertEquals(0, table.getClaimCount());
+		assertEquals(-1, table.getLastRound());
+	}
+
+	/**
+	 * description: many cars claim and release random trajectories
+	 * equivalence class: 4
+	 * initial condition: empty table
+	 * type: positive test
+	 * input: 2000 random trajectories reserved and released from random rounds
+	 * output: the claims equal the claims of a new table with the remaining trajectories
+	 */
+	@Test
+	void testIncrementalChangesEqualNewTable() {
+		Random random = new Random(11);
+		ReservationTable table = new ReservationTable(WIDTH, CARS);
+		List<List<PositionVector>> trajectories = new ArrayList<>();
+		int[] firstRounds = new int[CARS];
+		for (int i = 0; i < CARS; i++) {
+			trajectories.add(new ArrayList<>());
+		}
+		for (int step = 0; step < 2000; step++) {
+			int car = random.nextInt(CARS);
+			int round = random.nextInt(30);
+			List<PositionVector> trajectory = trajectories.get(car);
+			if (random.nextBoolean()) {
+				table.release(car, round);
+				while (!trajectory.isEmpty() && firstRounds[car] + trajectory.size() > round) {
+					trajectory.remove(trajectory.size() - 1);
+				}
+			} else {
+				List<PositionVector> positions = new ArrayList<>();
+				for (int i = random.nextInt(8); i >= 0; i--) {
+					positions.add(PositionVector.of(random.nextInt(WIDTH), random.nextInt(WIDTH)));
+				}
+				table.reserve(car, round, positions);
+				while (!trajectory.isEmpty() && firstRounds[car] + trajectory.size() > round) {
+					trajectory.remove(trajectory.size() - 1);
+				}
+				if (trajectory.isEmpty()) {
+					firstRounds[car] = round;
+				}
+				while (firstRounds[car] + trajectory.size() < round) {
+					trajectory.add(null);
+				}
+				trajectory.addAll(positions);
+			}
+		}
+
+		ReservationTable expected = new ReservationTable(WIDTH, CARS);
+		for (int car = 0; car < CARS; car++) {
+			List<PositionVector> trajectory = trajectories.get(car);
+			for (int i = 0; i < trajectory.size(); i++) {
+				if (trajectory.get(i) != null) {
+					int start = i;
+					while (i + 1 < trajectory.size() && trajectory.get(i + 1) != null) {
+						i++;
+					}
+					expected.reserve(car, firstRounds[car] + start, trajectory.subList(start, i + 1));
+				}
+			}
+		}
+		assertEquals(expected.getLastRound(), table.getLastRound());
+		for (int round = 0; round < 40; round++) {
+			for (int y = 0; y < WIDTH; y++) {
+				for (int x = 0; x < WIDTH; x++) {
+					assertEquals(expected.getStandingCars(x, y, round), table.getStandingCars(x, y, round));
+					assertEquals(expected.getSweepingCars(x, y, round), table.getSweepingCars(x, y, round));
+				}
+			}
+		}
+	}
+
+	private BitSet cells(PositionVector position) {
+		BitSet cells = new BitSet();
+		cells.set(position.getY() * WIDTH + position.getX());
+		return cells;
+	}
+}
@@ -0,0 +1,121 @@
+package ch.zhaw.pm2.racetrack.pathfinder;
+
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+import model.SpaceType;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The SpeedLimitFieldTest class contains JUnit tests for the SpeedLimitField class.
+ */
+class SpeedLimitFieldTest {
+
+	/**
+	 * description: the highest speed for a number of free cells
+	 * equivalence class: 1
+	 * initial condition: nothing
+	 * type: positive test
+	 * input: 0, 1, 2, 3, 5, 6 and 5050 free cells
+	 * output: 0, 1, 1, 2, 2, 3 and 100
+	 */
+	@Test
+	void testMaxSpeed() {
+		assertEquals(0, SpeedLimitField.maxSpeed(0));
+		assertEquals(1, SpeedLimitField.maxSpeed(1));
+		assertEquals(1, SpeedLimitField.maxSpeed(2));
+		assertEquals(2, SpeedLimitField.maxSpeed(3));
+		assertEquals(2, SpeedLimitField.maxSpeed(5));
+		assertEquals(3, SpeedLimitField.maxSpeed(6));
+		assertEquals(100, SpeedLimitField.maxSpeed(5050));
+	}
+
+	/**
+	 * description: the limits of every cell and axis direction of the bundled tracks
+	 * equivalence class: 2
+	 * initial condition: all tracks of the tracks directory
+	 * type: positive test
+	 * input: every cell and the directions RIGHT, LEFT, DOWN and UP
+	 * output: the highest speed for the free cells counted up to the next wall
+	 */
+	@Test
+	void testLimitsOnTracks() throws IOException, InvalidFileFormatException {
+		for (File trackFile : new File("tracks").listFiles()) {
+			TrackBoard board = new TrackBoard(trackFile);
+			SpeedLimitField field = SpeedLimitField.calculate(board);
+			for (int y = 0; y < board.getHeight(); y++) {
+				for (int x = 0; x < board.getWidth(); x++) {
+					for (Direction direction : List.of(Direction.RIGHT, Direction.LEFT, Direction.DOWN, Direction.UP)) {
+						int free = 0;
+						while (board.getSpaceTypeAt(x + (free + 1) * direction.vector.getX(),
+								y + (free + 1) * direction.vector.getY()) != SpaceType.WALL) {
+							free++;
+						}
+						assertEquals(SpeedLimitField.maxSpeed(free), field.getMaxSpeed(x, y, direction),
+								trackFile + " (" + x + "," + y + ") " + direction);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * description: the limits of a cell in the axis directions
+	 * equivalence class: 3
+	 * initial condition: board of oval-clock-up.txt
+	 * type: positive test
+	 * input: the start of the first car, which has 2 free cells above and 7 to the right
+	 * output: speed 3 to the right and 1 upwards, 0 for diagonals, NONE and positions outside
+	 */
+	@Test
+	void testAxisLimits() throws IOException, InvalidFileFormatException {
+		TrackBoard board = new TrackBoard(new File("tracks/oval-clock-up.txt"));
+		assertTrue(SpeedLimitField.isSupported(board));
+		SpeedLimitField field = SpeedLimitField.of(board);
+		assertSame(field, SpeedLimitField.of(new TrackBoard(new File("tracks/oval-clock-up.txt"))));
+		assertEquals(3, field.getMaxSpeed(8, 5, Direction.RIGHT));
+		assertEquals(1, field.getMaxSpeed(8, 5, Direction.UP));
+		assertEquals(0, field.getMaxSpeed(8, 5, Direction.UP_RIGHT));
+		assertEquals(0, field.getMaxSpeed(-1, 5, Direction.RIGHT));
+		assertEquals(0, field.getMaxSpeed(8, 5, Direction.NONE));
+	}
+
+	/**
+	 * description: the cache only keeps the fields of the most recently used boards
+	 * equivalence class: 4
+	 * initial condition: empty cache
+	 * type: positive test
+	 * input: fields of one board more than cached, the first board is requested again after the second one
+	 * output: the field of the first board stays cached, the field of the second board is calculated again
+	 */
+	@Test
+	void testCacheIsBounded(@TempDir File directory) throws IOException, InvalidFileFormatException {
+		SpeedLimitField.clearCache();
+		TrackBoard[] boards = new TrackBoard[SpeedLimitField.MAX_CACHED_FIELDS + 1];
+		SpeedLimitField[] fields = new SpeedLimitField[boards.length];
+		for (int i = 0; i < boards.length; i++) {
+			File trackFile = new File(directory, "track" + i + ".txt");
+			Files.write(trackFile.toPath(), List.of(
+					"#".repeat(i + 6),
+					"#a" + " ".repeat(i + 2) + ">#",
+					"#".repeat(i + 6)));
+			boards[i] = new TrackBoard(trackFile);
+			fields[i] = SpeedLimitField.of(boards[i]);
+			if (i == 1) {
+				assertSame(fields[0], SpeedLimitField.of(boards[0]));
+			}
+		}
+		assertSame(fields[0], SpeedLimitField.of(boards[0]));
+		assertNotSame(fields[1], SpeedLimitField.of(boards[1]));
+		assertSame(fields[boards.length - 1], SpeedLimitField.of(boards[boards.length - 1]));
+	}
+}
@@ -0,0 +1,111 @@
+package ch.zhaw.pm2.racetrack.simulation;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.strategy.DoNotMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveListStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The GameRunnerTest class contains JUnit tests for running races without user interface.
+ */
+class GameRunnerTest {
+	private Game game;
+
+	@BeforeEach
+	void init() throws IOException, InvalidFileFormatException {
+		game = new Game(new Track(new File("tracks/challenge.txt")));
+	}
+
+	/**
+	 * description: race with the move lists provided for the challenge track
+	 * equivalence class: 1
+	 * initial condition: game with challenge.txt, both cars use their move list
+	 * type: positive test
+	 * input: the runner runs the race
+	 * output: car b wins after 74 turns
+	 */
+	@Test
+	void runMoveListRace() throws IOException, InvalidFileFormatException {
+		game.setCarMoveStrategy(0, new MoveListStrategy(new File("moves/challenge-car-a.txt")));
+		game.setCarMoveStrategy(1, new MoveListStrategy(new File("moves/challenge-car-b.txt")));
+		RaceResult result = new GameRunner(game).run();
+		assertEquals(RaceResult.EndReason.WINNER, result.getEndReason());
+		assertEquals('b', result.getWinnerId());
+		assertEquals(74, result.getTurns());
+		assertFalse(result.isCrashed(1));
+	}
+
+	/**
+	 * description: race in which no car moves
+	 * equivalence class: 2
+	 * initial condition: game with challenge.txt, both cars do not move
+	 * type: negative test
+	 * input: the runner runs the race
+	 * output: the race ends without winner and without any turn
+	 */
+	@Test
+	void runNoMovingCars() {
+		game.setCarMoveStrategy(0, new DoNotMoveStrategy());
+		game.setCarMoveStrategy(1, new DoNotMoveStrategy());
+		RaceResult result = new GameRunner(game).run();
+		assertEquals(RaceResult.EndReason.NO_MOVING_CAR, result.getEndReason());
+		assertFalse(result.hasWinner());
+		assertEquals(0, result.getTurns());
+	}
+
+	/**
+	 * description: race which is aborted by the turn limit
+	 * equivalence class: 3
+	 * initial condition: game with challenge.txt, both cars accelerate and brake in turn
+	 * type: negative test
+	 * input: the runner runs the race with a limit of 10 turns
+	 * output: the race ends after 10 turns without winner
+	 */
+	@Test
+	void runTurnLimit() {
+		game.setCarMoveStrategy(0, new AlternatingStrategy());
+		game.setCarMoveStrategy(1, new AlternatingStrategy());
+		RaceResult result = new GameRunner(game, 10).run();
+		assertEquals(RaceResult.EndReason.TURN_LIMIT, result.getEndReason());
+		assertEquals(10, result.getTurns());
+	}
+
+	/**
+	 * description: parsing of the strategy specs
+	 * equivalence class: 1
+	 * initial condition: nothing
+	 * type: positive and negative test
+	 * input: valid and invalid strategy specs
+	 * output: kind and file are parsed, invalid specs are rejected
+	 */
+	@Test
+	void parseStrategySpec() {
+		StrategySpec spec = StrategySpec.parse("MOVE_LIST:moves/challenge-car-a.txt");
+		assertEquals(StrategySpec.Kind.MOVE_LIST, spec.getKind());
+		assertEquals(new File("moves/challenge-car-a.txt"), spec.getFile());
+		assertEquals(StrategySpec.Kind.PATH_FINDER, StrategySpec.parse("path_finder").getKind());
+		assertThrows(IllegalArgumentException.class, () -> StrategySpec.parse("MOVE_LIST"));
+		assertThrows(IllegalArgumentException.class, () -> StrategySpec.parse("USER"));
+	}
+
+	private static class AlternatingStrategy implements MoveStrategy {
+		private boolean forward = true;
+
+		@Override
+		public Direction nextMove() {
+			forward = !forward;
+			return forward ? Direction.LEFT : Direction.RIGHT;
+		}
+	}
+}
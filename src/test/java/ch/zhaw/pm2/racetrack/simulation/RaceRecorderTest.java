@@ -0,0 +1,133 @@
+package ch.zhaw.pm2.racetrack.simulation;
+
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import ch.zhaw.pm2.racetrack.strategy.RaceLogFormat;
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The RaceRecorderTest class contains JUnit tests for recording races and
+ * replaying them with the ReplayMoveStrategy.
+ */
+class RaceRecorderTest {
+	private TrackBoard board;
+
+	@TempDir
+	File directory;
+
+	@BeforeEach
+	void init() throws IOException, InvalidFileFormatException {
+		board = new TrackBoard(new File("tracks/challenge.txt"));
+	}
+
+	/**
+	 * description: a recorded race is replayed exactly
+	 * equivalence class: 1
+	 * initial condition: challenge.txt, both cars use their move list
+	 * type: positive test
+	 * input: the race is recorded, then replayed with REPLAY for both cars and recorded again
+	 * output: one record per turn, same result of both races and identical logs
+	 */
+	@Test
+	void replayRecordedRace() throws IOException, InvalidFileFormatException {
+		File log = new File(directory, "race.log");
+		RaceResult recorded = Tournament.runRace(board, List.of(StrategySpec.parse("MOVE_LIST:moves/challenge-car-a.txt"),
+				StrategySpec.parse("MOVE_LIST:moves/challenge-car-b.txt")), GameRunner.DEFAULT_MAX_TURNS, log);
+		File replayLog = new File(directory, "replay.log");
+		StrategySpec replay = StrategySpec.parse("REPLAY:" + log.getPath());
+		RaceResult replayed = Tournament.runRace(board, List.of(replay, replay), GameRunner.DEFAULT_MAX_TURNS, replayLog);
+
+		assertEquals(74, recorded.getTurns());
+		assertEquals(recorded.getTurns(), replayed.getTurns());
+		assertEquals(recorded.getWinnerId(), replayed.getWinnerId());
+		assertEquals(recorded.isCrashed(0), replayed.isCrashed(0));
+		long headerSize = log.length() - (long) RaceLogFormat.RECORD_SIZE * recorded.getTurns();
+		assertEquals(4 + 1 + 2 + 64 + 1 + 2 * 2, headerSize);
+		assertArrayEquals(Files.readAllBytes(log.toPath()), Files.readAllBytes(replayLog.toPath()));
+	}
+
+	/**
+	 * description: a race log is replayed on another track
+	 * equivalence class: 2
+	 * initial condition: race log recorded on challenge.txt
+	 * type: negative test
+	 * input: a REPLAY strategy is created for a race on oval-clock-up.txt
+	 * output: InvalidFileFormatException
+	 */
+	@Test
+	void replayOnOtherTrack() throws IOException, InvalidFileFormatException {
+		File log = new File(directory, "race.log");
+		Tournament.runRace(board, List.of(StrategySpec.parse("DO_NOT_MOVE"), StrategySpec.parse("DO_NOT_MOVE")),
+				GameRunner.DEFAULT_MAX_TURNS, log);
+		TrackBoard otherBoard = new TrackBoard(new File("tracks/oval-clock-up.txt"));
+		StrategySpec replay = StrategySpec.parse("REPLAY:" + log.getPath());
+		assertThrows(InvalidFileFormatException.class,
+				() -> Tournament.runRace(otherBoard, List.of(replay, replay), GameRunner.DEFAULT_MAX_TURNS));
+	}
+
+	/**
+	 * description: a race log whose recorded lap counter differs from the replayed race
+	 * equivalence class: 4
+	 * initial condition: race log recorded on challenge.txt, the lap of the winning turn is changed to 0
+	 * type: negative test
+	 * input: the log is replayed with REPLAY for both cars
+	 * output: InvalidFileFormatException
+	 */
+	@Test
+	void replayDivergingRace() throws IOException, InvalidFileFormatException {
+		File log = new File(directory, "race.log");
+		Tournament.runRace(board, List.of(StrategySpec.parse("MOVE_LIST:moves/challenge-car-a.txt"),
+				StrategySpec.parse("MOVE_LIST:moves/challenge-car-b.txt")), GameRunner.DEFAULT_MAX_TURNS, log);
+		byte[] content = Files.readAllBytes(log.toPath());
+		assertEquals(1, content[content.length - 1]);
+		content[content.length - 1] = 0;
+		Files.write(log.toPath(), content);
+		StrategySpec replay = StrategySpec.parse("REPLAY:" + log.getPath());
+		assertThrows(InvalidFileFormatException.class,
+				() -> Tournament.runRace(board, List.of(replay, replay), GameRunner.DEFAULT_MAX_TURNS));
+	}
+
+	/**
+	 * description: a lap counter which does not fit into a record is written
+	 * equivalence class: 5
+	 * initial condition: nothing
+	 * type: negative test
+	 * input: a record with the lap counter MIN_LAP_COUNTER - 1 is written
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void writeLapCounterOutOfRange() {
+		DataOutputStream out = new DataOutputStream(new ByteArrayOutputStream());
+		assertThrows(IllegalArgumentException.class, () -> RaceLogFormat.writeRecord(out, 0, Direction.NONE, false,
+				RaceLogFormat.MIN_LAP_COUNTER - 1));
+		assertEquals(0, out.size());
+	}
+
+	/**
+	 * description: a file which is no race log is replayed
+	 * equivalence class: 3
+	 * initial condition: nothing
+	 * type: negative test
+	 * input: a REPLAY strategy is created with a move list file
+	 * output: InvalidFileFormatException
+	 */
+	@Test
+	void replayNoRaceLog() {
+		StrategySpec replay = StrategySpec.parse("REPLAY:moves/challenge-car-a.txt");
+		assertThrows(InvalidFileFormatException.class,
+				() -> Tournament.runRace(board, List.of(replay, replay), GameRunner.DEFAULT_MAX_TURNS));
+	}
+}
@@ -0,0 +1,96 @@
+package ch.zhaw.pm2.racetrack.simulation;
+
+import ch.zhaw.pm2.racetrack.TrackBoard;
+import exceptions.InvalidFileFormatException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The TournamentTest class contains JUnit tests for running races concurrently.
+ */
+class TournamentTest {
+	private TrackBoard board;
+	private ExecutorService executor;
+
+	@TempDir
+	File directory;
+
+	@BeforeEach
+	void init() throws IOException, InvalidFileFormatException {
+		board = new TrackBoard(new File("tracks/challenge.txt"));
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * description: many races with the move lists of the challenge track on a shared board
+	 * equivalence class: 1
+	 * initial condition: board of challenge.txt, thread pool with 4 threads
+	 * type: positive test
+	 * input: 20 races, car a and car b use their move lists
+	 * output: car b wins every race after 74 turns, nobody crashes
+	 */
+	@Test
+	void runTournament() throws InterruptedException {
+		StrategySpec carA = StrategySpec.parse("MOVE_LIST:moves/challenge-car-a.txt");
+		StrategySpec carB = StrategySpec.parse("MOVE_LIST:moves/challenge-car-b.txt");
+		TournamentStatistics statistics = new Tournament(board, List.of(carA, carB), 20, 1000).run(executor);
+		assertEquals(20, statistics.getRaces());
+		assertEquals(0, statistics.getFailedRaces());
+		assertEquals(74.0, statistics.getMeanTurns());
+		assertEquals(0.0, statistics.getCrashRate());
+		assertEquals(0.0, statistics.getStrategies().get(carA.toString()).getWinRate());
+		assertEquals(1.0, statistics.getStrategies().get(carB.toString()).getWinRate());
+	}
+
+	/**
+	 * description: a move list is invalid after the last move of the race
+	 * equivalence class: 2
+	 * initial condition: board of challenge.txt, thread pool with 4 threads
+	 * type: negative test
+	 * input: 5 races, car b uses its move list followed by an invalid line
+	 * output: every race fails
+	 */
+	@Test
+	void invalidMoveListFailsRace() throws IOException, InterruptedException {
+		List<String> lines = new ArrayList<>(Files.readAllLines(new File("moves/challenge-car-b.txt").toPath()));
+		lines.add("SIDEWAYS");
+		File moveFile = new File(directory, "invalid.txt");
+		Files.write(moveFile.toPath(), lines);
+		StrategySpec carA = StrategySpec.parse("MOVE_LIST:moves/challenge-car-a.txt");
+		StrategySpec carB = StrategySpec.parse("MOVE_LIST:" + moveFile.getPath());
+		TournamentStatistics statistics = new Tournament(board, List.of(carA, carB), 5, 1000).run(executor);
+		assertEquals(5, statistics.getFailedRaces());
+	}
+
+	/**
+	 * description: number of strategies does not match the number of cars
+	 * equivalence class: 3
+	 * initial condition: board of challenge.txt with two cars
+	 * type: negative test
+	 * input: three strategy specs
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void tooManyStrategies() {
+		StrategySpec spec = StrategySpec.parse("DO_NOT_MOVE");
+		assertThrows(IllegalArgumentException.class, () -> new Tournament(board, List.of(spec, spec, spec), 1, 10));
+	}
+}
@@ -0,0 +1,105 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The BinaryMoveFormatTest class contains JUnit tests for the BinaryMoveFormat class.
+ */
+class BinaryMoveFormatTest {
+	private static final File MOVE_FILE = new File("moves/challenge-car-a.txt");
+
+	/**
+	 * description: a move list converted to binary and back to text keeps its moves
+	 * equivalence class: 1
+	 * initial condition: nothing
+	 * type: positive test
+	 * input: challenge-car-a.txt converted to binary and the binary file converted to text
+	 * output: same moves in all files, 4 bits per move in the binary file
+	 */
+	@Test
+	void roundTrip(@TempDir File directory) throws IOException, InvalidFileFormatException {
+		List<Direction> moves = new MoveListStrategy(MOVE_FILE).getMovesList();
+		File binaryFile = new File(directory, "moves.bin");
+		File textFile = new File(directory, "moves.txt");
+
+		assertEquals(moves.size(), BinaryMoveFormat.toBinary(MOVE_FILE, binaryFile));
+		assertTrue(BinaryMoveFormat.isBinary(binaryFile));
+		assertEquals(8 + (moves.size() + 1) / 2, binaryFile.length());
+		assertEquals(moves, new MoveListStrategy(binaryFile).getMovesList());
+
+		assertEquals(moves.size(), BinaryMoveFormat.toText(binaryFile, textFile));
+		assertFalse(BinaryMoveFormat.isBinary(textFile));
+		assertEquals(moves, new MoveListStrategy(textFile).getMovesList());
+	}
+
+	/**
+	 * description: a move list with an odd number of moves
+	 * equivalence class: 2
+	 * initial condition: text file with the three moves UP, NONE and DOWN_LEFT
+	 * type: positive test
+	 * input: the text file is converted to binary and streamed
+	 * output: the three moves followed by NONE, the last byte holds a single move
+	 */
+	@Test
+	void oddMoveCount(@TempDir File directory) throws IOException, InvalidFileFormatException {
+		File textFile = new File(directory, "moves.txt");
+		File binaryFile = new File(directory, "moves.bin");
+		Files.writeString(textFile.toPath(), "UP\nNONE\nDOWN_LEFT\n");
+		assertEquals(3, BinaryMoveFormat.toBinary(textFile, binaryFile));
+		assertEquals(10, binaryFile.length());
+		try (MoveListStrategy strategy = MoveListStrategy.streaming(binaryFile)) {
+			assertEquals(3, strategy.awaitValidation());
+			assertEquals(Direction.UP, strategy.nextMove());
+			assertEquals(Direction.NONE, strategy.nextMove());
+			assertEquals(Direction.DOWN_LEFT, strategy.nextMove());
+			assertEquals(Direction.NONE, strategy.nextMove());
+		}
+	}
+
+	/**
+	 * description: a binary move list containing a code which is no direction
+	 * equivalence class: 3
+	 * initial condition: binary file of challenge-car-a.txt with the first byte of the moves set to 0xFF
+	 * type: negative test
+	 * input: MoveListStrategy is initialised with the damaged file
+	 * output: InvalidFileFormatException
+	 */
+	@Test
+	void invalidCode(@TempDir File directory) throws IOException, InvalidFileFormatException {
+		File binaryFile = new File(directory, "moves.bin");
+		BinaryMoveFormat.toBinary(MOVE_FILE, binaryFile);
+		byte[] content = Files.readAllBytes(binaryFile.toPath());
+		content[8] = (byte) 0xFF;
+		Files.write(binaryFile.toPath(), content);
+		assertThrows(InvalidFileFormatException.class, () -> new MoveListStrategy(binaryFile));
+	}
+
+	/**
+	 * description: a binary move list which is shorter than its move count
+	 * equivalence class: 3
+	 * initial condition: binary file of challenge-car-a.txt without its last byte
+	 * type: negative test
+	 * input: MoveListStrategy is initialised with the truncated file
+	 * output: InvalidFileFormatException
+	 */
+	@Test
+	void truncated(@TempDir File directory) throws IOException, InvalidFileFormatException {
+		File binaryFile = new File(directory, "moves.bin");
+		BinaryMoveFormat.toBinary(MOVE_FILE, binaryFile);
+		byte[] content = Files.readAllBytes(binaryFile.toPath());
+		Files.write(binaryFile.toPath(), Arrays.copyOf(content, content.length - 1));
+		assertThrows(InvalidFileFormatException.class, () -> new MoveListStrategy(binaryFile));
+	}
+}
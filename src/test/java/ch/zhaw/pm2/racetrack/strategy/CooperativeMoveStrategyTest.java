@@ -0,0 +1,152 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.pathfinder.CooperativePathFinder;
+import ch.zhaw.pm2.racetrack.pathfinder.ReservationTable;
+import ch.zhaw.pm2.racetrack.simulation.GameRunner;
+import ch.zhaw.pm2.racetrack.simulation.RaceResult;
+import exceptions.InvalidFileFormatException;
+import model.PositionVector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The CooperativeMoveStrategyTest class contains JUnit tests for the
+ * CooperativeMoveStrategy class.
+ */
+class CooperativeMoveStrategyTest {
+	private static final int MAX_TURNS = 1000;
+	private static final List<String> FUNNEL = List.of(
+			"###############################",
+			"#a       ####################>#",
+			"#b        ###################>#",
+			"#c         ##################>#",
+			"#d                           >#",
+			"#e                           >#",
+			"#f         ##################>#",
+			"#g        ###################>#",
+			"#h       ####################>#",
+			"###############################");
+
+	@TempDir
+	File directory;
+
+	/**
+	 * description: all cars race into the same corridor
+	 * equivalence class: 1
+	 * initial condition: 8 cars in front of a corridor which fits only 2 cars next to each other
+	 * type: positive test
+	 * input: race of 8 cars with the CooperativeMoveStrategy
+	 * output: no car crashes, every car plans only once
+	 */
+	@Test
+	void carsDoNotCollide() throws IOException, InvalidFileFormatException {
+		Game game = createGame(FUNNEL);
+		for (int i = 0; i < game.getCarCount(); i++) {
+			game.setCarMoveStrategy(i, new CooperativeMoveStrategy(game, i));
+		}
+		RaceResult result = new GameRunner(game, MAX_TURNS).run();
+		assertEquals(0, result.getWinner());
+		for (int i = 0; i < game.getCarCount(); i++) {
+			assertFalse(result.isCrashed(i));
+			assertEquals(1, ((CooperativeMoveStrategy) game.getCarMoveStrategy(i)).getPlanCount());
+		}
+	}
+
+	/**
+	 * description: cars which plan alone race into each other
+	 * equivalence class: 2
+	 * initial condition: 8 cars in front of a corridor which fits only 2 cars next to each other
+	 * type: negative test
+	 * input: race of 8 cars with the VelocityPathFinderMoveStrategy
+	 * output: cars crash into other cars
+	 */
+	@Test
+	void carsPlanningAloneCollide() throws IOException, InvalidFileFormatException {
+		Game game = createGame(FUNNEL);
+		for (int i = 0; i < game.getCarCount(); i++) {
+			game.setCarMoveStrategy(i, new VelocityPathFinderMoveStrategy(game.getCarPosition(i), game.getTrack()));
+		}
+		RaceResult result = new GameRunner(game, MAX_TURNS).run();
+		int crashed = 0;
+		for (int i = 0; i < game.getCarCount(); i++) {
+			crashed += result.isCrashed(i) ? 1 : 0;
+		}
+		assertTrue(crashed > 0);
+	}
+
+	/**
+	 * description: a car crashes on the trajectory after it was planned
+	 * equivalence class: 3
+	 * initial condition: cars a and b plan cooperatively, car c does not move
+	 * type: positive test
+	 * input: car c crashes on the planned trajectory of car a after the first move of car a
+	 * output: car a plans again and no planning car crashes
+	 */
+	@Test
+	void replansAroundCrashedCar() throws IOException, InvalidFileFormatException {
+		Game game = createGame(List.of(
+				"##########",
+				"#       >#",
+				"#a      >#",
+				"#       >#",
+				"#b c    >#",
+				"##########"));
+		PositionVector wreck = new CooperativePathFinder(game.getTrack().getBoard(),
+				new ReservationTable(game.getTrack().getWidth(), 3), 0, 0, game.getCarPosition(0),
+				PositionVector.of(0, 0), List.of(game.getCarPosition(1), game.getCarPosition(2))).getTrajectory().get(3);
+		CooperativeMoveStrategy strategy = new CooperativeMoveStrategy(game, 0);
+		game.setCarMoveStrategy(0, strategy);
+		game.setCarMoveStrategy(1, new CooperativeMoveStrategy(game, 1));
+		game.setCarMoveStrategy(2, new DoNotMoveStrategy());
+		game.doCarTurn(game.getMoveForCurrentCar());
+		game.switchToNextActiveCar();
+		game.getTrack().getCar(2).restore(wreck, PositionVector.of(0, 0), true, 0);
+
+		RaceResult result = new GameRunner(game, MAX_TURNS).run();
+		assertFalse(result.isCrashed(0));
+		assertFalse(result.isCrashed(1));
+		assertEquals(2, strategy.getPlanCount());
+	}
+
+	/**
+	 * description: the only way to the finish line is blocked by a car which does not move
+	 * equivalence class: 4
+	 * initial condition: corridor of width 1, car b stands in front of the finish line
+	 * type: negative test
+	 * input: 10 turns, then car b is set to another cell of the corridor and 10 more turns
+	 * output: car a does not move and searches once per obstacle position
+	 */
+	@Test
+	void searchesAgainOnlyAfterChange() throws IOException, InvalidFileFormatException {
+		Game game = createGame(List.of(
+				"##########",
+				"#a    b >#",
+				"##########"));
+		CooperativeMoveStrategy strategy = new CooperativeMoveStrategy(game, 0);
+		game.setCarMoveStrategy(0, strategy);
+		game.setCarMoveStrategy(1, new DoNotMoveStrategy());
+		new GameRunner(game, 10).run();
+		assertEquals(1, strategy.getPlanCount());
+
+		game.getTrack().getCar(1).restore(PositionVector.of(7, 1), PositionVector.of(0, 0), false, 0);
+		new GameRunner(game, 10).run();
+		assertEquals(2, strategy.getPlanCount());
+		assertEquals(PositionVector.of(1, 1), game.getCarPosition(0));
+	}
+
+	private Game createGame(List<String> lines) throws IOException, InvalidFileFormatException {
+		File trackFile = new File(directory, "track.txt");
+		Files.write(trackFile.toPath(), lines);
+		return new Game(new Track(trackFile));
+	}
+}
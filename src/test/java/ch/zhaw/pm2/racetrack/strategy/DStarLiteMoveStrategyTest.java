@@ -0,0 +1,83 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.pathfinder.PathFinder;
+import ch.zhaw.pm2.racetrack.simulation.GameRunner;
+import ch.zhaw.pm2.racetrack.simulation.RaceResult;
+import exceptions.InvalidFileFormatException;
+import model.PositionVector;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The DStarLiteMoveStrategyTest class contains JUnit tests for the
+ * DStarLiteMoveStrategy class.
+ */
+class DStarLiteMoveStrategyTest {
+	private static final int MAX_TURNS = 100;
+
+	@TempDir
+	File directory;
+
+	private Game game;
+	private PositionVector wreck;
+
+	@BeforeEach
+	void init() throws IOException, InvalidFileFormatException {
+		File trackFile = new File(directory, "track.txt");
+		Files.write(trackFile.toPath(), List.of(
+				"##########",
+				"#       >#",
+				"#a      >#",
+				"#       >#",
+				"#b c    >#",
+				"##########"));
+		game = new Game(new Track(trackFile));
+		game.setCarMoveStrategy(1, new DoNotMoveStrategy());
+		game.setCarMoveStrategy(2, new DoNotMoveStrategy());
+		wreck = new PathFinder(game.getCarPosition(0), game.getTrack()).getShortestPath().get(3);
+	}
+
+	/**
+	 * description: a car crashes on the path after the path was searched
+	 * equivalence class: 1
+	 * initial condition: shortest path of car a to the finish line, car b does not move
+	 * type: positive test
+	 * input: car c crashes on the path of car a, then the race is run
+	 * output: car a drives around the wreck and wins
+	 */
+	@Test
+	void avoidsCrashedCar() {
+		game.setCarMoveStrategy(0, new DStarLiteMoveStrategy(game.getTrack(), 0));
+		game.getTrack().getCar(2).restore(wreck, new PositionVector(0, 0), true, 0);
+		RaceResult result = new GameRunner(game, MAX_TURNS).run();
+		assertEquals(0, result.getWinner());
+		assertFalse(result.isCrashed(0));
+	}
+
+	/**
+	 * description: the path finder does not notice the crash
+	 * equivalence class: 2
+	 * initial condition: shortest path of car a to the finish line, car b does not move
+	 * type: negative test
+	 * input: car c crashes on the path of car a, then the race is run with the PathFinderMoveStrategy
+	 * output: car a crashes into the wreck
+	 */
+	@Test
+	void pathFinderHitsCrashedCar() throws IOException {
+		game.setCarMoveStrategy(0, new PathFinderMoveStrategy(game.getCarPosition(0), game.getTrack()));
+		game.getTrack().getCar(2).restore(wreck, new PositionVector(0, 0), true, 0);
+		RaceResult result = new GameRunner(game, MAX_TURNS).run();
+		assertTrue(result.isCrashed(0));
+	}
+}
@@ -0,0 +1,112 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.simulation.GameRunner;
+import ch.zhaw.pm2.racetrack.simulation.RaceResult;
+import exceptions.InvalidFileFormatException;
+import model.PositionVector;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The MonteCarloMoveStrategyTest class contains JUnit tests for the
+ * MonteCarloMoveStrategy class.
+ */
+class MonteCarloMoveStrategyTest {
+	private static final long BUDGET_MILLIS = 20;
+	private static final int MAX_TURNS = 400;
+
+	/**
+	 * description: the first car races with rollouts, the second car does not move
+	 * equivalence class: 1
+	 * initial condition: game with challenge.txt
+	 * type: positive test
+	 * input: the race is run until it ends
+	 * output: the first car wins without crashing
+	 */
+	@Test
+	void winsChallenge() throws IOException, InvalidFileFormatException {
+		assertWinsRace("tracks/challenge.txt");
+	}
+
+	/**
+	 * description: the first car races with rollouts, the second car does not move
+	 * equivalence class: 2
+	 * initial condition: game with oval-clock-up.txt, the cars start directly behind the finish line
+	 * type: positive test
+	 * input: the race is run until it ends
+	 * output: the first car wins without crashing
+	 */
+	@Test
+	void winsOvalClockUp() throws IOException, InvalidFileFormatException {
+		assertWinsRace("tracks/oval-clock-up.txt");
+	}
+
+	/**
+	 * description: the move is chosen within the time budget
+	 * equivalence class: 1
+	 * initial condition: game with challenge.txt, budget of 20 ms
+	 * type: positive test
+	 * input: the first move is requested
+	 * output: a move is returned well before a second has passed
+	 */
+	@Test
+	void staysWithinBudget() throws IOException, InvalidFileFormatException {
+		Game game = new Game(new Track(new File("tracks/challenge.txt")));
+		MoveStrategy strategy = new MonteCarloMoveStrategy(game, 0, BUDGET_MILLIS, 30, ForkJoinPool.commonPool());
+		long start = System.nanoTime();
+		assertNotNull(strategy.nextMove());
+		assertTrue(System.nanoTime() - start < 1_000_000_000L);
+	}
+
+	/**
+	 * description: the rollouts do not change the real game
+	 * equivalence class: 1
+	 * initial condition: game with challenge.txt
+	 * type: positive test
+	 * input: the first move is requested
+	 * output: positions, velocities and the current car are unchanged
+	 */
+	@Test
+	void keepsGameState() throws IOException, InvalidFileFormatException {
+		Game game = new Game(new Track(new File("tracks/challenge.txt")));
+		PositionVector position = game.getCarPosition(0);
+		String track = game.getTrackString();
+		new MonteCarloMoveStrategy(game, 0, BUDGET_MILLIS, 30, ForkJoinPool.commonPool()).nextMove();
+		assertEquals(position, game.getCarPosition(0));
+		assertEquals(new PositionVector(0, 0), game.getCarVelocity(0));
+		assertEquals(0, game.getCurrentCarIndex());
+		assertEquals(track, game.getTrackString());
+	}
+
+	/**
+	 * description: the time budget must be positive
+	 * equivalence class: 2
+	 * initial condition: game with challenge.txt
+	 * type: negative test
+	 * input: budget of 0 ms
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void invalidBudget() throws IOException, InvalidFileFormatException {
+		Game game = new Game(new Track(new File("tracks/challenge.txt")));
+		assertThrows(IllegalArgumentException.class,
+				() -> new MonteCarloMoveStrategy(game, 0, 0, 30, ForkJoinPool.commonPool()));
+	}
+
+	private void assertWinsRace(String trackFile) throws IOException, InvalidFileFormatException {
+		Game game = new Game(new Track(new File(trackFile)));
+		game.setCarMoveStrategy(0, new MonteCarloMoveStrategy(game, 0, BUDGET_MILLIS, 30, ForkJoinPool.commonPool()));
+		game.setCarMoveStrategy(1, new DoNotMoveStrategy());
+		RaceResult result = new GameRunner(game, MAX_TURNS).run();
+		assertEquals(0, result.getWinner());
+		assertFalse(result.isCrashed(0));
+	}
+}
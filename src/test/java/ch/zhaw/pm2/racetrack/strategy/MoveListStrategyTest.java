@@ -4,9 +4,13 @@ import exceptions.InvalidFileFormatException;
 import model.Direction;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -109,4 +113,75 @@ class MoveListStrategyTest {
 		}
 		assertEquals(Direction.NONE, moveListStrategy.nextMove());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * description: a streaming strategy returns the same moves as the list read upfront
+	 * equivalence class: 4
+	 * initial condition: initialize a streaming MoveListStrategy with a valid file
+	 * type: positive test
+	 * input: all moves of the file and one more move are requested
+	 * output: the moves of the file followed by the NONE-DIRECTION, the validation counts all moves
+	 */
+	@Test
+	void streamingMoves() throws InvalidFileFormatException, IOException {
+		List<Direction> moves = new MoveListStrategy(DEFAULT_FILE).getMovesList();
+		try (MoveListStrategy streaming = MoveListStrategy.streaming(DEFAULT_FILE)) {
+			for (Direction move : moves) {
+				assertEquals(move, streaming.nextMove());
+			}
+			assertEquals(Direction.NONE, streaming.nextMove());
+			assertEquals(moves.size(), streaming.awaitValidation());
+		}
+	}
+
+	/**
+	 * description: a streaming strategy with a file which has an invalid format
+	 * equivalence class: 5
+	 * initial condition: initialize a streaming MoveListStrategy with an invalid file
+	 * type: negative test
+	 * input: the validation is awaited, then a move is requested
+	 * output: InvalidFileFormatException from the validation, null terminates the game
+	 */
+	@Test
+	void streamingInvalidFormat() throws FileNotFoundException {
+		String pathname = "src/test/java/ch/zhaw/pm2/racetrack/testresources/moveInvalidFormat.txt";
+		MoveListStrategy streaming = MoveListStrategy.streaming(new File(pathname));
+		assertThrows(InvalidFileFormatException.class, streaming::awaitValidation);
+		assertNull(streaming.nextMove());
+	}
+
+	/**
+	 * description: a streaming strategy with a file which could not be found
+	 * equivalence class: 6
+	 * initial condition: nothing
+	 * type: negative test
+	 * input: a streaming MoveListStrategy is initialised with a file, which could not be found
+	 * output: FileNotFoundException
+	 */
+	@Test
+	void streamingNoFile() {
+		assertThrows(FileNotFoundException.class, () -> MoveListStrategy.streaming(new File("NotAvailable-File")));
+	}
+
+	/**
+	 * description: a streaming strategy with lines ending with \r, \r\n and \n
+	 * equivalence class: 7
+	 * initial condition: initialize a streaming MoveListStrategy with a file of mixed line breaks
+	 * type: positive test
+	 * input: all moves of the file and one more move are requested
+	 * output: one move per line followed by the NONE-DIRECTION
+	 */
+	@Test
+	void streamingLineBreaks(@TempDir File directory) throws InvalidFileFormatException, IOException {
+		File moveFile = new File(directory, "moves.txt");
+		Files.writeString(moveFile.toPath(), "UP\rDOWN\r\nLEFT\nRIGHT\r");
+		try (MoveListStrategy streaming = MoveListStrategy.streaming(moveFile)) {
+			assertEquals(Direction.UP, streaming.nextMove());
+			assertEquals(Direction.DOWN, streaming.nextMove());
+			assertEquals(Direction.LEFT, streaming.nextMove());
+			assertEquals(Direction.RIGHT, streaming.nextMove());
+			assertEquals(Direction.NONE, streaming.nextMove());
+			assertEquals(4, streaming.awaitValidation());
+		}
+	}
+}
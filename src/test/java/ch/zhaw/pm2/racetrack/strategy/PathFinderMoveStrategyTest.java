@@ -0,0 +1,45 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.simulation.GameRunner;
+import ch.zhaw.pm2.racetrack.simulation.RaceResult;
+import exceptions.InvalidFileFormatException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The PathFinderMoveStrategyTest class contains JUnit tests for the
+ * PathFinderMoveStrategy class.
+ */
+class PathFinderMoveStrategyTest {
+	private static final int MAX_TURNS = 1000;
+
+	/**
+	 * description: the car follows the shortest path and brakes in front of the walls
+	 * equivalence class: 1
+	 * initial condition: the other cars do not move
+	 * type: positive test
+	 * input: race of the first car on a track whose shortest path does not pass another car
+	 * output: the first car wins without crashing
+	 */
+	@Test
+	void winsWithoutCrash() throws IOException, InvalidFileFormatException {
+		for (String trackFile : new String[] {"tracks/challenge.txt", "tracks/oval-anticlock-right.txt",
+				"tracks/quarter-mile.txt"}) {
+			Game game = new Game(new Track(new File(trackFile)));
+			game.setCarMoveStrategy(0, new PathFinderMoveStrategy(game.getCarPosition(0), game.getTrack()));
+			for (int i = 1; i < game.getTrack().getCarCount(); i++) {
+				game.setCarMoveStrategy(i, new DoNotMoveStrategy());
+			}
+			RaceResult result = new GameRunner(game, MAX_TURNS).run();
+			assertFalse(result.isCrashed(0), trackFile);
+			assertEquals(0, result.getWinner(), trackFile);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.pathfinder.VelocityPathFinder;
+import ch.zhaw.pm2.racetrack.simulation.GameRunner;
+import ch.zhaw.pm2.racetrack.simulation.RaceResult;
+import exceptions.InvalidFileFormatException;
+import model.Direction;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The VelocityPathFinderMoveStrategyTest class contains JUnit tests for the
+ * VelocityPathFinderMoveStrategy class.
+ */
+class VelocityPathFinderMoveStrategyTest {
+
+	/**
+	 * description: the first car follows the found move sequence, the second car does not move
+	 * equivalence class: 1
+	 * initial condition: game with challenge.txt
+	 * type: positive test
+	 * input: the race is run until it ends
+	 * output: the first car wins without crashing, using exactly the found moves
+	 */
+	@Test
+	void winsChallenge() throws IOException, InvalidFileFormatException {
+		assertWinsRace("tracks/challenge.txt");
+	}
+
+	/**
+	 * description: the first car follows the found move sequence, the second car does not move
+	 * equivalence class: 2
+	 * initial condition: game with oval-clock-up.txt, the cars start directly behind the finish line
+	 * type: positive test
+	 * input: the race is run until it ends
+	 * output: the first car wins without crashing, using exactly the found moves
+	 */
+	@Test
+	void winsOvalClockUp() throws IOException, InvalidFileFormatException {
+		assertWinsRace("tracks/oval-clock-up.txt");
+	}
+
+	/**
+	 * description: the first car follows the found move sequence, the second car does not move
+	 * equivalence class: 1
+	 * initial condition: game with oval-anticlock-right.txt
+	 * type: positive test
+	 * input: the race is run until it ends
+	 * output: the first car wins without crashing, using exactly the found moves
+	 */
+	@Test
+	void winsOvalAnticlockRight() throws IOException, InvalidFileFormatException {
+		assertWinsRace("tracks/oval-anticlock-right.txt");
+	}
+
+	private void assertWinsRace(String trackFile) throws IOException, InvalidFileFormatException {
+		Track track = new Track(new File(trackFile));
+		Game game = new Game(track);
+		List<Direction> moves = new VelocityPathFinder(track.getBoard(), game.getCarPosition(0),
+				List.of(game.getCarPosition(1))).getMoves();
+		game.setCarMoveStrategy(0, new VelocityPathFinderMoveStrategy(game.getCarPosition(0), track));
+		game.setCarMoveStrategy(1, new DoNotMoveStrategy());
+		RaceResult result = new GameRunner(game).run();
+		assertEquals(0, result.getWinner());
+		assertFalse(result.isCrashed(0));
+		assertEquals(2 * moves.size() - 1, result.getTurns());
+	}
+}
@@ -0,0 +1,73 @@
+package ch.zhaw.pm2.racetrack.userinterface;
+
+import org.beryx.textio.mock.MockTextTerminal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The FrameRendererTest class contains JUnit tests for the asynchronous and
+ * throttled printing of race frames.
+ */
+class FrameRendererTest {
+	private MockTextTerminal terminal;
+
+	@BeforeEach
+	void init() {
+		terminal = new MockTextTerminal();
+	}
+
+	/**
+	 * description: more frames are published than the frame rate allows
+	 * equivalence class: 1
+	 * initial condition: renderer with 1 frame per second
+	 * type: positive test
+	 * input: 1000 frames published at once, then the final frame
+	 * output: at most the first frame is printed before the final frame
+	 */
+	@Test
+	void dropFramesAboveFrameRate() {
+		FrameRenderer renderer = new FrameRenderer(terminal, new OutputWriter(), 1, false);
+		assertTrue(renderer.isFrameDue());
+		for (int i = 0; i < 1000; i++) {
+			renderer.publish("frame " + i);
+			assertFalse(renderer.isFrameDue());
+		}
+		renderer.close("final");
+		String output = terminal.getOutput().strip();
+		assertTrue(output.equals("final") || output.equals("frame 0\nfinal"), output);
+	}
+
+	/**
+	 * description: only the final board is printed
+	 * equivalence class: 2
+	 * initial condition: renderer in final board only mode
+	 * type: positive test
+	 * input: 10 frames published, then the final frame
+	 * output: only the final frame is printed, no frame is due
+	 */
+	@Test
+	void finalBoardOnly() {
+		FrameRenderer renderer = new FrameRenderer(terminal, new OutputWriter(), 30, true);
+		assertFalse(renderer.isFrameDue());
+		for (int i = 0; i < 10; i++) {
+			renderer.publish("frame " + i);
+		}
+		renderer.close("final");
+		assertEquals("final", terminal.getOutput().strip());
+	}
+
+	/**
+	 * description: the renderer is created with an invalid frame rate
+	 * equivalence class: 3
+	 * initial condition: nothing
+	 * type: negative test
+	 * input: 0 frames per second
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void invalidFrameRate() {
+		assertThrows(IllegalArgumentException.class, () -> new FrameRenderer(terminal, new OutputWriter(), 0, false));
+	}
+}